@@ -0,0 +1,41 @@
+package com.virspit.virspitorder.config;
+
+import com.virspit.virspitorder.dto.request.ProductEventDto;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaProductConsumerConfig {
+    @Value("${spring.kafka.consumer.bootstrap-servers}")
+    private String bootstrapServer;
+
+    @Bean
+    public ConsumerFactory<String, ProductEventDto> productConsumer() {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServer);
+        // 캐시 무효화는 지금 이후의 변경만 알면 되므로 최신 offset 부터 읽는다.
+        configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        // outbox 는 문자열로 발행하므로 타입 헤더 없이 ProductEventDto 로 읽는다.
+        return new DefaultKafkaConsumerFactory<>(configs, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(ProductEventDto.class, false)));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductEventDto> productFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductEventDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(productConsumer());
+        return factory;
+    }
+}
@@ -0,0 +1,75 @@
+package com.virspit.virspitorder.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class OrderExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor orderExecutor(
+            @Value("${order.worker.core-pool-size}") int corePoolSize,
+            @Value("${order.worker.max-pool-size}") int maxPoolSize,
+            @Value("${order.worker.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // 대기 중인 트랜잭션 영수증 중 조회할 차례가 된 것을 고르는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler receiptPollerScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("receipt-poller-");
+        return scheduler;
+    }
+
+    // 영수증 조회(KAS API 호출)를 동시에 하는 스레드. 해시마다 한 번에 하나의 조회만 돈다.
+    @Bean
+    public ThreadPoolTaskExecutor receiptLookupExecutor(
+            @Value("${kas.receipt.lookup-pool-size}") int poolSize,
+            @Value("${kas.receipt.lookup-queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("receipt-lookup-");
+        return executor;
+    }
+
+    // outbox 이벤트를 모아서 발행하는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler outboxRelayScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("outbox-relay-");
+        return scheduler;
+    }
+
+    // 멈춘 주문을 찾아 다시 처리하는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler orderRecoveryScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("order-recovery-");
+        return scheduler;
+    }
+
+    // 환불 작업을 보내고 영수증을 확인하는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler refundWorkerScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("refund-worker-");
+        return scheduler;
+    }
+}
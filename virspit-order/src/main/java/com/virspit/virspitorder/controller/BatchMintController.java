@@ -0,0 +1,40 @@
+package com.virspit.virspitorder.controller;
+
+import com.virspit.virspitorder.dto.request.BatchMintRequestDto;
+import com.virspit.virspitorder.dto.response.BatchMintResponseDto;
+import com.virspit.virspitorder.response.result.SuccessResponse;
+import com.virspit.virspitorder.service.BatchMintService;
+import io.swagger.annotations.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Api("관리자 에어드랍(일괄 토큰 발행) API")
+@RequestMapping("/orders/mint-batches")
+@RequiredArgsConstructor
+@RestController
+public class BatchMintController {
+
+    private final BatchMintService batchMintService;
+
+    @ApiOperation(value = "에어드랍 일괄 토큰 발행 (관리자)",
+            notes = "관리자가 한 상품의 토큰을 여러 지갑에 무상으로 발행한다. 결제, 재고 차감, 주문 내역 없이 발행만 하므로 구매에는 쓰지 않는다. "
+                    + "구매는 주문 API(POST /orders)를 사용한다. 발행은 백그라운드에서 진행되며 진행 상황은 batchId 로 조회한다.")
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "accepted", response = BatchMintResponseDto.class)
+    })
+    @PostMapping
+    public ResponseEntity mint(@RequestBody BatchMintRequestDto requestDto) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(SuccessResponse.of(batchMintService.mint(requestDto)));
+    }
+
+    @ApiOperation("에어드랍 일괄 토큰 발행 진행 상황 조회 (관리자)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "success", response = BatchMintResponseDto.class)
+    })
+    @GetMapping("/{batchId}")
+    public ResponseEntity getBatch(@PathVariable("batchId") String batchId) {
+        return ResponseEntity.ok(SuccessResponse.of(batchMintService.getBatch(batchId)));
+    }
+}
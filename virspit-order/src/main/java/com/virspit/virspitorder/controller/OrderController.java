@@ -1,18 +1,24 @@
 package com.virspit.virspitorder.controller;
 
+import com.virspit.virspitorder.dto.request.ExportFormat;
 import com.virspit.virspitorder.dto.request.OrderMemoRequestDto;
 import com.virspit.virspitorder.response.result.SuccessResponse;
+import com.virspit.virspitorder.dto.response.CursorPagingResponseDto;
 import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.service.OrderExportService;
 import com.virspit.virspitorder.service.OrderService;
+import com.virspit.virspitorder.util.StringUtils;
 import io.swagger.annotations.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Api("주문 관련 API")
 @RequestMapping("/orders")
@@ -21,6 +27,7 @@ import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     @ApiOperation(value = "전체 주문 목록")
     @ApiImplicitParams({
@@ -37,6 +44,58 @@ public class OrderController {
         return new ResponseEntity<>(SuccessResponse.of(orderService.getAll(startDate, endDate, pageable)), HttpStatus.OK);
     }
 
+    @ApiOperation(value = "전체 주문 목록 (커서 페이징)", notes = "nextCursor 를 cursor 로 넘기면 다음 페이지를 조회한다. 전체 개수는 withCount=true 일 때만 계산한다.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "startDate", value = "시작 날짜 (yyyy-MM-dd) ", paramType = "query"),
+            @ApiImplicitParam(name = "endDate", value = "마지막 날짜 (yyyy-MM-dd)", paramType = "query"),
+            @ApiImplicitParam(name = "cursor", value = "이전 페이지의 nextCursor", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "페이지 크기 (최대 100)", paramType = "query"),
+            @ApiImplicitParam(name = "withCount", value = "전체 개수 포함 여부", paramType = "query")
+    })
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "success", response = CursorPagingResponseDto.class)
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity allListByCursor(@RequestParam(value = "startDate", required = false) String startDate,
+                                          @RequestParam(value = "endDate", required = false) String endDate,
+                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "size", defaultValue = "20") int size,
+                                          @RequestParam(value = "withCount", defaultValue = "false") boolean withCount) {
+        return ResponseEntity.ok(SuccessResponse.of(orderService.getAllByCursor(startDate, endDate, cursor, size, withCount)));
+    }
+
+    @ApiOperation(value = "유저의 주문 목록 (커서 페이징)", notes = "nextCursor 를 cursor 로 넘기면 다음 페이지를 조회한다. 전체 개수는 withCount=true 일 때만 계산한다.")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "success", response = CursorPagingResponseDto.class)
+    })
+    @GetMapping("/members/{memberId}/cursor")
+    public ResponseEntity memberOrderListByCursor(@PathVariable("memberId") Long memberId,
+                                                  @RequestParam(value = "startDate", required = false) String startDate,
+                                                  @RequestParam(value = "endDate", required = false) String endDate,
+                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "size", defaultValue = "20") int size,
+                                                  @RequestParam(value = "withCount", defaultValue = "false") boolean withCount) {
+        return ResponseEntity.ok(SuccessResponse.of(orderService.getAllByMemberCursor(memberId, startDate, endDate, cursor, size, withCount)));
+    }
+
+    @ApiOperation(value = "주문 내보내기", notes = "기간 내 주문을 CSV 또는 NDJSON 으로 스트리밍한다. 기간을 입력하지 않으면 전체 주문")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "format", value = "CSV, NDJSON", paramType = "query"),
+            @ApiImplicitParam(name = "startDate", value = "시작 날짜 (yyyy-MM-dd) ", paramType = "query"),
+            @ApiImplicitParam(name = "endDate", value = "마지막 날짜 (yyyy-MM-dd)", paramType = "query")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+                                                        @RequestParam(value = "startDate", required = false) String startDate,
+                                                        @RequestParam(value = "endDate", required = false) String endDate) {
+        StringUtils.validateInputDate(startDate, endDate);
+        StreamingResponseBody body = outputStream -> orderExportService.export(startDate, endDate, format, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+
     @ApiOperation(value = "유저의 주문 목록")
     @ApiResponses({
             @ApiResponse(code = 200, message = "success", response = OrdersResponseDto.class, responseContainer = "List")
@@ -50,13 +109,27 @@ public class OrderController {
         return ResponseEntity.ok(SuccessResponse.of(orderService.getAllByMember(memberId, startDate, endDate, pageable)));
     }
 
-    @ApiOperation("유저 상품 주문")
+    @ApiOperation("주문 상세 - 주문 처리 상태 조회")
     @ApiResponses({
-            @ApiResponse(code = 200, message = "success", response = OrdersResponseDto.class, responseContainer = "List")
+            @ApiResponse(code = 200, message = "success", response = OrdersResponseDto.class)
+    })
+    @GetMapping("/{orderId}")
+    public ResponseEntity getOrder(@PathVariable("orderId") Long orderId) {
+        return ResponseEntity.ok(SuccessResponse.of(orderService.getOrder(orderId)));
+    }
+
+    @ApiOperation(value = "유저 상품 주문", notes = "주문은 PENDING 상태로 접수되며 결제/토큰 발행은 백그라운드에서 진행된다. 진행 상태는 주문 상세 조회로 확인한다. " +
+            "같은 Idempotency-Key 로 다시 요청하면 새로 주문하지 않고 처음 접수된 주문을 돌려준다.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "Idempotency-Key", value = "재시도 구분 키 (최대 64자)", paramType = "header")
+    })
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "accepted", response = OrdersResponseDto.class)
     })
     @PostMapping
-    public ResponseEntity order(@RequestParam Long memberId, @RequestParam Long productId) throws ApiException {
-        return ResponseEntity.ok(SuccessResponse.of(orderService.order(memberId, productId)));
+    public ResponseEntity order(@RequestParam Long memberId, @RequestParam Long productId,
+                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(SuccessResponse.of(orderService.order(memberId, productId, idempotencyKey)));
     }
 
     @ApiOperation("결제관리 - 메모 수정")
@@ -0,0 +1,65 @@
+package com.virspit.virspitorder.controller;
+
+import com.virspit.virspitorder.dto.response.DailySalesResponseDto;
+import com.virspit.virspitorder.dto.response.ProductSalesResponseDto;
+import com.virspit.virspitorder.dto.response.TeamPlayerSalesResponseDto;
+import com.virspit.virspitorder.response.result.SuccessResponse;
+import com.virspit.virspitorder.service.SalesStatisticsService;
+import io.swagger.annotations.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Api("판매 통계 API")
+@RequestMapping("/orders/statistics")
+@RequiredArgsConstructor
+@RestController
+public class SalesStatisticsController {
+
+    private final SalesStatisticsService salesStatisticsService;
+
+    @ApiOperation(value = "일자별 판매 통계", notes = "기간을 입력하지 않으면 최근 30일")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "startDate", value = "시작 날짜 (yyyy-MM-dd) ", paramType = "query"),
+            @ApiImplicitParam(name = "endDate", value = "마지막 날짜 (yyyy-MM-dd)", paramType = "query")
+    })
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "success", response = DailySalesResponseDto.class, responseContainer = "List")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity dailySales(@RequestParam(value = "startDate", required = false) String startDate,
+                                     @RequestParam(value = "endDate", required = false) String endDate) {
+        return ResponseEntity.ok(SuccessResponse.of(salesStatisticsService.getDailySales(startDate, endDate)));
+    }
+
+    @ApiOperation(value = "상품별 판매 통계", notes = "매출 순으로 정렬. 기간을 입력하지 않으면 최근 30일")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "startDate", value = "시작 날짜 (yyyy-MM-dd) ", paramType = "query"),
+            @ApiImplicitParam(name = "endDate", value = "마지막 날짜 (yyyy-MM-dd)", paramType = "query")
+    })
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "success", response = ProductSalesResponseDto.class, responseContainer = "List")
+    })
+    @GetMapping("/products")
+    public ResponseEntity productSales(@RequestParam(value = "startDate", required = false) String startDate,
+                                       @RequestParam(value = "endDate", required = false) String endDate) {
+        return ResponseEntity.ok(SuccessResponse.of(salesStatisticsService.getProductSales(startDate, endDate)));
+    }
+
+    @ApiOperation(value = "팀/플레이어별 판매 통계", notes = "매출 순으로 정렬. 기간을 입력하지 않으면 최근 30일")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "startDate", value = "시작 날짜 (yyyy-MM-dd) ", paramType = "query"),
+            @ApiImplicitParam(name = "endDate", value = "마지막 날짜 (yyyy-MM-dd)", paramType = "query")
+    })
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "success", response = TeamPlayerSalesResponseDto.class, responseContainer = "List")
+    })
+    @GetMapping("/team-players")
+    public ResponseEntity teamPlayerSales(@RequestParam(value = "startDate", required = false) String startDate,
+                                          @RequestParam(value = "endDate", required = false) String endDate) {
+        return ResponseEntity.ok(SuccessResponse.of(salesStatisticsService.getTeamPlayerSales(startDate, endDate)));
+    }
+}
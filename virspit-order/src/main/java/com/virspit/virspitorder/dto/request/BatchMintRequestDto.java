@@ -0,0 +1,22 @@
+package com.virspit.virspitorder.dto.request;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+import java.util.List;
+
+@ApiModel("관리자 에어드랍 일괄 토큰 발행 요청 DTO")
+@EqualsAndHashCode
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class BatchMintRequestDto {
+
+    @ApiModelProperty("발행할 상품 id")
+    private Long productId;
+
+    @ApiModelProperty("받을 지갑 주소 목록. 같은 주소를 여러 번 넣으면 그 수만큼 발행한다.")
+    private List<String> walletAddresses;
+}
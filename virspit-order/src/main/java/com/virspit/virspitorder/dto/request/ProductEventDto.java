@@ -0,0 +1,18 @@
+package com.virspit.virspitorder.dto.request;
+
+import lombok.*;
+
+/**
+ * product 토픽 메시지 중 캐시 무효화와 재고 동기화에 필요한 필드만 받는다.
+ */
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ProductEventDto {
+    private Long id;
+    private String event;
+    private Integer remainedCount;
+    private Long stockRevision;
+    private Integer restockedCount;
+}
@@ -0,0 +1,39 @@
+package com.virspit.virspitorder.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@ApiModel("일괄 토큰 발행 진행 상황 DTO")
+@EqualsAndHashCode
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchMintResponseDto {
+
+    @ApiModelProperty("일괄 발행 id")
+    private String batchId;
+
+    @ApiModelProperty("상품 id")
+    private Long productId;
+
+    @ApiModelProperty("전체 발행 수")
+    private int total;
+
+    @ApiModelProperty("발행 완료 수")
+    private int committed;
+
+    @ApiModelProperty("발행 실패 수")
+    private int failed;
+
+    @ApiModelProperty("모든 발행이 끝났는지 여부")
+    private boolean done;
+
+    @ApiModelProperty("토큰별 결과")
+    private List<BatchMintResultDto> results;
+}
@@ -0,0 +1,31 @@
+package com.virspit.virspitorder.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@ApiModel("토큰별 발행 결과 DTO")
+@EqualsAndHashCode
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchMintResultDto {
+
+    @ApiModelProperty("받는 지갑 주소")
+    private String walletAddress;
+
+    @ApiModelProperty("토큰 id")
+    private String tokenId;
+
+    @ApiModelProperty("발행 상태")
+    private BatchMintStatus status;
+
+    @ApiModelProperty("트랜잭션 해시")
+    private String transactionHash;
+
+    @ApiModelProperty("실패 사유")
+    private String failReason;
+}
@@ -0,0 +1,8 @@
+package com.virspit.virspitorder.dto.response;
+
+public enum BatchMintStatus {
+    PENDING,    // 발행 대기
+    MINTING,    // 발행 요청 후 트랜잭션 확정 대기
+    COMMITTED,  // 발행 완료
+    FAILED      // 발행 실패 또는 확인 시간 초과
+}
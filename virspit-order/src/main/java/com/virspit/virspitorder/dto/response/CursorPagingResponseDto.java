@@ -0,0 +1,24 @@
+package com.virspit.virspitorder.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@ApiModel("커서 페이징 응답 DTO")
+@AllArgsConstructor
+@Getter
+public class CursorPagingResponseDto<T> {
+    @ApiModelProperty("전체 개수 (withCount=true 일 때만)")
+    private Long totalCount;
+
+    @ApiModelProperty("다음 페이지 커서 (마지막 페이지면 null)")
+    private String nextCursor;
+
+    @ApiModelProperty("다음 페이지 존재 여부")
+    private boolean hasNext;
+
+    private List<T> list;
+}
@@ -0,0 +1,27 @@
+package com.virspit.virspitorder.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@ApiModel("일자별 판매 통계 응답 DTO")
+@EqualsAndHashCode
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailySalesResponseDto {
+
+    @ApiModelProperty("판매 일자")
+    private LocalDate date;
+
+    @ApiModelProperty("주문 수")
+    private Long orderCount;
+
+    @ApiModelProperty("매출 (KLAY)")
+    private Long revenue;
+}
@@ -10,6 +10,7 @@ import lombok.*;
 @ApiModel(value = "MemberResponseDto", description = "회 응답 DTO")
 @Getter
 public class MemberResponseDto {
+    private Long id;
     private String birthdayDate;
     private String email;
     private String memberName;
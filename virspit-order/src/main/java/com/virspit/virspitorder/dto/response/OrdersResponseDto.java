@@ -1,5 +1,6 @@
 package com.virspit.virspitorder.dto.response;
 
+import com.virspit.virspitorder.entity.OrderStatus;
 import com.virspit.virspitorder.entity.Orders;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
@@ -30,6 +31,12 @@ public class OrdersResponseDto {
     @ApiModelProperty("메모")
     private String memo;
 
+    @ApiModelProperty("주문 상태")
+    private OrderStatus status;
+
+    @ApiModelProperty("주문 실패 사유")
+    private String failReason;
+
     public static OrdersResponseDto entityToDto(Orders orders, ProductResponseDto productResponseDto, MemberResponseDto member) {
         return OrdersResponseDto.builder()
                 .id(orders.getId())
@@ -37,6 +44,8 @@ public class OrdersResponseDto {
                 .product(productResponseDto)
                 .orderDate(orders.getOrderDate())
                 .memo(orders.getMemo())
+                .status(orders.getStatus())
+                .failReason(orders.getFailReason())
                 .build();
     }
 }
@@ -1,6 +1,7 @@
 package com.virspit.virspitorder.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
@@ -20,6 +21,8 @@ import java.time.LocalDateTime;
 @ApiModel(value = "ProductResponseDto", description = "상품 응답 DTO")
 @Getter
 public class ProductResponseDto {
+    private static final String PUBLISHED = "PUBLISHED";
+
     @ApiModelProperty("상품 ID")
     private Long id;
 
@@ -50,6 +53,9 @@ public class ProductResponseDto {
     @DecimalMax("100")
     private Integer remainedCount;
 
+    @ApiModelProperty("관리자가 수량을 바꿀 때마다 올라가는 재고 버전")
+    private Long stockRevision;
+
     @ApiModelProperty(value = "상품 판매 시작 일", example = "2021-09-26 17:00:00")
     @NotNull
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
@@ -66,4 +72,12 @@ public class ProductResponseDto {
     @NotNull
     private NftInfo nftInfo;
 
+    @ApiModelProperty("상품 등록 상태(DRAFT, PUBLISHED, FAILED)")
+    private String status;
+
+    // 등록 상태가 없는 이전 응답은 등록이 끝난 상품으로 본다.
+    @JsonIgnore
+    public boolean isPublished() {
+        return status == null || PUBLISHED.equals(status);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.virspit.virspitorder.dto.response;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@ApiModel("상품별 판매 통계 응답 DTO")
+@EqualsAndHashCode
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSalesResponseDto {
+
+    @ApiModelProperty("상품 id")
+    private Long productId;
+
+    @ApiModelProperty("주문 수")
+    private Long orderCount;
+
+    @ApiModelProperty("매출 (KLAY)")
+    private Long revenue;
+}
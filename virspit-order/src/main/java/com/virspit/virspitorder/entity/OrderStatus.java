@@ -0,0 +1,12 @@
+package com.virspit.virspitorder.entity;
+
+public enum OrderStatus {
+    PENDING,    // 주문 접수
+    PAYING,     // 클레이 지불 요청 중
+    PAID,       // 클레이 지불 완료
+    MINTING,    // 토큰 발행 중
+    PAYMENT_UNKNOWN, // 지불 확인 시간 초과, 영수증으로 정산 대기
+    MINT_UNKNOWN,    // 발행 확인 시간 초과, 영수증으로 정산 대기
+    COMPLETED,  // 토큰 발행 완료
+    FAILED      // 처리 실패
+}
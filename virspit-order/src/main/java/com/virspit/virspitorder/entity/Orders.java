@@ -2,10 +2,16 @@ package com.virspit.virspitorder.entity;
 
 import lombok.*;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
@@ -15,7 +21,17 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_orders_order_date_id", columnList = "orderDate, id"),
+        @Index(name = "idx_orders_member_id_order_date_id", columnList = "memberId, orderDate, id"),
+        @Index(name = "idx_orders_status_status_changed_at", columnList = "status, statusChangedAt")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_member_id_idempotency_key", columnNames = {"memberId", "idempotencyKey"})
+})
 public class Orders {
+    private static final int FAIL_REASON_LENGTH = 255;
+    public static final int IDEMPOTENCY_KEY_LENGTH = 64;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,15 +51,140 @@ public class Orders {
 
     private String memo;
 
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private LocalDateTime statusChangedAt; // 마지막으로 상태가 바뀐 시각. 멈춘 주문은 주문 시각이 아닌 이 시각으로 찾는다.
+
+    @Column(length = FAIL_REASON_LENGTH)
+    private String failReason;
+
+    @Column(length = IDEMPOTENCY_KEY_LENGTH)
+    private String idempotencyKey; // 재시도한 주문 요청을 구분하는 키
+
+    private String paymentTransactionHash; // 클레이 지불 트랜잭션
+
+    private String mintTransactionHash; // 토큰 발행 트랜잭션
+
+    public Orders(Long memberId, Long productId, String memberAddress) {
+        this(memberId, productId, memberAddress, null);
+    }
+
     public Orders(Long memberId, Long productId, String memberAddress, String tokenId) {
         this.memberId = memberId;
         this.productId = productId;
         this.memberAddress = memberAddress;
-        this.orderDate = LocalDateTime.now();
         this.tokenId = tokenId;
+        this.orderDate = LocalDateTime.now();
+        this.status = OrderStatus.PENDING;
+        this.statusChangedAt = orderDate;
+    }
+
+    // 재시도한 요청을 idempotencyKey 로 구분하는 주문 접수
+    public static Orders placed(Long memberId, Long productId, String memberAddress, String idempotencyKey) {
+        Orders orders = new Orders(memberId, productId, memberAddress);
+        orders.idempotencyKey = idempotencyKey;
+        return orders;
     }
 
     public void updateMemo(String memo) {
         this.memo = memo;
     }
+
+    // 지불을 보내기 전에 커밋해서, PENDING 으로 남은 주문은 아직 지불하지 않은 주문이 되게 한다.
+    public void paying() {
+        changeStatus(OrderStatus.PENDING, OrderStatus.PAYING);
+    }
+
+    // 기록하기 전에 결과를 알 수 없는 상태로 바뀐 주문도 reconcile 이 정산할 수 있도록 해시를 남긴다.
+    public void paymentRequested(String transactionHash) {
+        checkStatus(OrderStatus.PAYING, OrderStatus.PAYMENT_UNKNOWN);
+        this.paymentTransactionHash = transactionHash;
+    }
+
+    public void paid() {
+        changeStatus(OrderStatus.PAYING, OrderStatus.PAYMENT_UNKNOWN, OrderStatus.PAID);
+    }
+
+    // 발행을 보내기 전에 커밋해서, 해시 없이 MINTING 으로 남은 주문은 다시 발행하지 않게 한다.
+    public void minting() {
+        changeStatus(OrderStatus.PAID, OrderStatus.MINTING);
+    }
+
+    public void mintRequested(String transactionHash) {
+        checkStatus(OrderStatus.MINTING, OrderStatus.MINT_UNKNOWN);
+        this.mintTransactionHash = transactionHash;
+    }
+
+    public void complete(String tokenId) {
+        changeStatus(OrderStatus.MINTING, OrderStatus.MINT_UNKNOWN, OrderStatus.COMPLETED);
+        this.tokenId = tokenId;
+        this.failReason = null;
+    }
+
+    // 영수증 확인 시간이 초과된 주문. 트랜잭션이 나중에 확정될 수 있으므로 실패로 보지 않고 영수증으로 정산한다.
+    public void unknown(String reason) {
+        if (status == OrderStatus.PAYING) {
+            changeStatus(OrderStatus.PAYMENT_UNKNOWN);
+        } else if (status == OrderStatus.MINTING) {
+            changeStatus(OrderStatus.MINT_UNKNOWN);
+        } else {
+            throw new IllegalStateException(String.format("결과를 알 수 없는 상태로 바꿀 수 없습니다. id=%d, status=%s", id, status));
+        }
+        this.failReason = truncate(reason);
+    }
+
+    // 영수증으로 정산할 트랜잭션. 해시를 기록하기 전에 멈춘 주문은 null 이고 수동으로 확인한다.
+    public String reconcileTransactionHash() {
+        if (status == OrderStatus.PAYMENT_UNKNOWN) {
+            return paymentTransactionHash;
+        }
+        if (status == OrderStatus.MINT_UNKNOWN) {
+            return mintTransactionHash;
+        }
+        return null;
+    }
+
+    public void fail(String failReason) {
+        if (isDone()) {
+            throw new IllegalStateException(String.format("이미 처리가 끝난 주문입니다. id=%d, status=%s", id, status));
+        }
+        changeStatus(OrderStatus.FAILED);
+        this.failReason = truncate(failReason);
+    }
+
+    // 컬럼을 추가하기 전에 저장된 주문은 상태가 바뀐 시각이 없으므로 오래된 주문으로 본다.
+    public boolean isStatusChangedBefore(LocalDateTime before) {
+        return statusChangedAt == null || statusChangedAt.isBefore(before);
+    }
+
+    public boolean isDone() {
+        return status == OrderStatus.COMPLETED || status == OrderStatus.FAILED;
+    }
+
+    private void changeStatus(OrderStatus from, OrderStatus to) {
+        changeStatus(from, from, to);
+    }
+
+    private void changeStatus(OrderStatus from, OrderStatus orFrom, OrderStatus to) {
+        if (status != from && status != orFrom) {
+            throw new IllegalStateException(String.format("주문 상태를 %s 에서 %s 로 변경할 수 없습니다. id=%d", status, to, id));
+        }
+        changeStatus(to);
+    }
+
+    private void changeStatus(OrderStatus to) {
+        this.status = to;
+        this.statusChangedAt = LocalDateTime.now();
+    }
+
+    private void checkStatus(OrderStatus expected, OrderStatus orExpected) {
+        if (status != expected && status != orExpected) {
+            throw new IllegalStateException(String.format("%s 상태의 주문이 아닙니다. id=%d, status=%s", expected, id, status));
+        }
+    }
+
+    private static String truncate(String reason) {
+        return reason == null || reason.length() <= FAIL_REASON_LENGTH ? reason : reason.substring(0, FAIL_REASON_LENGTH);
+    }
 }
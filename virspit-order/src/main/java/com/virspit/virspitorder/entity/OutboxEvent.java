@@ -0,0 +1,55 @@
+package com.virspit.virspitorder.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * 비즈니스 변경과 같은 트랜잭션에 저장하는 Kafka 이벤트.
+ * OutboxRelay 가 id 순서대로 읽어 발행하고 publishedAt 을 채운다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private String topic;
+
+    private String messageKey;
+
+    @Lob
+    @NotNull
+    private String payload;
+
+    @NotNull
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(String topic, String messageKey, String payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void published(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -0,0 +1,55 @@
+package com.virspit.virspitorder.entity;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 주문 서비스가 관리하는 상품별 남은 재고.
+ * 한 행에 예약이 몰리지 않도록 상품마다 재고를 여러 버킷 행으로 나눠 두고, 결제/토큰 발행 전에 아무 버킷에서나 한 개씩 예약한다.
+ * 주문이 실패하면 되돌리고, 관리자가 수량을 바꾸면 상품 이벤트의 stockRevision 으로 한 번만 반영한다.
+ * 기존 product_stock 과 키가 달라 product_stock_bucket 테이블을 쓴다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(ProductStockId.class)
+@Table(name = "product_stock_bucket")
+@Entity
+public class ProductStock {
+
+    @Id
+    private Long productId;
+
+    @Id
+    private Integer bucket;
+
+    @NotNull
+    private Long remaining;
+
+    @NotNull
+    private Long stockRevision;
+
+    @Builder
+    public ProductStock(Long productId, Integer bucket, Long remaining, Long stockRevision) {
+        this.productId = productId;
+        this.bucket = bucket;
+        this.remaining = remaining;
+        this.stockRevision = stockRevision;
+    }
+
+    public boolean isRestocked(long stockRevision) {
+        return this.stockRevision >= stockRevision;
+    }
+
+    public void restock(long delta, long stockRevision) {
+        this.remaining += delta;
+        this.stockRevision = stockRevision;
+    }
+}
@@ -0,0 +1,106 @@
+package com.virspit.virspitorder.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * 결제 후 토큰 발행에 실패한 주문의 환불 작업.
+ * 주문 실패와 같은 트랜잭션에 저장하고, RefundWorker 가 nextAttemptAt 이 지난 것부터 처리한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_refund_status_next_attempt_at", columnList = "status, nextAttemptAt"))
+public class Refund {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(unique = true)
+    private Long orderId;
+
+    @NotNull
+    private String memberAddress;
+
+    @NotNull
+    private Integer price;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private RefundStatus status;
+
+    private int attempts;
+
+    @NotNull
+    private LocalDateTime nextAttemptAt;
+
+    private String transactionHash;
+
+    private String lastError;
+
+    @NotNull
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    public Refund(Long orderId, String memberAddress, Integer price) {
+        this.orderId = orderId;
+        this.memberAddress = memberAddress;
+        this.price = price;
+        this.status = RefundStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = createdAt;
+    }
+
+    // 환불을 보내기 전에 시도를 먼저 기록한다. 전송 결과를 기록하지 못한 채 멈추면 watchUntil 이후 UNKNOWN 으로 넘긴다.
+    public void submitting(LocalDateTime watchUntil) {
+        this.attempts++;
+        this.status = RefundStatus.SUBMITTING;
+        this.transactionHash = null;
+        this.nextAttemptAt = watchUntil;
+    }
+
+    // 영수증 확인이 끝날 때까지 다시 가져가지 않도록 watchUntil 까지 미룬다.
+    public void submitted(String transactionHash, LocalDateTime watchUntil) {
+        this.status = RefundStatus.SUBMITTED;
+        this.transactionHash = transactionHash;
+        this.nextAttemptAt = watchUntil;
+    }
+
+    public void watching(LocalDateTime watchUntil) {
+        this.nextAttemptAt = watchUntil;
+    }
+
+    // 이미 보냈을 수도 있으므로 다시 보내지 않고 수동 확인으로 넘긴다.
+    public void unknown(String error) {
+        this.status = RefundStatus.UNKNOWN;
+        this.lastError = error;
+    }
+
+    public void completed(LocalDateTime completedAt) {
+        this.status = RefundStatus.COMPLETED;
+        this.completedAt = completedAt;
+    }
+
+    public void retry(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.status = attempts >= maxAttempts ? RefundStatus.FAILED : RefundStatus.PENDING;
+        this.transactionHash = null;
+        this.lastError = error;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.virspit.virspitorder.entity;
+
+public enum RefundStatus {
+    PENDING,    // 환불 대기 (재시도 포함)
+    SUBMITTING, // 환불 전송 시도 기록, 전송 결과 대기
+    SUBMITTED,  // 환불 트랜잭션 전송, 확정 대기
+    COMPLETED,  // 환불 완료
+    UNKNOWN,    // 전송 여부를 알 수 없음, 수동 확인 필요
+    FAILED      // 재시도 횟수 초과, 수동 처리 필요
+}
@@ -0,0 +1,36 @@
+package com.virspit.virspitorder.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * 일자 x 상품 단위로 미리 집계한 판매 통계.
+ * 주문이 완료될 때마다 SalesDailyRepository.increase 로 한 행씩 누적한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(SalesDailyId.class)
+@Entity
+public class SalesDaily {
+
+    @Id
+    private LocalDate salesDate;
+
+    @Id
+    private Long productId;
+
+    private Long teamPlayerId;
+
+    @NotNull
+    private Long orderCount;
+
+    @NotNull
+    private Long revenue; // KLAY
+}
@@ -0,0 +1,17 @@
+package com.virspit.virspitorder.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SalesDailyId implements Serializable {
+    private LocalDate salesDate;
+    private Long productId;
+}
@@ -0,0 +1,43 @@
+package com.virspit.virspitorder.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 컨트랙트별로 지금까지 예약된 가장 큰 토큰 id(high-water mark).
+ * 발행은 이 값 이후의 구간을 블록 단위로 예약해서 메모리에서 나눠준다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class TokenSequence {
+
+    @Id
+    private String contractAlias;
+
+    @NotNull
+    private Long lastTokenId;
+
+    public TokenSequence(String contractAlias, long lastTokenId) {
+        this.contractAlias = contractAlias;
+        this.lastTokenId = lastTokenId;
+    }
+
+    // 다음 블록의 첫 id 를 돌려주고 high-water mark 를 블록 끝으로 옮긴다.
+    public long reserve(int blockSize) {
+        long start = lastTokenId + 1;
+        lastTokenId += blockSize;
+        return start;
+    }
+
+    public void raiseTo(long tokenId) {
+        if (tokenId > lastTokenId) {
+            lastTokenId = tokenId;
+        }
+    }
+}
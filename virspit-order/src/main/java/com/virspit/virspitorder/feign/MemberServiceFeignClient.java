@@ -4,6 +4,10 @@ import com.virspit.virspitorder.dto.response.MemberResponseDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(value = "virspit-user", url = "http://3.38.42.161:8081")
 public interface MemberServiceFeignClient {
@@ -13,4 +17,7 @@ public interface MemberServiceFeignClient {
 
     @GetMapping(value = "/member/{id}", consumes = "application/json")
     MemberResponseDto findByMemberId(@PathVariable(name = "id") Long memberId);
+
+    @GetMapping(value = "/member", consumes = "application/json")
+    List<MemberResponseDto> findAllByMemberIds(@RequestParam(name = "ids") Collection<Long> memberIds);
 }
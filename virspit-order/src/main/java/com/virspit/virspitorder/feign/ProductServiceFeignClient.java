@@ -6,10 +6,17 @@ import com.virspit.virspitorder.response.result.SuccessResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "virspit-product")
 public interface ProductServiceFeignClient {
 
     @GetMapping(value = "/products/{productId}", consumes = "application/json")
     SuccessResponse<ProductResponseDto> findByProductId(@PathVariable(name = "productId") Long productId);
+
+    @GetMapping(value = "/products", consumes = "application/json")
+    SuccessResponse<List<ProductResponseDto>> findAllByProductIds(@RequestParam(name = "ids") Collection<Long> productIds);
 }
@@ -1,12 +1,23 @@
 package com.virspit.virspitorder.repository;
 
+import com.virspit.virspitorder.entity.OrderStatus;
 import com.virspit.virspitorder.entity.Orders;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Orders, Long> {
@@ -15,4 +26,57 @@ public interface OrderRepository extends JpaRepository<Orders, Long> {
     Page<Orders> findByMemberId(long memberId, Pageable pageable);
 
     Page<Orders> findByMemberIdAndOrderDateBetween(long memberId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    // keyset 페이징 - (orderDate, id) 가 커서보다 작은 주문을 최신순으로 조회
+    @Query("select o from Orders o " +
+            "where o.orderDate >= :startDate " +
+            "and (o.orderDate < :cursorDate or (o.orderDate = :cursorDate and o.id < :cursorId)) " +
+            "order by o.orderDate desc, o.id desc")
+    List<Orders> findNextPage(@Param("startDate") LocalDateTime startDate,
+                              @Param("cursorDate") LocalDateTime cursorDate,
+                              @Param("cursorId") Long cursorId,
+                              Pageable pageable);
+
+    @Query("select o from Orders o " +
+            "where o.memberId = :memberId " +
+            "and o.orderDate >= :startDate " +
+            "and (o.orderDate < :cursorDate or (o.orderDate = :cursorDate and o.id < :cursorId)) " +
+            "order by o.orderDate desc, o.id desc")
+    List<Orders> findNextPageByMemberId(@Param("memberId") Long memberId,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("cursorDate") LocalDateTime cursorDate,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    // export 용 - 결과를 한 번에 올리지 않고 DB 커서로 fetch-size 만큼씩 읽는다.
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select o from Orders o where o.orderDate between :startDate and :endDate order by o.orderDate, o.id")
+    Stream<Orders> streamByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate);
+
+    // 같은 주문을 여러 워커가 동시에 시작하지 않도록 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Orders o where o.id = :id")
+    Optional<Orders> findByIdForUpdate(@Param("id") Long id);
+
+    // 상태가 before 이전에 바뀐 뒤 그대로인 주문. 상태가 바뀐 시각이 없는 이전 주문도 포함한다.
+    @Query("select o from Orders o where o.status in :statuses " +
+            "and (o.statusChangedAt < :before or o.statusChangedAt is null) " +
+            "order by o.statusChangedAt, o.id")
+    List<Orders> findByStatusInAndStatusChangedAtBefore(@Param("statuses") List<OrderStatus> statuses,
+                                                        @Param("before") LocalDateTime before,
+                                                        Pageable pageable);
+
+    // 영수증으로 정산할 수 있는(해시가 기록된) 결과 미확인 주문
+    @Query("select o from Orders o " +
+            "where (o.status = com.virspit.virspitorder.entity.OrderStatus.PAYMENT_UNKNOWN and o.paymentTransactionHash is not null) " +
+            "or (o.status = com.virspit.virspitorder.entity.OrderStatus.MINT_UNKNOWN and o.mintTransactionHash is not null) " +
+            "order by o.orderDate, o.id")
+    List<Orders> findReconcilable(Pageable pageable);
+
+    Optional<Orders> findByMemberIdAndIdempotencyKey(Long memberId, String idempotencyKey);
+
+    long countByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    long countByMemberIdAndOrderDateBetween(Long memberId, LocalDateTime startDate, LocalDateTime endDate);
 }
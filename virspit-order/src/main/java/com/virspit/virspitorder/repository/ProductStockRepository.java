@@ -0,0 +1,40 @@
+package com.virspit.virspitorder.repository;
+
+import com.virspit.virspitorder.entity.ProductStock;
+import com.virspit.virspitorder.entity.ProductStockId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface ProductStockRepository extends JpaRepository<ProductStock, ProductStockId> {
+
+    // 처음 보는 상품만 상품 서비스의 남은 수량으로 시작한다.
+    @Modifying
+    @Query(value = "insert ignore into product_stock_bucket (product_id, bucket, remaining, stock_revision) " +
+            "values (:productId, :bucket, :remaining, :stockRevision)", nativeQuery = true)
+    int insertIfAbsent(@Param("productId") Long productId, @Param("bucket") int bucket,
+                       @Param("remaining") long remaining, @Param("stockRevision") long stockRevision);
+
+    // 버킷에 남은 재고가 있을 때만 하나 차감한다. 차감되면 1, 버킷이 비었으면 0
+    @Modifying
+    @Query("update ProductStock s set s.remaining = s.remaining - 1 " +
+            "where s.productId = :productId and s.bucket = :bucket and s.remaining > 0")
+    int decrease(@Param("productId") Long productId, @Param("bucket") int bucket);
+
+    @Modifying
+    @Query("update ProductStock s set s.remaining = s.remaining + 1 where s.productId = :productId and s.bucket = :bucket")
+    int increase(@Param("productId") Long productId, @Param("bucket") int bucket);
+
+    boolean existsByProductId(Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductStock s where s.productId = :productId order by s.bucket")
+    List<ProductStock> findAllByProductIdForUpdate(@Param("productId") Long productId);
+}
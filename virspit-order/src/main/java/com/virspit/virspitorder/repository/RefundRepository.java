@@ -0,0 +1,25 @@
+package com.virspit.virspitorder.repository;
+
+import com.virspit.virspitorder.entity.Refund;
+import com.virspit.virspitorder.entity.RefundStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefundRepository extends JpaRepository<Refund, Long> {
+
+    // 여러 인스턴스의 worker 가 같은 환불을 동시에 보내지 않도록 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Refund r where r.status in :statuses and r.nextAttemptAt <= :now order by r.nextAttemptAt, r.id")
+    List<Refund> findDue(@Param("statuses") List<RefundStatus> statuses, @Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(RefundStatus status);
+}
@@ -0,0 +1,45 @@
+package com.virspit.virspitorder.repository;
+
+import com.virspit.virspitorder.dto.response.DailySalesResponseDto;
+import com.virspit.virspitorder.dto.response.ProductSalesResponseDto;
+import com.virspit.virspitorder.dto.response.TeamPlayerSalesResponseDto;
+import com.virspit.virspitorder.entity.SalesDaily;
+import com.virspit.virspitorder.entity.SalesDailyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesDailyRepository extends JpaRepository<SalesDaily, SalesDailyId> {
+
+    // 동시에 완료되는 주문끼리 잠금 경합 없이 한 문장으로 누적
+    @Modifying
+    @Query(value = "insert into sales_daily (sales_date, product_id, team_player_id, order_count, revenue) " +
+            "values (:salesDate, :productId, :teamPlayerId, 1, :revenue) " +
+            "on duplicate key update order_count = order_count + 1, revenue = revenue + values(revenue)",
+            nativeQuery = true)
+    int increase(@Param("salesDate") LocalDate salesDate,
+                 @Param("productId") Long productId,
+                 @Param("teamPlayerId") Long teamPlayerId,
+                 @Param("revenue") long revenue);
+
+    @Query("select new com.virspit.virspitorder.dto.response.DailySalesResponseDto(s.salesDate, sum(s.orderCount), sum(s.revenue)) " +
+            "from SalesDaily s where s.salesDate between :startDate and :endDate " +
+            "group by s.salesDate order by s.salesDate")
+    List<DailySalesResponseDto> sumByDate(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("select new com.virspit.virspitorder.dto.response.ProductSalesResponseDto(s.productId, sum(s.orderCount), sum(s.revenue)) " +
+            "from SalesDaily s where s.salesDate between :startDate and :endDate " +
+            "group by s.productId order by sum(s.revenue) desc")
+    List<ProductSalesResponseDto> sumByProduct(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("select new com.virspit.virspitorder.dto.response.TeamPlayerSalesResponseDto(s.teamPlayerId, sum(s.orderCount), sum(s.revenue)) " +
+            "from SalesDaily s where s.salesDate between :startDate and :endDate " +
+            "group by s.teamPlayerId order by sum(s.revenue) desc")
+    List<TeamPlayerSalesResponseDto> sumByTeamPlayer(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,19 @@
+package com.virspit.virspitorder.repository;
+
+import com.virspit.virspitorder.entity.TokenSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface TokenSequenceRepository extends JpaRepository<TokenSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from TokenSequence s where s.contractAlias = :contractAlias")
+    Optional<TokenSequence> findForUpdate(@Param("contractAlias") String contractAlias);
+}
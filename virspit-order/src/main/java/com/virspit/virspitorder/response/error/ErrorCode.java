@@ -22,7 +22,10 @@ public enum ErrorCode {
 
     // Coupon
     COUPON_ALREADY_USE(400, "CO001", "Coupon was already used"),
-    COUPON_EXPIRE(400, "CO002", "Coupon was already expired");
+    COUPON_EXPIRE(400, "CO002", "Coupon was already expired"),
+
+    // Order
+    SOLD_OUT(409, "O001", "Product is sold out");
 
     @Getter
     private final int status;
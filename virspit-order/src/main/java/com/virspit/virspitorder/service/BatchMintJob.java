@@ -0,0 +1,85 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.BatchMintResponseDto;
+import com.virspit.virspitorder.dto.response.BatchMintResultDto;
+import com.virspit.virspitorder.dto.response.BatchMintStatus;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 일괄 발행 한 건의 진행 상황. 토큰 id 는 시작할 때 모두 할당해 두고, 레인들이 다음 순번을 하나씩 가져가 발행한다.
+ */
+class BatchMintJob {
+    @Getter
+    private final String batchId;
+    @Getter
+    private final Long productId;
+    private final List<String> walletAddresses;
+    private final List<String> tokenIds;
+    private final BatchMintStatus[] statuses;
+    private final String[] transactionHashes;
+    private final String[] failReasons;
+    private int nextIndex;
+    private int committed;
+    private int failed;
+
+    BatchMintJob(String batchId, Long productId, List<String> walletAddresses, List<String> tokenIds) {
+        this.batchId = batchId;
+        this.productId = productId;
+        this.walletAddresses = walletAddresses;
+        this.tokenIds = tokenIds;
+        this.statuses = new BatchMintStatus[tokenIds.size()];
+        this.transactionHashes = new String[tokenIds.size()];
+        this.failReasons = new String[tokenIds.size()];
+        Arrays.fill(statuses, BatchMintStatus.PENDING);
+    }
+
+    // 발행할 순번을 가져간다. 남은 것이 없으면 -1
+    synchronized int claimNext() {
+        if (nextIndex >= statuses.length) {
+            return -1;
+        }
+        int index = nextIndex++;
+        statuses[index] = BatchMintStatus.MINTING;
+        return index;
+    }
+
+    synchronized boolean hasNext() {
+        return nextIndex < statuses.length;
+    }
+
+    String walletAddress(int index) {
+        return walletAddresses.get(index);
+    }
+
+    String tokenId(int index) {
+        return tokenIds.get(index);
+    }
+
+    synchronized void committed(int index, String transactionHash) {
+        statuses[index] = BatchMintStatus.COMMITTED;
+        transactionHashes[index] = transactionHash;
+        committed++;
+    }
+
+    synchronized void failed(int index, String failReason) {
+        statuses[index] = BatchMintStatus.FAILED;
+        failReasons[index] = failReason;
+        failed++;
+    }
+
+    synchronized boolean isDone() {
+        return committed + failed == statuses.length;
+    }
+
+    synchronized BatchMintResponseDto toDto() {
+        List<BatchMintResultDto> results = new ArrayList<>(statuses.length);
+        for (int i = 0; i < statuses.length; i++) {
+            results.add(new BatchMintResultDto(walletAddresses.get(i), tokenIds.get(i), statuses[i], transactionHashes[i], failReasons[i]));
+        }
+        return new BatchMintResponseDto(batchId, productId, statuses.length, committed, failed, isDone(), results);
+    }
+}
@@ -0,0 +1,173 @@
+package com.virspit.virspitorder.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.virspit.virspitorder.dto.request.BatchMintRequestDto;
+import com.virspit.virspitorder.dto.response.BatchMintResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.response.error.ErrorCode;
+import com.virspit.virspitorder.response.error.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 관리자 에어드랍 전용으로 한 상품의 토큰을 여러 지갑에 한 번에 발행한다.
+ * 결제, 재고 예약, 주문(Orders) 저장 없이 발행만 하므로 구매 경로로 쓰지 않는다. 구매는 OrderService.order 를 거친다.
+ * 토큰 id 는 한 번에 예약하고, 최대 maxInFlight 개의 발행을 동시에 진행한다.
+ * 각 레인은 발행 요청 후 영수증이 확정되면 다음 순번을 워커 스레드에 넘기므로 대기 중에 워커 스레드를 잡고 있지 않는다.
+ * 진행 상황은 메모리에만 두고 일정 시간이 지나면 지운다.
+ */
+@Slf4j
+@Service
+public class BatchMintService {
+
+    private static final long LANE_RETRY_DELAY_MILLIS = 1000;
+
+    private final NftService nftService;
+    private final TokenIdAllocator tokenIdAllocator;
+    private final ProductCache productCache;
+    private final TaskExecutor orderExecutor;
+    private final int maxInFlight;
+    private final int maxSize;
+    private final Cache<String, BatchMintJob> jobs;
+
+    public BatchMintService(NftService nftService,
+                            TokenIdAllocator tokenIdAllocator,
+                            ProductCache productCache,
+                            @Qualifier("orderExecutor") TaskExecutor orderExecutor,
+                            @Value("${order.batch-mint.max-in-flight}") int maxInFlight,
+                            @Value("${order.batch-mint.max-size}") int maxSize,
+                            @Value("${order.batch-mint.retention-hours}") long retentionHours) {
+        this.nftService = nftService;
+        this.tokenIdAllocator = tokenIdAllocator;
+        this.productCache = productCache;
+        this.orderExecutor = orderExecutor;
+        this.maxInFlight = maxInFlight;
+        this.maxSize = maxSize;
+        this.jobs = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofHours(retentionHours))
+                .build();
+    }
+
+    public BatchMintResponseDto mint(BatchMintRequestDto requestDto) {
+        List<String> walletAddresses = requestDto.getWalletAddresses();
+        if (walletAddresses == null || walletAddresses.isEmpty() || walletAddresses.size() > maxSize) {
+            throw new BusinessException(String.format("지갑 주소는 1~%d 개까지 입력해주세요.", maxSize), ErrorCode.INVALID_INPUT_VALUE);
+        }
+        if (walletAddresses.stream().anyMatch(address -> address == null || address.isBlank())) {
+            throw new BusinessException("빈 지갑 주소가 있습니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        ProductResponseDto product = productCache.findByProductId(requestDto.getProductId());
+        if (product == null || product.getNftInfo() == null) {
+            throw new BusinessException("product 정보를 가져오지 못했습니다.", ErrorCode.ENTITY_NOT_FOUND);
+        }
+        String contractAlias = product.getNftInfo().getContractAlias();
+        String uri = product.getNftInfo().getMetadataUri();
+
+        List<String> tokenIds;
+        try {
+            tokenIds = tokenIdAllocator.nextTokenIds(contractAlias, walletAddresses.size());
+        } catch (ApiException e) {
+            throw new BusinessException("토큰 id 를 할당하지 못했습니다.", ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        BatchMintJob job = new BatchMintJob(UUID.randomUUID().toString(), product.getId(), List.copyOf(walletAddresses), tokenIds);
+        jobs.put(job.getBatchId(), job);
+        log.info("batch mint started. batchId={}, productId={}, total={}", job.getBatchId(), job.getProductId(), tokenIds.size());
+
+        int lanes = Math.min(maxInFlight, tokenIds.size());
+        for (int i = 0; i < lanes; i++) {
+            try {
+                orderExecutor.execute(() -> mintNext(job, contractAlias, uri));
+            } catch (TaskRejectedException e) {
+                // 이미 시작한 레인들이 나머지를 이어서 발행한다.
+                log.warn("batch mint lane rejected. batchId={}, lane={}", job.getBatchId(), i, e);
+                if (i == 0) {
+                    jobs.invalidate(job.getBatchId());
+                    throw new BusinessException("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", ErrorCode.INTERNAL_SERVER_ERROR);
+                }
+                break;
+            }
+        }
+        return job.toDto();
+    }
+
+    public BatchMintResponseDto getBatch(String batchId) {
+        BatchMintJob job = jobs.getIfPresent(batchId);
+        if (job == null) {
+            throw new BusinessException("해당 batchId가 없습니다.", ErrorCode.ENTITY_NOT_FOUND);
+        }
+        return job.toDto();
+    }
+
+    private void mintNext(BatchMintJob job, String contractAlias, String uri) {
+        int index = job.claimNext();
+        if (index < 0) {
+            return;
+        }
+
+        CompletableFuture<String> minted;
+        try {
+            minted = nftService.issueToken(job.walletAddress(index), uri, contractAlias, job.tokenId(index));
+        } catch (Exception e) {
+            minted = CompletableFuture.failedFuture(e);
+        }
+
+        // 영수증을 받은 스레드에서는 결과만 기록하고, 다음 발행(KAS 호출)은 워커 스레드로 넘긴다.
+        minted.handle((transactionHash, e) -> {
+            record(job, index, transactionHash, e);
+            return null;
+        }).whenComplete((ignored, e) -> {
+            if (e != null) {
+                log.error("batch mint record failed. batchId={}, tokenId={}", job.getBatchId(), job.tokenId(index), e);
+            }
+            continueLane(job, contractAlias, uri);
+        });
+    }
+
+    private void continueLane(BatchMintJob job, String contractAlias, String uri) {
+        if (!job.hasNext()) {
+            return;
+        }
+        try {
+            orderExecutor.execute(() -> mintNext(job, contractAlias, uri));
+        } catch (TaskRejectedException e) {
+            // 워커 큐가 가득 차면 잠시 뒤에 다시 넘긴다.
+            log.warn("batch mint lane delayed. batchId={}", job.getBatchId());
+            CompletableFuture.runAsync(() -> continueLane(job, contractAlias, uri),
+                    CompletableFuture.delayedExecutor(LANE_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void record(BatchMintJob job, int index, String transactionHash, Throwable e) {
+        if (e == null && transactionHash != null) {
+            job.committed(index, transactionHash);
+        } else {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause != null) {
+                log.warn("batch mint failed. batchId={}, tokenId={}", job.getBatchId(), job.tokenId(index), cause);
+            }
+            job.failed(index, cause instanceof TimeoutException
+                    ? "KAS 트랜잭션 확인 시간이 초과되었습니다."
+                    : "KAS API - 토큰 발행이 되지 않았습니다.");
+        }
+        if (job.isDone()) {
+            BatchMintResponseDto result = job.toDto();
+            log.info("batch mint finished. batchId={}, committed={}, failed={}", job.getBatchId(), result.getCommitted(), result.getFailed());
+        }
+    }
+}
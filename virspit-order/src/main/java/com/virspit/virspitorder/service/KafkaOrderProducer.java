@@ -1,20 +1,48 @@
 package com.virspit.virspitorder.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.entity.OutboxEvent;
+import com.virspit.virspitorder.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 주문 이벤트를 바로 보내지 않고 호출한 트랜잭션 안에서 outbox 에 저장한다.
+ * 실제 발행은 OutboxRelay 가 한다.
+ * 같은 상품의 주문이 같은 파티션으로 가도록 productId 를 키로 쓴다.
+ * 그래서 토픽 파티션 수와 소비 쪽 리스너 concurrency 를 늘려도 상품별 순서는 유지된다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class KafkaOrderProducer {
-    private final KafkaTemplate<String, OrdersResponseDto> kafkaTemplate;
+    private static final ObjectMapper OBJECT_MAPPER = JacksonUtils.enhancedObjectMapper();
 
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendOrder(final String topic, final OrdersResponseDto ordersResponseDto) {
         log.info("send order={}", ordersResponseDto);
-        kafkaTemplate.send(topic, ordersResponseDto);
+        try {
+            outboxEventRepository.save(new OutboxEvent(
+                    topic,
+                    messageKey(ordersResponseDto),
+                    OBJECT_MAPPER.writeValueAsString(ordersResponseDto)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("order event 를 직렬화하지 못했습니다. id=" + ordersResponseDto.getId(), e);
+        }
     }
 
+    private String messageKey(final OrdersResponseDto ordersResponseDto) {
+        if (ordersResponseDto.getProduct() == null || ordersResponseDto.getProduct().getId() == null) {
+            return String.valueOf(ordersResponseDto.getId());
+        }
+        return String.valueOf(ordersResponseDto.getProduct().getId());
+    }
 }
@@ -0,0 +1,28 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.request.ProductEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품이 변경/삭제되면 ProductCache 에서 해당 상품을 비운다.
+ * 인스턴스마다 각자의 캐시를 비워야 하므로 consumer group 을 인스턴스별로 따로 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaProductConsumer {
+
+    private final ProductCache productCache;
+
+    @KafkaListener(topics = "${spring.kafka.topic.product}", groupId = "${order.product-cache.group-id}", containerFactory = "productFactory")
+    public void consumeProduct(ProductEventDto productEventDto) {
+        if (productEventDto == null || productEventDto.getId() == null) {
+            return;
+        }
+        log.info("invalidate product cache. product={}", productEventDto);
+        productCache.invalidate(productEventDto.getId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.request.ProductEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품이 등록/변경되면 주문 서비스의 재고(product_stock_bucket)를 만들거나 관리자가 바꾼 수량을 반영한다.
+ * 재고는 DB 에 한 번만 반영해야 하므로 캐시 무효화와 달리 모든 인스턴스가 같은 consumer group 을 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaProductStockConsumer {
+
+    private static final String UPDATE_EVENT = "UPDATE";
+
+    private final StockAdmissionService stockAdmissionService;
+
+    @KafkaListener(topics = "${spring.kafka.topic.product}", groupId = "${order.admission.stock-group-id}", containerFactory = "productFactory")
+    public void consumeProduct(ProductEventDto productEventDto) {
+        if (productEventDto == null || productEventDto.getId() == null
+                || !UPDATE_EVENT.equals(productEventDto.getEvent()) || productEventDto.getRemainedCount() == null) {
+            return;
+        }
+        stockAdmissionService.sync(productEventDto.getId(),
+                productEventDto.getRemainedCount(),
+                productEventDto.getStockRevision() == null ? 0 : productEventDto.getStockRevision(),
+                productEventDto.getRestockedCount() == null ? 0 : productEventDto.getRestockedCount());
+    }
+}
@@ -0,0 +1,101 @@
+package com.virspit.virspitorder.service;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.virspit.virspitorder.dto.response.MemberResponseDto;
+import com.virspit.virspitorder.feign.MemberServiceFeignClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 회원 서비스 조회 결과 캐시.
+ * 지갑 주소는 가입 이후 바뀌지 않으므로 만료 없이 개수로만 제한하고, 회원 정보는 짧은 TTL 로 둔다.
+ * LoadingCache 는 같은 키의 동시 미스를 하나의 로딩으로 합치므로 회원 서비스 호출은 키당 한 번만 나간다.
+ */
+@Slf4j
+@Component
+public class MemberCache {
+    private final MemberServiceFeignClient memberServiceFeignClient;
+    private final LoadingCache<Long, String> walletCache;
+    private final LoadingCache<Long, MemberResponseDto> memberCache;
+
+    public MemberCache(MemberServiceFeignClient memberServiceFeignClient,
+                       MeterRegistry meterRegistry,
+                       @Value("${order.member-cache.wallet-maximum-size}") long walletMaximumSize,
+                       @Value("${order.member-cache.ttl-seconds}") long ttlSeconds,
+                       @Value("${order.member-cache.maximum-size}") long maximumSize) {
+        this.memberServiceFeignClient = memberServiceFeignClient;
+        this.walletCache = CacheBuilder.newBuilder()
+                .maximumSize(walletMaximumSize)
+                .recordStats()
+                .build(CacheLoader.from(this::loadWallet));
+        this.memberCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(CacheLoader.from(memberServiceFeignClient::findByMemberId));
+        GuavaCacheMetrics.monitor(meterRegistry, walletCache, "member-wallet");
+        GuavaCacheMetrics.monitor(meterRegistry, memberCache, "member");
+    }
+
+    // 지갑이 없으면 캐시하지 않고 null 을 돌려준다.
+    public String findWalletByMemberId(Long memberId) {
+        return load(walletCache, memberId);
+    }
+
+    public MemberResponseDto findByMemberId(Long memberId) {
+        return load(memberCache, memberId);
+    }
+
+    // 캐시에 없는 회원만 모아서 한 번에 조회한다.
+    public Map<Long, MemberResponseDto> findAllByMemberIds(Collection<Long> memberIds) {
+        Map<Long, MemberResponseDto> members = new HashMap<>(memberCache.getAllPresent(memberIds));
+        Set<Long> missed = new HashSet<>(memberIds);
+        missed.removeAll(members.keySet());
+        if (missed.isEmpty()) {
+            return members;
+        }
+
+        List<MemberResponseDto> fetched = Optional.ofNullable(memberServiceFeignClient.findAllByMemberIds(missed))
+                .orElse(Collections.emptyList());
+        for (MemberResponseDto member : fetched) {
+            memberCache.put(member.getId(), member);
+            members.putIfAbsent(member.getId(), member);
+        }
+        return members;
+    }
+
+    private String loadWallet(Long memberId) {
+        String walletAddress = memberServiceFeignClient.findWalletByMemberId(memberId);
+        return walletAddress == null || walletAddress.isBlank() ? null : walletAddress;
+    }
+
+    private static <V> V load(LoadingCache<Long, V> cache, Long memberId) {
+        try {
+            return cache.getUnchecked(memberId);
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            // 로더가 null 을 돌려준 경우
+            return null;
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
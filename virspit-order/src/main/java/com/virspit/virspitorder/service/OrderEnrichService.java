@@ -0,0 +1,56 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.MemberResponseDto;
+import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.entity.Orders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 목록에 상품/회원 정보를 채워 넣는다.
+ * 페이지 안의 중복되지 않는 productId, memberId 를 모아 서비스별로 한 번씩만 일괄 조회한 뒤 메모리에서 조인한다.
+ * 상품, 회원은 각각 ProductCache, MemberCache 에 없는 것만 조회한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class OrderEnrichService {
+
+    private final ProductCache productCache;
+    private final MemberCache memberCache;
+
+    public List<OrdersResponseDto> enrich(final List<Orders> orders) {
+        if (orders.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, ProductResponseDto> products = findProducts(orders.stream()
+                .map(Orders::getProductId)
+                .collect(Collectors.toSet()));
+        Map<Long, MemberResponseDto> members = findMembers(orders.stream()
+                .map(Orders::getMemberId)
+                .collect(Collectors.toSet()));
+
+        return orders.stream()
+                .map(doc -> OrdersResponseDto.entityToDto(doc,
+                        products.get(doc.getProductId()),
+                        members.get(doc.getMemberId())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, ProductResponseDto> findProducts(final Set<Long> productIds) {
+        return productCache.findAllByProductIds(productIds);
+    }
+
+    private Map<Long, MemberResponseDto> findMembers(final Set<Long> memberIds) {
+        return memberCache.findAllByMemberIds(memberIds);
+    }
+}
@@ -0,0 +1,145 @@
+package com.virspit.virspitorder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virspit.virspitorder.dto.request.ExportFormat;
+import com.virspit.virspitorder.dto.response.MemberResponseDto;
+import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.OrderRepository;
+import com.virspit.virspitorder.util.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 주문을 DB 커서로 한 건씩 읽어 CSV/NDJSON 으로 바로 내려보낸다.
+ * 상품/회원 정보는 chunk 단위로 일괄 조회하고, chunk 를 쓸 때마다 영속성 컨텍스트를 비우므로
+ * 전체 주문 수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Slf4j
+@Service
+public class OrderExportService {
+    private static final String[] CSV_HEADER = {
+            "id", "orderDate", "status", "memberId", "memberEmail", "productId", "productTitle", "price", "tokenId", "memo"
+    };
+    private static final LocalDateTime MIN_ORDER_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderRepository orderRepository;
+    private final OrderEnrichService orderEnrichService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              OrderEnrichService orderEnrichService,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper,
+                              @Value("${order.export.chunk-size}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderEnrichService = orderEnrichService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(String startDate, String endDate, ExportFormat format, OutputStream outputStream) throws IOException {
+        StringUtils.validateInputDate(startDate, endDate);
+        LocalDateTime startDateTime = startDate == null ? MIN_ORDER_DATE : StringUtils.parse(startDate, true);
+        LocalDateTime endDateTime = endDate == null ? LocalDateTime.now() : StringUtils.parse(endDate, false);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, CSV_HEADER);
+        }
+
+        long count = 0;
+        try (Stream<Orders> orders = orderRepository.streamByOrderDateBetween(startDateTime, endDateTime)) {
+            List<Orders> chunk = new ArrayList<>(chunkSize);
+            Iterator<Orders> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    count += writeChunk(writer, format, chunk);
+                }
+            }
+            count += writeChunk(writer, format, chunk);
+        }
+        writer.flush();
+        log.info("order export finished. format={}, count={}", format, count);
+    }
+
+    private int writeChunk(Writer writer, ExportFormat format, List<Orders> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        // enrich 는 입력 순서를 유지하므로 같은 인덱스끼리 짝을 맞춘다.
+        List<OrdersResponseDto> enriched = orderEnrichService.enrich(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, toCsvRow(chunk.get(i), enriched.get(i)));
+            } else {
+                writer.write(objectMapper.writeValueAsString(enriched.get(i)));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+
+        int size = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    private String[] toCsvRow(Orders order, OrdersResponseDto dto) {
+        MemberResponseDto member = dto.getMember();
+        ProductResponseDto product = dto.getProduct();
+        return new String[]{
+                String.valueOf(order.getId()),
+                order.getOrderDate() == null ? null : order.getOrderDate().format(StringUtils.FORMATTER),
+                order.getStatus() == null ? null : order.getStatus().name(),
+                String.valueOf(order.getMemberId()),
+                member == null ? null : member.getEmail(),
+                String.valueOf(order.getProductId()),
+                product == null ? null : product.getTitle(),
+                product == null || product.getPrice() == null ? null : String.valueOf(product.getPrice()),
+                order.getTokenId(),
+                order.getMemo()
+        };
+    }
+
+    private void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,318 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.MemberResponseDto;
+import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.entity.OrderStatus;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 접수된(PENDING) 주문을 백그라운드 워커에서 PAYING -> PAID -> MINTING -> COMPLETED/FAILED 순서로 처리한다.
+ * 상태가 바뀔 때마다 주문을 잠그고 짧은 트랜잭션으로 저장하므로 KAS 호출 동안 DB 커넥션을 잡고 있지 않는다.
+ * 트랜잭션 확정을 기다리는 동안에는 워커 스레드도 점유하지 않는다.
+ * 주문 커밋 후(AFTER_COMMIT) 리스너에서도 저장되도록 상태 변경은 항상 새 트랜잭션(REQUIRES_NEW)으로 한다.
+ * 영수증 확인 시간이 초과되면 실패로 보지 않고 PAYMENT_UNKNOWN/MINT_UNKNOWN 으로 두고, reconcile 에서 영수증으로 정산한다.
+ * KAS 가 요청을 거절한 경우(4xx)만 보내지 않은 것으로 보고 실패 처리한다. 트랜잭션을 보낸 뒤의 오류는 모두 결과를 알 수 없는 상태로 둔다.
+ */
+@Slf4j
+@Component
+public class OrderProcessor {
+
+    private static final String TOPIC_NAME = "order";
+    private static final List<OrderStatus> PAID_STATUSES = List.of(OrderStatus.PAID, OrderStatus.MINTING, OrderStatus.MINT_UNKNOWN);
+
+    private final OrderRepository orderRepository;
+    private final NftService nftService;
+    private final ProductCache productCache;
+    private final MemberCache memberCache;
+    private final KafkaOrderProducer kafkaOrderProducer;
+    private final SalesStatisticsService salesStatisticsService;
+    private final StockAdmissionService stockAdmissionService;
+    private final RefundService refundService;
+    private final TransactionReceiptPoller receiptPoller;
+    private final TaskExecutor orderExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderProcessor(OrderRepository orderRepository,
+                          NftService nftService,
+                          ProductCache productCache,
+                          MemberCache memberCache,
+                          KafkaOrderProducer kafkaOrderProducer,
+                          SalesStatisticsService salesStatisticsService,
+                          StockAdmissionService stockAdmissionService,
+                          RefundService refundService,
+                          TransactionReceiptPoller receiptPoller,
+                          @Qualifier("orderExecutor") TaskExecutor orderExecutor,
+                          TransactionTemplate transactionTemplate) {
+        this.orderRepository = orderRepository;
+        this.nftService = nftService;
+        this.productCache = productCache;
+        this.memberCache = memberCache;
+        this.kafkaOrderProducer = kafkaOrderProducer;
+        this.salesStatisticsService = salesStatisticsService;
+        this.stockAdmissionService = stockAdmissionService;
+        this.refundService = refundService;
+        this.receiptPoller = receiptPoller;
+        this.orderExecutor = orderExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (!dispatch(event.getOrderId())) {
+            fail(event.getOrderId(), "주문이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.", null);
+        }
+    }
+
+    // 워커 큐가 가득 차면 false 를 돌려준다.
+    public boolean dispatch(Long orderId) {
+        try {
+            orderExecutor.execute(() -> process(orderId));
+            return true;
+        } catch (TaskRejectedException e) {
+            log.error("order worker queue is full. orderId={}", orderId, e);
+            return false;
+        }
+    }
+
+    void process(Long orderId) {
+        Orders order = update(orderId, Orders::paying, OrderStatus.PENDING).orElse(null);
+        if (order == null) {
+            log.warn("skip order process. orderId={}", orderId);
+            return;
+        }
+
+        // 지불을 보내기 전의 오류는 보내지 않은 것이 확실하므로 실패 처리한다.
+        ProductResponseDto product = null;
+        try {
+            product = productCache.findByProductId(order.getProductId());
+        } catch (Exception e) {
+            log.error("product lookup failed. orderId={}, productId={}", orderId, order.getProductId(), e);
+        }
+        if (product == null) {
+            fail(orderId, "product 정보를 가져오지 못했습니다.", null);
+            return;
+        }
+
+        String transactionHash;
+        try {
+            transactionHash = nftService.requestPayment(product.getPrice(), order.getMemberAddress());
+        } catch (Exception e) {
+            requestFailed(orderId, product, e, "클레이 지불 과정에서 오류가 발생했습니다. 잔액을 확인해 주세요.");
+            return;
+        }
+        recordTransactionHash(orderId, transactionHash, Orders::paymentRequested, OrderStatus.PAYING, OrderStatus.PAYMENT_UNKNOWN);
+
+        // 트랜잭션 확정은 TransactionReceiptPoller 가 기다리고, 이후 단계는 다시 워커에서 이어서 처리
+        ProductResponseDto orderedProduct = product;
+        receiptPoller.watch(transactionHash)
+                .thenAcceptAsync(committed -> onPaymentSettled(orderId, orderedProduct, committed), orderExecutor)
+                .exceptionally(e -> {
+                    handleFailure(orderId, e);
+                    return null;
+                });
+    }
+
+    /**
+     * 영수증 확인 시간이 초과된 주문을 영수증으로 정산한다. 아직 확정 전이면 다음에 다시 확인한다.
+     * 해시를 기록하기 전에 멈춘 주문은 보냈는지 알 수 없으므로 정산하지 않는다.
+     */
+    public void reconcile(Long orderId) {
+        Orders order = orderRepository.findById(orderId).orElse(null);
+        String transactionHash = order == null ? null : order.reconcileTransactionHash();
+        if (transactionHash == null) {
+            return;
+        }
+        Boolean committed = receiptPoller.lookup(transactionHash);
+        if (committed == null) {
+            log.info("transaction not settled yet. orderId={}, transactionHash={}", orderId, transactionHash);
+            return;
+        }
+        ProductResponseDto product = productCache.findByProductId(order.getProductId());
+        if (product == null) {
+            log.warn("product lookup failed. orderId={}, productId={}", orderId, order.getProductId());
+            return;
+        }
+
+        log.info("reconcile order. orderId={}, status={}, committed={}", orderId, order.getStatus(), committed);
+        try {
+            if (order.getStatus() == OrderStatus.PAYMENT_UNKNOWN) {
+                onPaymentSettled(orderId, product, committed);
+            } else {
+                onMintSettled(orderId, product, transactionHash, committed);
+            }
+        } catch (Exception e) {
+            handleFailure(orderId, e);
+        }
+    }
+
+    // 처리 중에 멈춘 주문을 영수증으로 정산하도록 넘긴다. 조회한 뒤 다음 단계로 넘어간 주문은 건드리지 않는다.
+    public void markUnknown(Long orderId, LocalDateTime changedBefore) {
+        transactionTemplate.executeWithoutResult(status -> orderRepository.findByIdForUpdate(orderId)
+                .filter(order -> order.getStatus() == OrderStatus.PAYING || order.getStatus() == OrderStatus.MINTING)
+                .filter(order -> order.isStatusChangedBefore(changedBefore))
+                .ifPresent(order -> {
+                    order.unknown("처리가 중단되어 KAS 트랜잭션 결과를 확인 중입니다.");
+                    log.warn("stale order marked {}. orderId={}", order.getStatus(), orderId);
+                }));
+    }
+
+    private void onPaymentSettled(Long orderId, ProductResponseDto product, boolean committed) {
+        if (!committed) {
+            fail(orderId, "클레이 지불 과정에서 오류가 발생했습니다.", product);
+            return;
+        }
+
+        // 지불 확인과 발행 시작을 한 트랜잭션으로 커밋한 뒤에 발행을 보낸다.
+        Orders order = update(orderId, paid -> {
+            paid.paid();
+            paid.minting();
+        }, OrderStatus.PAYING, OrderStatus.PAYMENT_UNKNOWN).orElse(null);
+        if (order == null) {
+            return;
+        }
+
+        if (product.getNftInfo() == null) {
+            fail(orderId, "product 의 NFT 정보가 없습니다.", product);
+            return;
+        }
+
+        String transactionHash;
+        try {
+            transactionHash = nftService.requestMint(order.getMemberAddress(), product.getNftInfo().getMetadataUri(), product.getNftInfo().getContractAlias());
+        } catch (Exception e) {
+            requestFailed(orderId, product, e, "KAS API - 토큰 발행 요청이 거절되었습니다.");
+            return;
+        }
+        recordTransactionHash(orderId, transactionHash, Orders::mintRequested, OrderStatus.MINTING, OrderStatus.MINT_UNKNOWN);
+
+        receiptPoller.watch(transactionHash)
+                .thenAcceptAsync(minted -> onMintSettled(orderId, product, transactionHash, minted), orderExecutor)
+                .exceptionally(e -> {
+                    handleFailure(orderId, e);
+                    return null;
+                });
+    }
+
+    private void onMintSettled(Long orderId, ProductResponseDto product, String tokenId, boolean committed) {
+        if (!committed) {
+            fail(orderId, "KAS API - 토큰 발행이 되지 않았습니다.", product);
+            return;
+        }
+        Orders order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || order.isDone()) {
+            return;
+        }
+        MemberResponseDto member = null;
+        try {
+            member = memberCache.findByMemberId(order.getMemberId());
+        } catch (Exception e) {
+            log.warn("member lookup failed. orderId={}, memberId={}", orderId, order.getMemberId(), e);
+        }
+        MemberResponseDto orderedMember = member;
+
+        // 완료 상태, 판매 통계, 주문 이벤트(outbox)는 한 트랜잭션으로 저장
+        update(orderId, minted -> {
+            minted.complete(tokenId);
+            salesStatisticsService.record(minted, product);
+            kafkaOrderProducer.sendOrder(TOPIC_NAME, OrdersResponseDto.entityToDto(minted, product, orderedMember));
+        }, OrderStatus.MINTING, OrderStatus.MINT_UNKNOWN);
+    }
+
+    // 트랜잭션을 보낸 뒤의 오류. 보낸 트랜잭션이 나중에 확정될 수 있으므로 실패로 보지 않는다.
+    private void handleFailure(Long orderId, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            log.warn("order transaction receipt timeout. orderId={}", orderId);
+            unknown(orderId, "KAS 트랜잭션 확인 시간이 초과되었습니다.");
+            return;
+        }
+        log.error("order process failed after transaction was sent. orderId={}", orderId, cause);
+        unknown(orderId, "처리 중 오류가 발생해 KAS 트랜잭션 결과를 확인 중입니다.");
+    }
+
+    // KAS 가 요청을 받지 않은 경우(4xx)만 실패 처리한다. 그 외 오류는 전송됐을 수 있으므로 재고와 환불을 건드리지 않는다.
+    private void requestFailed(Long orderId, ProductResponseDto product, Exception e, String rejectedReason) {
+        if (e instanceof ApiException && isRejected((ApiException) e)) {
+            log.warn("kas request rejected. orderId={}", orderId, e);
+            fail(orderId, rejectedReason, product);
+            return;
+        }
+        log.error("kas request result unknown. orderId={}", orderId, e);
+        unknown(orderId, "KAS 요청 결과를 알 수 없어 수동 확인이 필요합니다.");
+    }
+
+    private boolean isRejected(ApiException e) {
+        return e.getCode() >= 400 && e.getCode() < 500;
+    }
+
+    // 보낸 트랜잭션의 해시를 가장 먼저 기록해서 reconcile 이 영수증으로 정산할 수 있게 한다.
+    // 그 사이 결과를 알 수 없는 상태로 바뀐 주문에도 기록한다. 기록하지 못하면 로그와 실패 사유에 해시를 남긴다.
+    private void recordTransactionHash(Long orderId, String transactionHash, BiConsumer<Orders, String> record, OrderStatus... expected) {
+        try {
+            if (update(orderId, order -> record.accept(order, transactionHash), expected).isEmpty()) {
+                log.warn("order status changed before recording transaction. orderId={}, transactionHash={}", orderId, transactionHash);
+            }
+        } catch (Exception e) {
+            log.error("transaction hash not recorded. orderId={}, transactionHash={}", orderId, transactionHash, e);
+            unknown(orderId, "KAS 트랜잭션 해시를 기록하지 못했습니다. transactionHash=" + transactionHash);
+        }
+    }
+
+    // 처리 중인 주문을 결과를 알 수 없는 상태로 둔다. 저장하지 못해도 OrderRecoveryWorker 가 나중에 다시 바꾼다.
+    private void unknown(Long orderId, String reason) {
+        try {
+            update(orderId, order -> order.unknown(reason), OrderStatus.PAYING, OrderStatus.MINTING)
+                    .ifPresent(order -> log.warn("order marked {}. orderId={}, reason={}", order.getStatus(), orderId, reason));
+        } catch (Exception e) {
+            log.error("order unknown update failed. orderId={}", orderId, e);
+        }
+    }
+
+    // 실패한 주문이 예약했던 재고는 다음 구매자가 쓸 수 있도록 되돌린다.
+    // 이미 지불한 주문은 환불 작업을 같이 저장하고, 실제 환불은 RefundWorker 가 보낸다.
+    private void fail(Long orderId, String reason, ProductResponseDto product) {
+        transactionTemplate.executeWithoutResult(status -> orderRepository.findByIdForUpdate(orderId)
+                .filter(order -> !order.isDone())
+                .ifPresent(order -> {
+                    boolean paid = PAID_STATUSES.contains(order.getStatus());
+                    order.fail(reason);
+                    stockAdmissionService.release(order.getProductId());
+                    if (paid && product != null) {
+                        refundService.request(order, product.getPrice());
+                    }
+                }));
+    }
+
+    // 주문을 잠그고 expected 상태일 때만 바꾼다. 다른 워커나 정산이 먼저 바꿨으면 빈 값을 돌려준다.
+    private Optional<Orders> update(Long orderId, Consumer<Orders> change, OrderStatus... expected) {
+        List<OrderStatus> expectedStatuses = Arrays.asList(expected);
+        return Optional.ofNullable(transactionTemplate.execute(status -> orderRepository.findByIdForUpdate(orderId)
+                .filter(order -> expectedStatuses.contains(order.getStatus()))
+                .map(order -> {
+                    change.accept(order);
+                    return order;
+                })
+                .orElse(null)));
+    }
+}
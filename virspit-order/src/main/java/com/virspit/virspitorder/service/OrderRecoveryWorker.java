@@ -0,0 +1,99 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.OrderStatus;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재시작이나 큐 거절로 워커에서 사라진 주문을 다시 처리한다.
+ * 오래된 주문은 주문 시각이 아니라 마지막으로 상태가 바뀐 시각(statusChangedAt)으로 판단한다.
+ * stale-pending-ms 가 지나도록 PENDING 인 주문을 다시 워커에 넘긴다.
+ * PENDING 은 아직 지불을 보내지 않은 주문이고, 지불 시작은 OrderProcessor 가 잠금으로 한 번만 한다.
+ * stale-processing-ms 가 지나도록 지불/발행 중인 주문은 결과 미확인으로 넘기고,
+ * 결과 미확인 주문은 다시 보내지 않고 기록된 트랜잭션의 영수증으로 정산한다.
+ */
+@Slf4j
+@Component
+public class OrderRecoveryWorker {
+
+    private static final List<OrderStatus> PENDING_STATUSES = List.of(OrderStatus.PENDING);
+    private static final List<OrderStatus> PROCESSING_STATUSES = List.of(OrderStatus.PAYING, OrderStatus.MINTING);
+
+    private final OrderRepository orderRepository;
+    private final OrderProcessor orderProcessor;
+    private final TaskScheduler orderRecoveryScheduler;
+    private final long intervalMillis;
+    private final long stalePendingMillis;
+    private final long staleProcessingMillis;
+    private final int batchSize;
+
+    public OrderRecoveryWorker(OrderRepository orderRepository,
+                               OrderProcessor orderProcessor,
+                               @Qualifier("orderRecoveryScheduler") TaskScheduler orderRecoveryScheduler,
+                               @Value("${order.recovery.interval-ms}") long intervalMillis,
+                               @Value("${order.recovery.stale-pending-ms}") long stalePendingMillis,
+                               @Value("${order.recovery.stale-processing-ms}") long staleProcessingMillis,
+                               @Value("${order.recovery.batch-size}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderProcessor = orderProcessor;
+        this.orderRecoveryScheduler = orderRecoveryScheduler;
+        this.intervalMillis = intervalMillis;
+        this.stalePendingMillis = stalePendingMillis;
+        this.staleProcessingMillis = staleProcessingMillis;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        orderRecoveryScheduler.scheduleWithFixedDelay(this::recover, Duration.ofMillis(intervalMillis));
+    }
+
+    void recover() {
+        try {
+            reconcile();
+            markStaleProcessing();
+            redispatchStalePending();
+        } catch (Exception e) {
+            log.error("order recovery failed", e);
+        }
+    }
+
+    private void reconcile() {
+        for (Orders order : orderRepository.findReconcilable(PageRequest.of(0, batchSize))) {
+            try {
+                orderProcessor.reconcile(order.getId());
+            } catch (Exception e) {
+                log.error("order reconcile failed. orderId={}", order.getId(), e);
+            }
+        }
+    }
+
+    private void markStaleProcessing() {
+        LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(staleProcessingMillis));
+        for (Orders order : orderRepository.findByStatusInAndStatusChangedAtBefore(PROCESSING_STATUSES, before, PageRequest.of(0, batchSize))) {
+            orderProcessor.markUnknown(order.getId(), before);
+        }
+    }
+
+    private void redispatchStalePending() {
+        LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(stalePendingMillis));
+        for (Orders order : orderRepository.findByStatusInAndStatusChangedAtBefore(PENDING_STATUSES, before, PageRequest.of(0, batchSize))) {
+            log.info("redispatch stale pending order. orderId={}", order.getId());
+            if (!orderProcessor.dispatch(order.getId())) {
+                // 워커 큐가 가득 찼으면 다음 주기에 다시 넘긴다.
+                return;
+            }
+        }
+    }
+}
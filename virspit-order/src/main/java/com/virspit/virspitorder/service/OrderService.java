@@ -1,40 +1,43 @@
 package com.virspit.virspitorder.service;
 
 import com.virspit.virspitorder.dto.request.OrderMemoRequestDto;
+import com.virspit.virspitorder.dto.response.CursorPagingResponseDto;
 import com.virspit.virspitorder.dto.response.OrdersResponseDto;
 import com.virspit.virspitorder.dto.response.ProductResponseDto;
 import com.virspit.virspitorder.entity.Orders;
-import com.virspit.virspitorder.feign.MemberServiceFeignClient;
-import com.virspit.virspitorder.feign.ProductServiceFeignClient;
 import com.virspit.virspitorder.response.error.ErrorCode;
 import com.virspit.virspitorder.response.error.exception.BusinessException;
 import com.virspit.virspitorder.repository.OrderRepository;
-import com.virspit.virspitorder.response.result.SuccessResponse;
+import com.virspit.virspitorder.util.OrderCursor;
 import com.virspit.virspitorder.util.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class OrderService {
+    private static final LocalDateTime MIN_ORDER_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
-    private static final String TOPIC_NAME = "order";
-
-    private final NftService nftService;
     private final OrderRepository orderRepository;
-    private final MemberServiceFeignClient memberServiceFeignClient;
-    private final ProductServiceFeignClient productServiceFeignClient;
-    private final KafkaOrderProducer kafkaOrderProducer;
+    private final MemberCache memberCache;
+    private final ProductCache productCache;
+    private final OrderEnrichService orderEnrichService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final StockAdmissionService stockAdmissionService;
 
     @Transactional(readOnly = true)
     public List<OrdersResponseDto> getAll(String startDate, String endDate, Pageable pageable) {
@@ -54,30 +57,15 @@ public class OrderService {
             endDateTime = StringUtils.parse(endDate, false);
         }
 
-        return orderRepository.findByOrderDateBetween(
+        return orderEnrichService.enrich(orderRepository.findByOrderDateBetween(
                 StringUtils.parse(startDate, true),
                 endDateTime,
                 pageable)
-                .stream()
-                .map(doc -> OrdersResponseDto.entityToDto(doc,
-                        Optional.ofNullable(productServiceFeignClient.findByProductId(doc.getProductId()))
-                                .map(SuccessResponse::getData)
-                                .orElse(null),
-                        Optional.ofNullable(memberServiceFeignClient.findByMemberId(doc.getMemberId()))
-                                .orElse(null)))
-                .collect(Collectors.toList());
+                .getContent());
     }
 
     private List<OrdersResponseDto> findAll(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .stream()
-                .map(doc -> OrdersResponseDto.entityToDto(doc,
-                        Optional.ofNullable(productServiceFeignClient.findByProductId(doc.getProductId()))
-                                .map(SuccessResponse::getData)
-                                .orElse(null),
-                        Optional.ofNullable(memberServiceFeignClient.findByMemberId(doc.getMemberId()))
-                                .orElse(null)))
-                .collect(Collectors.toList());
+        return orderEnrichService.enrich(orderRepository.findAll(pageable).getContent());
     }
 
     @Transactional(readOnly = true)
@@ -85,68 +73,141 @@ public class OrderService {
         StringUtils.validateInputDate(startDate, endDate);
 
         if (startDate == null && endDate == null) {
-            return orderRepository.findByMemberId(memberId, pageable)
-                    .stream()
-                    .map(doc -> OrdersResponseDto.entityToDto(doc,
-                            Optional.ofNullable(productServiceFeignClient.findByProductId(doc.getProductId()))
-                                    .map(SuccessResponse::getData)
-                                    .orElse(null),
-                            Optional.ofNullable(memberServiceFeignClient.findByMemberId(doc.getMemberId()))
-                                    .orElse(null)))
-                    .collect(Collectors.toList());
+            return orderEnrichService.enrich(orderRepository.findByMemberId(memberId, pageable).getContent());
         }
         if (startDate == null || endDate == null) {
             throw new BusinessException("startDate, endDate 를 정확히 입력해주세요.", ErrorCode.INVALID_INPUT_VALUE);
         }
-        return orderRepository.findByMemberIdAndOrderDateBetween(
+        return orderEnrichService.enrich(orderRepository.findByMemberIdAndOrderDateBetween(
                 memberId,
                 StringUtils.parse(startDate, true),
                 StringUtils.parse(endDate, false),
                 pageable)
-                .stream()
-                .map(doc -> OrdersResponseDto.entityToDto(doc,
-                        Optional.ofNullable(productServiceFeignClient.findByProductId(doc.getProductId()))
-                                .map(SuccessResponse::getData)
-                                .orElse(null),
-                        Optional.ofNullable(memberServiceFeignClient.findByMemberId(doc.getMemberId()))
-                                .orElse(null)))
-                .collect(Collectors.toList());
+                .getContent());
     }
 
-    @Transactional
-    public OrdersResponseDto order(Long memberId, Long productId) throws ApiException {
-        String memberWalletAddress = memberServiceFeignClient.findWalletByMemberId(memberId);
-        if (memberWalletAddress.isBlank() || memberWalletAddress == null) {
+    @Transactional(readOnly = true)
+    public CursorPagingResponseDto<OrdersResponseDto> getAllByCursor(String startDate, String endDate, String cursor, int size, boolean withCount) {
+        return getByCursor(null, startDate, endDate, cursor, size, withCount);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPagingResponseDto<OrdersResponseDto> getAllByMemberCursor(Long memberId, String startDate, String endDate, String cursor, int size, boolean withCount) {
+        return getByCursor(memberId, startDate, endDate, cursor, size, withCount);
+    }
+
+    // OFFSET, COUNT 없이 (orderDate, id) 인덱스를 따라 읽으므로 페이지 깊이와 상관없이 일정한 시간이 걸린다.
+    private CursorPagingResponseDto<OrdersResponseDto> getByCursor(Long memberId, String startDate, String endDate, String cursor, int size, boolean withCount) {
+        StringUtils.validateInputDate(startDate, endDate);
+
+        LocalDateTime startDateTime = startDate == null ? MIN_ORDER_DATE : StringUtils.parse(startDate, true);
+        LocalDateTime endDateTime = endDate == null ? LocalDateTime.now() : StringUtils.parse(endDate, false);
+
+        OrderCursor orderCursor = cursor == null ? OrderCursor.first(endDateTime) : OrderCursor.decode(cursor);
+        if (orderCursor.getOrderDate().isAfter(endDateTime)) {
+            orderCursor = OrderCursor.first(endDateTime);
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        // 한 건 더 읽어서 다음 페이지가 있는지 판단
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Orders> orders = memberId == null
+                ? orderRepository.findNextPage(startDateTime, orderCursor.getOrderDate(), orderCursor.getId(), limit)
+                : orderRepository.findNextPageByMemberId(memberId, startDateTime, orderCursor.getOrderDate(), orderCursor.getId(), limit);
+
+        boolean hasNext = orders.size() > pageSize;
+        if (hasNext) {
+            orders = orders.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+
+        Long totalCount = null;
+        if (withCount) {
+            totalCount = memberId == null
+                    ? orderRepository.countByOrderDateBetween(startDateTime, endDateTime)
+                    : orderRepository.countByMemberIdAndOrderDateBetween(memberId, startDateTime, endDateTime);
+        }
+
+        return new CursorPagingResponseDto<>(totalCount, nextCursor, hasNext, orderEnrichService.enrich(orders));
+    }
+
+    /**
+     * 같은 회원이 같은 Idempotency-Key 로 다시 요청하면 새로 주문하지 않고 처음 접수된 주문을 돌려준다.
+     * 처음 요청이 아직 처리 중이면 PENDING/PAID/MINTING 상태가, 끝났으면 최종 상태가 그대로 내려간다.
+     */
+    public OrdersResponseDto order(Long memberId, Long productId, String idempotencyKey) {
+        validateIdempotencyKey(idempotencyKey);
+        if (idempotencyKey != null) {
+            Optional<Orders> placed = orderRepository.findByMemberIdAndIdempotencyKey(memberId, idempotencyKey);
+            if (placed.isPresent()) {
+                return replay(placed.get(), productId);
+            }
+        }
+
+        if (stockAdmissionService.isSoldOut(productId)) {
+            throw new BusinessException("품절된 상품입니다.", ErrorCode.SOLD_OUT);
+        }
+
+        String memberWalletAddress = memberCache.findWalletByMemberId(memberId);
+        if (memberWalletAddress == null || memberWalletAddress.isBlank()) {
             throw new BusinessException("member wallet 정보를 가져오지 못했습니다.", ErrorCode.ENTITY_NOT_FOUND);
         }
 
-        ProductResponseDto product = Optional.ofNullable(productServiceFeignClient.findByProductId(productId))
-                .map(SuccessResponse::getData)
-                .orElse(null);
+        ProductResponseDto product = productCache.findByProductId(productId);
         if (product == null) {
             throw new BusinessException("product 정보를 가져오지 못했습니다.", ErrorCode.ENTITY_NOT_FOUND);
         }
+        if (!product.isPublished()) {
+            throw new BusinessException("등록이 끝나지 않은 상품입니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+        long remainedCount = product.getRemainedCount() == null ? 0 : product.getRemainedCount();
+        long stockRevision = product.getStockRevision() == null ? 0 : product.getStockRevision();
+
+        Orders saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                // 재고를 먼저 예약한 주문만 결제/토큰 발행 단계로 넘어간다.
+                if (!stockAdmissionService.tryReserve(productId, remainedCount, stockRevision)) {
+                    throw new BusinessException("품절된 상품입니다.", ErrorCode.SOLD_OUT);
+                }
+                Orders orders = orderRepository.save(Orders.placed(memberId, productId, memberWalletAddress, idempotencyKey));
+                // 결제, 토큰 발행은 커밋 이후 OrderProcessor 에서 처리
+                eventPublisher.publishEvent(new OrderPlacedEvent(orders.getId()));
+                return orders;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            // 같은 키의 요청이 동시에 들어와 먼저 저장된 주문이 있는 경우
+            return replay(orderRepository.findByMemberIdAndIdempotencyKey(memberId, idempotencyKey)
+                    .orElseThrow(() -> e), productId);
+        }
+
+        return OrdersResponseDto.entityToDto(saved, product, memberCache.findByMemberId(saved.getMemberId()));
+    }
 
-        if (!nftService.payToAdminFeesByCustomer(product.getPrice(), memberWalletAddress)) {
-            throw new BusinessException("클레이 지불 과정에서 오류가 발생했습니다.", ErrorCode.INTERNAL_SERVER_ERROR);
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > Orders.IDEMPOTENCY_KEY_LENGTH)) {
+            throw new BusinessException(
+                    String.format("Idempotency-Key 는 1~%d 자로 입력해주세요.", Orders.IDEMPOTENCY_KEY_LENGTH),
+                    ErrorCode.INVALID_INPUT_VALUE);
         }
+    }
 
-        String tokenId = nftService.issueToken(memberWalletAddress, product.getNftInfo().getMetadataUri(), product.getNftInfo().getContractAlias());
-        if (tokenId == null) {
-            nftService.rollBackSendKlay(product.getPrice(), memberWalletAddress);
-            throw new BusinessException("KAS API - 토큰 발행이 되지 않았습니다.", ErrorCode.INTERNAL_SERVER_ERROR);
+    private OrdersResponseDto replay(Orders orders, Long productId) {
+        if (!orders.getProductId().equals(productId)) {
+            throw new BusinessException("같은 Idempotency-Key 로 다른 상품을 주문할 수 없습니다.", ErrorCode.INVALID_INPUT_VALUE);
         }
+        log.info("replay order. orderId={}, idempotencyKey={}", orders.getId(), orders.getIdempotencyKey());
+        return orderEnrichService.enrich(List.of(orders)).get(0);
+    }
 
-        Orders orders = new Orders(memberId, productId, memberWalletAddress, tokenId);
-        Orders saved = orderRepository.save(orders);
-        OrdersResponseDto dto = OrdersResponseDto.entityToDto(
-                saved,
-                product,
-                Optional.ofNullable(memberServiceFeignClient.findByMemberId(saved.getMemberId())).
-                        orElse(null));
-        // kafka send
-        kafkaOrderProducer.sendOrder(TOPIC_NAME, dto);
-        return dto;
+    @Transactional(readOnly = true)
+    public OrdersResponseDto getOrder(Long orderId) {
+        Orders orders = orderRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessException("해당 orderId가 없습니다.", ErrorCode.ENTITY_NOT_FOUND));
+        return orderEnrichService.enrich(List.of(orders)).get(0);
     }
 
     @Transactional
@@ -154,10 +215,7 @@ public class OrderService {
         Orders orders = orderRepository.findById(requestDto.getOrderId())
                 .orElseThrow(() -> new BusinessException("해당 orderId가 없습니다.", ErrorCode.ENTITY_NOT_FOUND));
         orders.updateMemo(requestDto.getMemo());
-        return OrdersResponseDto.entityToDto(orders, Optional.ofNullable(productServiceFeignClient.findByProductId(orders.getProductId()))
-                        .map(SuccessResponse::getData)
-                        .orElse(null),
-                Optional.ofNullable(memberServiceFeignClient.findByMemberId(orders.getMemberId()))
-                        .orElse(null));
+        return OrdersResponseDto.entityToDto(orders, productCache.findByProductId(orders.getProductId()),
+                memberCache.findByMemberId(orders.getMemberId()));
     }
 }
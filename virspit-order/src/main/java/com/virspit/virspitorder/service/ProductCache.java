@@ -0,0 +1,87 @@
+package com.virspit.virspitorder.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.feign.ProductServiceFeignClient;
+import com.virspit.virspitorder.response.result.SuccessResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 상품 서비스 조회 결과를 담아두는 near-cache.
+ * TTL 과 최대 개수로 제한하고, product 토픽의 변경 이벤트를 받으면 해당 상품을 바로 비운다.
+ * 적중률은 cache.gets{cache=product} 등의 메트릭으로 확인한다.
+ */
+@Slf4j
+@Component
+public class ProductCache {
+    private static final String CACHE_NAME = "product";
+
+    private final ProductServiceFeignClient productServiceFeignClient;
+    private final Cache<Long, ProductResponseDto> cache;
+
+    public ProductCache(ProductServiceFeignClient productServiceFeignClient,
+                        MeterRegistry meterRegistry,
+                        @Value("${order.product-cache.ttl-seconds}") long ttlSeconds,
+                        @Value("${order.product-cache.maximum-size}") long maximumSize) {
+        this.productServiceFeignClient = productServiceFeignClient;
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // 없는 상품은 캐시하지 않고 null 을 돌려준다.
+    public ProductResponseDto findByProductId(Long productId) {
+        ProductResponseDto cached = cache.getIfPresent(productId);
+        if (cached != null) {
+            return cached;
+        }
+        ProductResponseDto product = Optional.ofNullable(productServiceFeignClient.findByProductId(productId))
+                .map(SuccessResponse::getData)
+                .orElse(null);
+        if (product != null) {
+            cache.put(productId, product);
+        }
+        return product;
+    }
+
+    // 캐시에 없는 상품만 모아서 한 번에 조회한다.
+    public Map<Long, ProductResponseDto> findAllByProductIds(Collection<Long> productIds) {
+        Map<Long, ProductResponseDto> products = new HashMap<>(cache.getAllPresent(productIds));
+        Set<Long> missed = new HashSet<>(productIds);
+        missed.removeAll(products.keySet());
+        if (missed.isEmpty()) {
+            return products;
+        }
+
+        List<ProductResponseDto> fetched = Optional.ofNullable(productServiceFeignClient.findAllByProductIds(missed))
+                .map(SuccessResponse::getData)
+                .orElse(Collections.emptyList());
+        for (ProductResponseDto product : fetched) {
+            cache.put(product.getId(), product);
+            products.putIfAbsent(product.getId(), product);
+        }
+        return products;
+    }
+
+    public void invalidate(Long productId) {
+        cache.invalidate(productId);
+    }
+}
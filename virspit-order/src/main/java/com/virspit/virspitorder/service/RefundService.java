@@ -0,0 +1,25 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.entity.Refund;
+import com.virspit.virspitorder.repository.RefundRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RefundService {
+
+    private final RefundRepository refundRepository;
+
+    // 주문 실패와 같은 트랜잭션에 저장해서, 실패로 남은 주문은 반드시 환불 작업을 갖게 한다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void request(Orders order, Integer price) {
+        log.info("refund requested. orderId={}, price={}", order.getId(), price);
+        refundRepository.save(new Refund(order.getId(), order.getMemberAddress(), price));
+    }
+}
@@ -0,0 +1,234 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.Refund;
+import com.virspit.virspitorder.entity.RefundStatus;
+import com.virspit.virspitorder.repository.RefundRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 환불 작업을 주문 처리와 분리된 스레드에서 보낸다.
+ * PENDING 은 먼저 SUBMITTING 으로 시도를 커밋한 뒤 환불 트랜잭션을 보내고, 해시를 다른 트랜잭션에서 SUBMITTED 로 기록한다.
+ * SUBMITTED 는 영수증을 확인하고, KAS 가 요청을 거절했거나 트랜잭션이 실패하면 지수 백오프로 재시도한다.
+ * max-attempts 를 넘으면 FAILED 로 남긴다.
+ * 보냈는지 알 수 없는 환불(전송 중 오류, 해시를 기록하지 못한 SUBMITTING)은 이중 환불을 막기 위해 다시 보내지 않고 UNKNOWN 으로 남긴다.
+ * 영수증 확인 시간이 초과된 환불도 다시 보내지 않고 영수증만 다시 확인한다.
+ * 상태별 환불 건수는 order.refunds{status=...} 게이지로 확인한다.
+ */
+@Slf4j
+@Component
+public class RefundWorker {
+
+    private static final List<RefundStatus> DUE_STATUSES = List.of(RefundStatus.PENDING, RefundStatus.SUBMITTING, RefundStatus.SUBMITTED);
+
+    private final RefundRepository refundRepository;
+    private final NftService nftService;
+    private final TransactionReceiptPoller receiptPoller;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler refundWorkerScheduler;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final long watchMillis;
+    private final Counter failedCounter;
+    private final Counter unknownCounter;
+
+    public RefundWorker(RefundRepository refundRepository,
+                        NftService nftService,
+                        TransactionReceiptPoller receiptPoller,
+                        TransactionTemplate transactionTemplate,
+                        @Qualifier("refundWorkerScheduler") TaskScheduler refundWorkerScheduler,
+                        MeterRegistry meterRegistry,
+                        @Value("${order.refund.interval-ms}") long intervalMillis,
+                        @Value("${order.refund.batch-size}") int batchSize,
+                        @Value("${order.refund.max-attempts}") int maxAttempts,
+                        @Value("${order.refund.backoff-ms}") long backoffMillis,
+                        @Value("${order.refund.max-backoff-ms}") long maxBackoffMillis,
+                        @Value("${kas.receipt.timeout-ms}") long receiptTimeoutMillis) {
+        this.refundRepository = refundRepository;
+        this.nftService = nftService;
+        this.receiptPoller = receiptPoller;
+        this.transactionTemplate = transactionTemplate;
+        this.refundWorkerScheduler = refundWorkerScheduler;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        // 영수증 확인이 끝나기 전에 다시 가져가지 않도록 여유를 둔다.
+        this.watchMillis = receiptTimeoutMillis + intervalMillis;
+        this.failedCounter = Counter.builder("order.refunds.failed")
+                .description("재시도 횟수를 넘겨 수동 처리가 필요한 환불")
+                .register(meterRegistry);
+        this.unknownCounter = Counter.builder("order.refunds.unknown")
+                .description("전송 여부를 알 수 없어 수동 확인이 필요한 환불")
+                .register(meterRegistry);
+        for (RefundStatus status : RefundStatus.values()) {
+            Gauge.builder("order.refunds", refundRepository, repository -> repository.countByStatus(status))
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        refundWorkerScheduler.scheduleWithFixedDelay(this::drain, Duration.ofMillis(intervalMillis));
+    }
+
+    void drain() {
+        try {
+            while (process() == batchSize) {
+                log.debug("refund worker continues");
+            }
+        } catch (Exception e) {
+            log.error("refund worker failed", e);
+        }
+    }
+
+    int process() {
+        List<Long> submitting = new ArrayList<>();
+        List<Refund> watching = new ArrayList<>();
+        Integer processed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime watchUntil = now.plus(Duration.ofMillis(watchMillis));
+            List<Refund> refunds = refundRepository.findDue(DUE_STATUSES, now, PageRequest.of(0, batchSize));
+            for (Refund refund : refunds) {
+                if (refund.getStatus() == RefundStatus.PENDING) {
+                    refund.submitting(watchUntil);
+                    submitting.add(refund.getId());
+                } else if (refund.getStatus() == RefundStatus.SUBMITTING) {
+                    // 전송 결과를 기록하기 전에 멈춘 환불. 이미 보냈을 수 있으므로 다시 보내지 않는다.
+                    unknown(refund, "환불 전송 결과를 기록하지 못했습니다.");
+                } else {
+                    refund.watching(watchUntil);
+                    watching.add(refund);
+                }
+            }
+            return refunds.size();
+        });
+
+        // 시도 기록이 커밋된 뒤에 보낸다.
+        for (Long refundId : submitting) {
+            submit(refundId).ifPresent(watching::add);
+        }
+
+        for (Refund refund : watching) {
+            Long refundId = refund.getId();
+            String transactionHash = refund.getTransactionHash();
+            receiptPoller.watch(transactionHash)
+                    .whenComplete((committed, e) -> settle(refundId, transactionHash, committed, e));
+        }
+        return processed == null ? 0 : processed;
+    }
+
+    private Optional<Refund> submit(Long refundId) {
+        Refund refund = refundRepository.findById(refundId).orElse(null);
+        if (refund == null || refund.getStatus() != RefundStatus.SUBMITTING) {
+            return Optional.empty();
+        }
+
+        String transactionHash;
+        try {
+            transactionHash = nftService.rollBackSendKlay(refund.getPrice(), refund.getMemberAddress());
+        } catch (ApiException e) {
+            if (isRejected(e)) {
+                log.warn("refund submit rejected. orderId={}, attempts={}", refund.getOrderId(), refund.getAttempts(), e);
+                update(refundId, submitting -> retry(submitting, "환불 트랜잭션을 보내지 못했습니다.", LocalDateTime.now()));
+            } else {
+                log.error("refund submit result unknown. orderId={}", refund.getOrderId(), e);
+                update(refundId, submitting -> unknown(submitting, "환불 전송 결과를 알 수 없습니다."));
+            }
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("refund submit result unknown. orderId={}", refund.getOrderId(), e);
+            update(refundId, submitting -> unknown(submitting, "환불 전송 결과를 알 수 없습니다."));
+            return Optional.empty();
+        }
+
+        LocalDateTime watchUntil = LocalDateTime.now().plus(Duration.ofMillis(watchMillis));
+        return update(refundId, submitting -> submitting.submitted(transactionHash, watchUntil));
+    }
+
+    // SUBMITTING 인 환불만 바꾼다. 기록에 실패해도 다시 보내지 않고, watchUntil 이후 UNKNOWN 으로 넘어간다.
+    private Optional<Refund> update(Long refundId, Consumer<Refund> change) {
+        try {
+            return Optional.ofNullable(transactionTemplate.execute(status -> refundRepository.findById(refundId)
+                    .filter(refund -> refund.getStatus() == RefundStatus.SUBMITTING)
+                    .map(refund -> {
+                        change.accept(refund);
+                        return refund;
+                    })
+                    .orElse(null)))
+                    .filter(refund -> refund.getStatus() == RefundStatus.SUBMITTED);
+        } catch (Exception e) {
+            log.error("refund update failed. refundId={}", refundId, e);
+            return Optional.empty();
+        }
+    }
+
+    // KAS 가 요청을 받지 않은 경우(4xx)만 보내지 않은 것으로 본다. 그 외 오류는 전송됐을 수 있다.
+    private boolean isRejected(ApiException e) {
+        return e.getCode() >= 400 && e.getCode() < 500;
+    }
+
+    void settle(Long refundId, String transactionHash, Boolean committed, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TimeoutException) {
+            // 보낸 트랜잭션이 나중에 확정될 수 있으므로 다시 보내지 않는다.
+            log.warn("refund receipt timeout. refundId={}, transactionHash={}", refundId, transactionHash);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> refundRepository.findById(refundId)
+                    .filter(refund -> refund.getStatus() == RefundStatus.SUBMITTED)
+                    .filter(refund -> transactionHash.equals(refund.getTransactionHash()))
+                    .ifPresent(refund -> {
+                        if (cause == null && Boolean.TRUE.equals(committed)) {
+                            log.info("refund completed. orderId={}, transactionHash={}", refund.getOrderId(), transactionHash);
+                            refund.completed(LocalDateTime.now());
+                        } else {
+                            retry(refund, "환불 트랜잭션이 실패했습니다.", LocalDateTime.now());
+                        }
+                    }));
+        } catch (Exception ex) {
+            // 상태를 못 바꿔도 nextAttemptAt 이 지나면 영수증을 다시 확인한다.
+            log.error("refund settle failed. refundId={}", refundId, ex);
+        }
+    }
+
+    private void unknown(Refund refund, String error) {
+        log.error("refund needs manual check. orderId={}, attempts={}", refund.getOrderId(), refund.getAttempts());
+        refund.unknown(error);
+        unknownCounter.increment();
+    }
+
+    private void retry(Refund refund, String error, LocalDateTime now) {
+        long backoff = Math.min(backoffMillis << Math.min(refund.getAttempts() - 1, 20), maxBackoffMillis);
+        refund.retry(error, now.plus(Duration.ofMillis(backoff)), maxAttempts);
+        if (refund.getStatus() == RefundStatus.FAILED) {
+            log.error("refund failed. orderId={}, attempts={}", refund.getOrderId(), refund.getAttempts());
+            failedCounter.increment();
+        }
+    }
+}
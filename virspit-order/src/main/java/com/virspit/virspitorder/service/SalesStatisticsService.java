@@ -0,0 +1,81 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.DailySalesResponseDto;
+import com.virspit.virspitorder.dto.response.ProductSalesResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.dto.response.TeamPlayerSalesResponseDto;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.SalesDailyRepository;
+import com.virspit.virspitorder.response.error.ErrorCode;
+import com.virspit.virspitorder.response.error.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 미리 집계한 sales_daily 에서 판매 통계를 조회한다.
+ * 조회 비용은 주문 수가 아니라 (일자, 상품) 버킷 수에 비례하고, Orders 테이블과 상품 서비스를 거치지 않는다.
+ */
+@RequiredArgsConstructor
+@Service
+public class SalesStatisticsService {
+    private static final int DEFAULT_PERIOD_DAYS = 30;
+
+    private final SalesDailyRepository salesDailyRepository;
+
+    // 주문 완료와 같은 트랜잭션에서 누적한다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Orders orders, ProductResponseDto product) {
+        Long teamPlayerId = product.getTeamPlayerInfo() == null ? null : product.getTeamPlayerInfo().getId();
+        salesDailyRepository.increase(
+                orders.getOrderDate().toLocalDate(),
+                orders.getProductId(),
+                teamPlayerId,
+                product.getPrice());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesResponseDto> getDailySales(String startDate, String endDate) {
+        LocalDate end = parseEndDate(endDate);
+        return salesDailyRepository.sumByDate(parseStartDate(startDate, end), end);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesResponseDto> getProductSales(String startDate, String endDate) {
+        LocalDate end = parseEndDate(endDate);
+        return salesDailyRepository.sumByProduct(parseStartDate(startDate, end), end);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TeamPlayerSalesResponseDto> getTeamPlayerSales(String startDate, String endDate) {
+        LocalDate end = parseEndDate(endDate);
+        return salesDailyRepository.sumByTeamPlayer(parseStartDate(startDate, end), end);
+    }
+
+    private LocalDate parseEndDate(String endDate) {
+        return endDate == null ? LocalDate.now() : parse(endDate);
+    }
+
+    private LocalDate parseStartDate(String startDate, LocalDate end) {
+        LocalDate start = startDate == null ? end.minusDays(DEFAULT_PERIOD_DAYS - 1) : parse(startDate);
+        if (start.isAfter(end)) {
+            throw new BusinessException(
+                    String.format("startDate(%s) 가 endDate(%s) 보다 큽니다.", start, end),
+                    ErrorCode.INVALID_INPUT_VALUE);
+        }
+        return start;
+    }
+
+    private LocalDate parse(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("날짜는 yyyy-MM-dd 형식으로 입력해주세요.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+}
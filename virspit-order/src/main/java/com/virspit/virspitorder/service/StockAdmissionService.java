@@ -0,0 +1,165 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.ProductStock;
+import com.virspit.virspitorder.repository.ProductStockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 한정 수량 상품의 주문 입장을 관리한다.
+ * 주문을 저장하기 전에 product_stock_bucket 에서 원자적으로 한 개를 예약하고, 예약하지 못한 요청은 KAS 호출 전에 바로 거절한다.
+ * 재고를 상품마다 stock-buckets 개 행으로 나눠 두고 임의의 버킷부터 예약해서, 동시 주문이 한 행의 잠금을 기다리지 않는다.
+ * 버킷 수는 처음 만든 행과 맞아야 하므로 운영 중에 바꾸지 않는다.
+ * 품절된 상품은 잠시 메모리에 기억해서 DB 까지 가지 않고 거절한다.
+ */
+@Slf4j
+@Service
+public class StockAdmissionService {
+
+    private final ProductStockRepository productStockRepository;
+    private final int stockBuckets;
+    private final long soldOutCacheMillis;
+
+    private final Map<Long, Long> soldOutUntil = new ConcurrentHashMap<>();
+    // 버킷 행이 있는 것을 확인한 상품. 주문마다 행이 있는지 조회하지 않도록 기억한다.
+    private final Set<Long> seeded = ConcurrentHashMap.newKeySet();
+
+    public StockAdmissionService(ProductStockRepository productStockRepository,
+                                 @Value("${order.admission.stock-buckets}") int stockBuckets,
+                                 @Value("${order.admission.sold-out-cache-ms}") long soldOutCacheMillis) {
+        this.productStockRepository = productStockRepository;
+        this.stockBuckets = stockBuckets;
+        this.soldOutCacheMillis = soldOutCacheMillis;
+    }
+
+    public boolean isSoldOut(Long productId) {
+        Long until = soldOutUntil.get(productId);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            soldOutUntil.remove(productId, until);
+            return false;
+        }
+        return true;
+    }
+
+    // 주문 저장과 같은 트랜잭션에서 예약해서, 주문 저장이 롤백되면 예약도 함께 롤백된다.
+    // 상품 이벤트보다 주문이 먼저 오면 상품 서비스의 남은 수량으로 버킷을 만든다.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryReserve(Long productId, long initialStock, long stockRevision) {
+        if (!seeded.contains(productId) && !productStockRepository.existsByProductId(productId)) {
+            seed(productId, initialStock, stockRevision);
+        }
+        markSeededAfterCommit(productId);
+
+        int start = ThreadLocalRandom.current().nextInt(stockBuckets);
+        for (int i = 0; i < stockBuckets; i++) {
+            if (productStockRepository.decrease(productId, (start + i) % stockBuckets) == 1) {
+                return true;
+            }
+        }
+        soldOutUntil.put(productId, System.currentTimeMillis() + soldOutCacheMillis);
+        return false;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long productId) {
+        int bucket = ThreadLocalRandom.current().nextInt(stockBuckets);
+        if (productStockRepository.increase(productId, bucket) == 0 && productStockRepository.increase(productId, 0) == 0) {
+            log.warn("no reserved stock to release. productId={}", productId);
+        }
+        soldOutUntil.remove(productId);
+    }
+
+    /**
+     * 상품 이벤트로 재고를 맞춘다. 처음 보는 상품이면 남은 수량으로 버킷을 만들고,
+     * 이미 있으면 관리자가 바꾼 수량(restockedCount)을 아직 반영하지 않은 stockRevision 일 때만 더한다.
+     * 주문 완료로 줄어든 상품 서비스의 수량은 이미 예약으로 빠져 있으므로 반영하지 않는다.
+     */
+    @Transactional
+    public void sync(Long productId, long remainedCount, long stockRevision, long restockedCount) {
+        List<ProductStock> buckets = productStockRepository.findAllByProductIdForUpdate(productId);
+        if (buckets.isEmpty()) {
+            seed(productId, remainedCount, stockRevision);
+            markSeededAfterCommit(productId);
+            return;
+        }
+        if (buckets.get(0).isRestocked(stockRevision)) {
+            return;
+        }
+
+        log.info("restock product. productId={}, stockRevision={}, restockedCount={}", productId, stockRevision, restockedCount);
+        long[] deltas = restockedCount >= 0 ? add(buckets, restockedCount) : remove(buckets, -restockedCount);
+        for (int i = 0; i < buckets.size(); i++) {
+            buckets.get(i).restock(deltas[i], stockRevision);
+        }
+        if (restockedCount > 0) {
+            soldOutUntil.remove(productId);
+        }
+    }
+
+    // 음수 버킷과 재고가 남은 버킷이 같이 있으면 합계보다 많이 팔리므로, 음수 버킷을 먼저 채우고 나머지를 나눈다.
+    private static long[] add(List<ProductStock> buckets, long count) {
+        long[] deltas = new long[buckets.size()];
+        for (int i = 0; i < buckets.size() && count > 0; i++) {
+            deltas[i] = Math.min(Math.max(-buckets.get(i).getRemaining(), 0), count);
+            count -= deltas[i];
+        }
+        for (int i = 0; i < buckets.size(); i++) {
+            deltas[i] += share(count, buckets.size(), i);
+        }
+        return deltas;
+    }
+
+    // 재고가 남은 버킷부터 빼고, 이미 예약된 만큼 더 줄이면 첫 버킷에 음수로 남겨 예약이 되돌려져도 팔리지 않게 한다.
+    private static long[] remove(List<ProductStock> buckets, long count) {
+        long[] deltas = new long[buckets.size()];
+        for (int i = 0; i < buckets.size() && count > 0; i++) {
+            long removed = Math.min(Math.max(buckets.get(i).getRemaining(), 0), count);
+            deltas[i] = -removed;
+            count -= removed;
+        }
+        deltas[0] -= count;
+        return deltas;
+    }
+
+    private void seed(Long productId, long remaining, long stockRevision) {
+        for (int bucket = 0; bucket < stockBuckets; bucket++) {
+            productStockRepository.insertIfAbsent(productId, bucket, share(remaining, stockBuckets, bucket), stockRevision);
+        }
+    }
+
+    // 롤백되면 행이 없으므로 커밋된 뒤에만 기억한다.
+    private void markSeededAfterCommit(Long productId) {
+        if (seeded.contains(productId)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            seeded.add(productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seeded.add(productId);
+            }
+        });
+    }
+
+    // total 을 buckets 개로 나눴을 때 bucket 번째 몫. 나머지는 앞 버킷부터 하나씩 더한다.
+    private static long share(long total, int buckets, int bucket) {
+        return Math.floorDiv(total, buckets) + (bucket < Math.floorMod(total, buckets) ? 1 : 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.TokenSequence;
+import com.virspit.virspitorder.repository.TokenSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컨트랙트별 KIP-17 토큰 id 를 KAS 조회 없이 O(1) 로 나눠준다.
+ * DB 의 high-water mark 에서 블록 단위로 구간을 예약하므로 여러 인스턴스가 같은 id 를 받지 않는다.
+ * 재시작하면 쓰지 않은 구간은 건너뛰므로 id 가 연속적이지 않을 수 있다.
+ */
+@Slf4j
+@Component
+public class TokenIdAllocator {
+
+    private final TokenSequenceService tokenSequenceService;
+    private final TokenSequenceRepository tokenSequenceRepository;
+    private final int blockSize;
+
+    private final Map<String, TokenIdBlock> blocks = new ConcurrentHashMap<>();
+
+    public TokenIdAllocator(TokenSequenceService tokenSequenceService,
+                            TokenSequenceRepository tokenSequenceRepository,
+                            @Value("${order.token-id.block-size}") int blockSize) {
+        this.tokenSequenceService = tokenSequenceService;
+        this.tokenSequenceRepository = tokenSequenceRepository;
+        this.blockSize = blockSize;
+    }
+
+    public String nextTokenId(String contractAlias) throws ApiException {
+        TokenIdBlock block = blocks.computeIfAbsent(contractAlias, alias -> new TokenIdBlock());
+        synchronized (block) {
+            if (block.next > block.end) {
+                long start = reserve(contractAlias);
+                block.next = start;
+                block.end = start + blockSize - 1;
+            }
+            return String.format("%#x", block.next++);
+        }
+    }
+
+    // 일괄 발행용. 블록과 별개로 count 개의 연속 구간을 한 번에 예약한다.
+    public List<String> nextTokenIds(String contractAlias, int count) throws ApiException {
+        long start = reserve(contractAlias, count);
+        List<String> ids = new ArrayList<>(count);
+        for (long id = start; id < start + count; id++) {
+            ids.add(String.format("%#x", id));
+        }
+        return ids;
+    }
+
+    private long reserve(String contractAlias) throws ApiException {
+        return reserve(contractAlias, blockSize);
+    }
+
+    private long reserve(String contractAlias, int size) throws ApiException {
+        try {
+            return tokenSequenceService.reserve(contractAlias, size);
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 같은 컨트랙트의 첫 행을 먼저 만든 경우
+            return tokenSequenceService.reserve(contractAlias, size);
+        }
+    }
+
+    // 시작할 때 한 번만 KAS 와 맞춰서, DB 밖에서 발행된 토큰이 있어도 id 가 겹치지 않게 한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reseed() {
+        for (TokenSequence sequence : tokenSequenceRepository.findAll()) {
+            try {
+                tokenSequenceService.reseed(sequence.getContractAlias());
+            } catch (Exception e) {
+                log.error("token sequence reseed failed. contractAlias={}", sequence.getContractAlias(), e);
+            }
+        }
+    }
+
+    private static class TokenIdBlock {
+        private long next = 1;
+        private long end = 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.TokenSequence;
+import com.virspit.virspitorder.repository.TokenSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import xyz.groundx.caver_ext_kas.CaverExtKAS;
+import xyz.groundx.caver_ext_kas.kas.kip17.Kip17QueryOptions;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.api.kip17.model.Kip17TokenListResponse;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.api.kip17.model.Kip17TokenListResponseItem;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TokenSequenceService {
+    private static final long TOKEN_LIST_PAGE_SIZE = 1000;
+
+    private final TokenSequenceRepository tokenSequenceRepository;
+    private final CaverExtKAS caver;
+
+    // 블록 예약은 주문 트랜잭션과 상관없이 바로 커밋한다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String contractAlias, int blockSize) throws ApiException {
+        TokenSequence sequence = tokenSequenceRepository.findForUpdate(contractAlias).orElse(null);
+        if (sequence == null) {
+            // 처음 보는 컨트랙트만 KAS 에서 한 번 읽어 시작점을 잡는다.
+            sequence = tokenSequenceRepository.save(new TokenSequence(contractAlias, findMaxTokenId(contractAlias)));
+        }
+        return sequence.reserve(blockSize);
+    }
+
+    @Transactional
+    public void reseed(String contractAlias) throws ApiException {
+        TokenSequence sequence = tokenSequenceRepository.findForUpdate(contractAlias).orElse(null);
+        if (sequence == null) {
+            return;
+        }
+        long maxTokenId = findMaxTokenId(contractAlias);
+        if (maxTokenId > sequence.getLastTokenId()) {
+            log.warn("token sequence is behind KAS. contractAlias={}, lastTokenId={}, kas={}",
+                    contractAlias, sequence.getLastTokenId(), maxTokenId);
+            sequence.raiseTo(maxTokenId);
+        }
+    }
+
+    long findMaxTokenId(String contractAlias) throws ApiException {
+        long max = 0;
+        String cursor = null;
+        do {
+            Kip17QueryOptions options = new Kip17QueryOptions();
+            options.setSize(TOKEN_LIST_PAGE_SIZE);
+            if (cursor != null) {
+                options.setCursor(cursor);
+            }
+            Kip17TokenListResponse tokenList = caver.kas.kip17.getTokenList(contractAlias, options);
+            for (Kip17TokenListResponseItem item : tokenList.getItems()) {
+                max = Math.max(max, Long.decode(item.getTokenId()));
+            }
+            cursor = tokenList.getCursor();
+        } while (cursor != null && !cursor.isEmpty());
+        return max;
+    }
+}
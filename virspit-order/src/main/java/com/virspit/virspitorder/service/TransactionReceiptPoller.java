@@ -0,0 +1,166 @@
+package com.virspit.virspitorder.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import xyz.groundx.caver_ext_kas.CaverExtKAS;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.api.wallet.model.TransactionReceipt;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대기 중인 KAS 트랜잭션 해시를 모아 폴링한다.
+ * 스케줄러 스레드는 조회할 차례가 된 해시를 고르기만 하고, 조회는 receiptLookupExecutor 에서 동시에 한다.
+ * 해시마다 CompletableFuture 를 돌려주고, Committed 면 true, 그 외 실패 상태면 false 로 완료한다.
+ * 제한 시간이 지나면 마지막으로 한 번 더 조회하고, 그때도 확정되지 않았으면 TimeoutException 으로 완료한다.
+ * 조회 간격은 해시별로 지수 백오프한다.
+ */
+@Slf4j
+@Component
+public class TransactionReceiptPoller {
+
+    private static final String COMMITTED = "Committed";
+    private static final String PENDING = "Pending";
+    private static final String SUBMITTED = "Submitted";
+
+    private final CaverExtKAS caver;
+    private final TaskScheduler receiptPollerScheduler;
+    private final TaskExecutor receiptLookupExecutor;
+    private final long pollIntervalMillis;
+    private final long maxBackoffMillis;
+    private final long timeoutMillis;
+
+    private final Map<String, PendingReceipt> pendingReceipts = new ConcurrentHashMap<>();
+
+    public TransactionReceiptPoller(CaverExtKAS caver,
+                                    @Qualifier("receiptPollerScheduler") TaskScheduler receiptPollerScheduler,
+                                    @Qualifier("receiptLookupExecutor") TaskExecutor receiptLookupExecutor,
+                                    @Value("${kas.receipt.poll-interval-ms}") long pollIntervalMillis,
+                                    @Value("${kas.receipt.max-backoff-ms}") long maxBackoffMillis,
+                                    @Value("${kas.receipt.timeout-ms}") long timeoutMillis) {
+        this.caver = caver;
+        this.receiptPollerScheduler = receiptPollerScheduler;
+        this.receiptLookupExecutor = receiptLookupExecutor;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        receiptPollerScheduler.scheduleWithFixedDelay(this::poll, Duration.ofMillis(pollIntervalMillis));
+    }
+
+    public CompletableFuture<Boolean> watch(String transactionHash) {
+        if (transactionHash == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return pendingReceipts.computeIfAbsent(transactionHash, hash -> new PendingReceipt(System.currentTimeMillis()))
+                .future;
+    }
+
+    /**
+     * 영수증을 한 번 조회한다. Committed 면 true, 실패 상태면 false, 아직 확정 전이거나 조회에 실패하면 null.
+     */
+    public Boolean lookup(String transactionHash) {
+        try {
+            TransactionReceipt receipt = caver.kas.wallet.getTransaction(transactionHash);
+            String status = receipt.getStatus();
+            if (COMMITTED.equals(status)) {
+                return true;
+            }
+            if (PENDING.equals(status) || SUBMITTED.equals(status)) {
+                return null;
+            }
+            log.warn("transaction failed : {}, status {}", transactionHash, status);
+            return false;
+        } catch (ApiException e) {
+            log.warn("transaction receipt lookup failed : {}, {}", transactionHash, e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            log.error("transaction receipt lookup failed : {}", transactionHash, e);
+            return null;
+        }
+    }
+
+    void poll() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, PendingReceipt> entry : pendingReceipts.entrySet()) {
+            String transactionHash = entry.getKey();
+            PendingReceipt pending = entry.getValue();
+
+            if (now < pending.nextPollAt && now < pending.deadline) {
+                continue;
+            }
+            // 같은 해시를 동시에 두 번 조회하지 않는다.
+            if (!pending.inFlight.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                receiptLookupExecutor.execute(() -> check(transactionHash, pending));
+            } catch (TaskRejectedException e) {
+                log.warn("receipt lookup queue is full : {}", transactionHash);
+                pending.inFlight.set(false);
+                return;
+            }
+        }
+    }
+
+    void check(String transactionHash, PendingReceipt pending) {
+        try {
+            Boolean committed = lookup(transactionHash);
+            long now = System.currentTimeMillis();
+            if (committed != null) {
+                finish(transactionHash, pending, committed);
+            } else if (now >= pending.deadline) {
+                log.warn("transaction receipt timeout : {}", transactionHash);
+                finish(transactionHash, pending, null);
+            } else {
+                pending.backoff(now);
+            }
+        } finally {
+            pending.inFlight.set(false);
+        }
+    }
+
+    private void finish(String transactionHash, PendingReceipt pending, Boolean committed) {
+        if (!pendingReceipts.remove(transactionHash, pending)) {
+            return;
+        }
+        if (committed == null) {
+            pending.future.completeExceptionally(new TimeoutException("transaction receipt timeout : " + transactionHash));
+        } else {
+            pending.future.complete(committed);
+        }
+    }
+
+    private class PendingReceipt {
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final long deadline;
+        private volatile long nextPollAt;
+        private long backoffMillis;
+
+        private PendingReceipt(long now) {
+            this.deadline = now + timeoutMillis;
+            this.nextPollAt = now;
+            this.backoffMillis = pollIntervalMillis;
+        }
+
+        private void backoff(long now) {
+            nextPollAt = now + backoffMillis;
+            backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.virspit.virspitorder.util;
+
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.response.error.ErrorCode;
+import com.virspit.virspitorder.response.error.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 keyset 페이징 커서. (orderDate, id) 를 base64 로 인코딩해서 주고받는다.
+ * 목록은 orderDate desc, id desc 로 정렬되므로 다음 페이지는 커서보다 작은 (orderDate, id) 부터 시작한다.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class OrderCursor {
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime orderDate;
+    private final Long id;
+
+    // 첫 페이지는 endDate 까지의 모든 주문을 포함하도록 (endDate, Long.MAX_VALUE) 에서 시작한다.
+    public static OrderCursor first(LocalDateTime endDate) {
+        return new OrderCursor(endDate, Long.MAX_VALUE);
+    }
+
+    public static OrderCursor of(Orders orders) {
+        return new OrderCursor(orders.getOrderDate(), orders.getId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((orderDate + DELIMITER + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(DELIMITER);
+            return new OrderCursor(
+                    LocalDateTime.parse(decoded.substring(0, index)),
+                    Long.parseLong(decoded.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("cursor 값이 올바르지 않습니다.", ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+}
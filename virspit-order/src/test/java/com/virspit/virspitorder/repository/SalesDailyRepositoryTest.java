@@ -0,0 +1,67 @@
+package com.virspit.virspitorder.repository;
+
+import com.virspit.virspitorder.dto.response.DailySalesResponseDto;
+import com.virspit.virspitorder.dto.response.ProductSalesResponseDto;
+import com.virspit.virspitorder.dto.response.TeamPlayerSalesResponseDto;
+import com.virspit.virspitorder.entity.SalesDaily;
+import com.virspit.virspitorder.entity.SalesDailyId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE;
+
+@AutoConfigureTestDatabase(replace = NONE)
+@DataJpaTest
+class SalesDailyRepositoryTest {
+
+    private static final LocalDate SALES_DATE = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    private SalesDailyRepository salesDailyRepository;
+
+    @DisplayName("같은 일자, 상품으로 두 번 누적하면 한 행에 주문 수와 매출이 더해진다")
+    @Test
+    void increase_twice() {
+        // given
+        salesDailyRepository.increase(SALES_DATE, 1L, 10L, 100);
+
+        // when
+        salesDailyRepository.increase(SALES_DATE, 1L, 10L, 150);
+
+        // then
+        SalesDaily salesDaily = salesDailyRepository.findById(new SalesDailyId(SALES_DATE, 1L)).orElseThrow();
+        assertThat(salesDaily.getOrderCount()).isEqualTo(2L);
+        assertThat(salesDaily.getRevenue()).isEqualTo(250L);
+    }
+
+    @DisplayName("일자, 상품, 선수별 합계는 누적한 주문을 모두 더한다")
+    @Test
+    void sum() {
+        // given
+        salesDailyRepository.increase(SALES_DATE, 1L, 10L, 100);
+        salesDailyRepository.increase(SALES_DATE, 1L, 10L, 100);
+        salesDailyRepository.increase(SALES_DATE, 2L, 10L, 50);
+        salesDailyRepository.increase(SALES_DATE.plusDays(1), 1L, 10L, 100);
+
+        // when
+        List<DailySalesResponseDto> daily = salesDailyRepository.sumByDate(SALES_DATE, SALES_DATE.plusDays(1));
+        List<ProductSalesResponseDto> products = salesDailyRepository.sumByProduct(SALES_DATE, SALES_DATE.plusDays(1));
+        List<TeamPlayerSalesResponseDto> teamPlayers = salesDailyRepository.sumByTeamPlayer(SALES_DATE, SALES_DATE.plusDays(1));
+
+        // then
+        assertThat(daily).containsExactly(
+                new DailySalesResponseDto(SALES_DATE, 3L, 250L),
+                new DailySalesResponseDto(SALES_DATE.plusDays(1), 1L, 100L));
+        assertThat(products).containsExactly(
+                new ProductSalesResponseDto(1L, 3L, 300L),
+                new ProductSalesResponseDto(2L, 1L, 50L));
+        assertThat(teamPlayers).containsExactly(new TeamPlayerSalesResponseDto(10L, 4L, 350L));
+    }
+}
@@ -0,0 +1,156 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.request.BatchMintRequestDto;
+import com.virspit.virspitorder.dto.response.BatchMintResponseDto;
+import com.virspit.virspitorder.dto.response.BatchMintStatus;
+import com.virspit.virspitorder.dto.response.NftInfo;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.response.error.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BatchMintServiceTest {
+
+    @Mock
+    private NftService nftService;
+    @Mock
+    private TokenIdAllocator tokenIdAllocator;
+    @Mock
+    private ProductCache productCache;
+
+    private BatchMintService batchMintService;
+
+    @BeforeEach
+    void setUp() {
+        batchMintService = new BatchMintService(nftService, tokenIdAllocator, productCache, new SyncTaskExecutor(), 2, 10, 1);
+    }
+
+    @DisplayName("토큰 id 를 한 번에 할당하고 모든 지갑에 발행한다.")
+    @Test
+    void mint() throws Exception {
+        // given
+        givenProduct();
+        given(tokenIdAllocator.nextTokenIds("alias", 3)).willReturn(List.of("0x1", "0x2", "0x3"));
+        given(nftService.issueToken(anyString(), eq("https://meta.data/1"), eq("alias"), anyString()))
+                .willAnswer(invocation -> CompletableFuture.completedFuture("hash-" + invocation.getArgument(3)));
+
+        // when
+        BatchMintResponseDto result = batchMintService.mint(request("0xa", "0xb", "0xa"));
+
+        // then
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.getCommitted()).isEqualTo(3);
+        assertThat(result.getResults()).extracting("transactionHash").containsExactly("hash-0x1", "hash-0x2", "hash-0x3");
+        verify(tokenIdAllocator, times(1)).nextTokenIds("alias", 3);
+        verify(nftService, times(2)).issueToken(eq("0xa"), anyString(), anyString(), anyString());
+    }
+
+    @DisplayName("동시에 확정을 기다리는 발행은 max-in-flight 를 넘지 않는다.")
+    @Test
+    void mint_maxInFlight() throws Exception {
+        // given
+        givenProduct();
+        given(tokenIdAllocator.nextTokenIds("alias", 4)).willReturn(List.of("0x1", "0x2", "0x3", "0x4"));
+        List<CompletableFuture<String>> receipts = new ArrayList<>();
+        given(nftService.issueToken(anyString(), anyString(), anyString(), anyString())).willAnswer(invocation -> {
+            CompletableFuture<String> receipt = new CompletableFuture<>();
+            receipts.add(receipt);
+            return receipt;
+        });
+
+        // when
+        BatchMintResponseDto started = batchMintService.mint(request("0xa", "0xb", "0xc", "0xd"));
+
+        // then
+        assertThat(receipts).hasSize(2);
+        assertThat(started.getResults()).extracting("status")
+                .containsExactly(BatchMintStatus.MINTING, BatchMintStatus.MINTING, BatchMintStatus.PENDING, BatchMintStatus.PENDING);
+
+        receipts.get(0).complete("hash-1");
+        assertThat(receipts).hasSize(3);
+        receipts.get(1).completeExceptionally(new TimeoutException());
+        receipts.get(2).complete("hash-3");
+        receipts.get(3).complete(null);
+
+        BatchMintResponseDto finished = batchMintService.getBatch(started.getBatchId());
+        assertThat(finished.isDone()).isTrue();
+        assertThat(finished.getCommitted()).isEqualTo(2);
+        assertThat(finished.getFailed()).isEqualTo(2);
+        assertThat(finished.getResults().get(1).getFailReason()).isEqualTo("KAS 트랜잭션 확인 시간이 초과되었습니다.");
+    }
+
+    @DisplayName("발행이 실패하고 워커 큐도 가득 차면, 영수증을 받은 스레드에서 다음 발행을 보내지 않고 미룬다.")
+    @Test
+    void mint_failedAndRejected() throws Exception {
+        // given
+        List<Runnable> lanes = new ArrayList<>();
+        AtomicBoolean rejecting = new AtomicBoolean();
+        TaskExecutor executor = task -> {
+            if (rejecting.get()) {
+                throw new TaskRejectedException("queue is full");
+            }
+            lanes.add(task);
+        };
+        batchMintService = new BatchMintService(nftService, tokenIdAllocator, productCache, executor, 1, 10, 1);
+        givenProduct();
+        given(tokenIdAllocator.nextTokenIds("alias", 2)).willReturn(List.of("0x1", "0x2"));
+        CompletableFuture<String> receipt = new CompletableFuture<>();
+        given(nftService.issueToken("0xa", "https://meta.data/1", "alias", "0x1")).willReturn(receipt);
+
+        BatchMintResponseDto started = batchMintService.mint(request("0xa", "0xb"));
+        lanes.remove(0).run();
+        rejecting.set(true);
+
+        // when
+        receipt.completeExceptionally(new IllegalStateException("mint failed"));
+
+        // then
+        BatchMintResponseDto result = batchMintService.getBatch(started.getBatchId());
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(BatchMintStatus.PENDING);
+        verify(nftService, never()).issueToken(eq("0xb"), anyString(), anyString(), anyString());
+    }
+
+    @DisplayName("최대 개수를 넘으면 발행하지 않는다.")
+    @Test
+    void mint_tooMany() {
+        assertThatThrownBy(() -> batchMintService.mint(request("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10")))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(tokenIdAllocator, nftService);
+    }
+
+    private void givenProduct() {
+        given(productCache.findByProductId(1L)).willReturn(ProductResponseDto.builder()
+                .id(1L)
+                .nftInfo(new NftInfo("alias", "https://meta.data/1"))
+                .build());
+    }
+
+    private BatchMintRequestDto request(String... walletAddresses) {
+        return new BatchMintRequestDto(1L, List.of(walletAddresses));
+    }
+}
@@ -0,0 +1,98 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.MemberResponseDto;
+import com.virspit.virspitorder.feign.MemberServiceFeignClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MemberCacheTest {
+
+    @Mock
+    private MemberServiceFeignClient memberServiceFeignClient;
+
+    private MemberCache memberCache;
+
+    @BeforeEach
+    void setUp() {
+        memberCache = new MemberCache(memberServiceFeignClient, new SimpleMeterRegistry(), 100, 30, 100);
+    }
+
+    @DisplayName("같은 회원의 동시 조회는 회원 서비스를 한 번만 호출한다.")
+    @Test
+    void findWalletByMemberId_singleFlight() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        given(memberServiceFeignClient.findWalletByMemberId(1L)).willAnswer(invocation -> {
+            loading.await(1, TimeUnit.SECONDS);
+            return "0xmember";
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> memberCache.findWalletByMemberId(1L)));
+        }
+        loading.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo("0xmember");
+        }
+        executor.shutdown();
+        verify(memberServiceFeignClient, times(1)).findWalletByMemberId(1L);
+    }
+
+    @DisplayName("지갑이 없는 회원은 캐시하지 않는다.")
+    @Test
+    void findWalletByMemberId_blank() {
+        // given
+        given(memberServiceFeignClient.findWalletByMemberId(1L)).willReturn("", "0xmember");
+
+        // when
+        String first = memberCache.findWalletByMemberId(1L);
+        String second = memberCache.findWalletByMemberId(1L);
+
+        // then
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo("0xmember");
+    }
+
+    @DisplayName("일괄 조회는 캐시에 없는 회원만 회원 서비스에 요청한다.")
+    @Test
+    void findAllByMemberIds_onlyMissed() {
+        // given
+        given(memberServiceFeignClient.findByMemberId(1L)).willReturn(MemberResponseDto.builder().id(1L).build());
+        given(memberServiceFeignClient.findAllByMemberIds(Set.of(2L)))
+                .willReturn(List.of(MemberResponseDto.builder().id(2L).build()));
+        memberCache.findByMemberId(1L);
+
+        // when
+        Map<Long, MemberResponseDto> result = memberCache.findAllByMemberIds(Set.of(1L, 2L));
+
+        // then
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(memberServiceFeignClient, times(1)).findAllByMemberIds(Set.of(2L));
+    }
+}
@@ -0,0 +1,108 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.MemberResponseDto;
+import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.entity.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEnrichServiceTest {
+
+    @InjectMocks
+    private OrderEnrichService orderEnrichService;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private MemberCache memberCache;
+
+    List<Orders> orders;
+
+    @BeforeEach
+    void setUp() {
+        orders = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            orders.add(Orders.builder()
+                    .id(i + 1)
+                    .memberId(i % 2 + 1)
+                    .productId(i % 3 + 1)
+                    .orderDate(LocalDateTime.now().minusDays(i))
+                    .build());
+        }
+    }
+
+    @DisplayName("페이지 안의 중복되지 않는 id 로 서비스별 한 번씩만 조회한다.")
+    @Test
+    void enrich() {
+        // given
+        given(productCache.findAllByProductIds(Set.of(1L, 2L, 3L)))
+                .willReturn(Map.of(
+                        1L, ProductResponseDto.builder().id(1L).build(),
+                        2L, ProductResponseDto.builder().id(2L).build(),
+                        3L, ProductResponseDto.builder().id(3L).build()));
+        given(memberCache.findAllByMemberIds(Set.of(1L, 2L)))
+                .willReturn(Map.of(
+                        1L, MemberResponseDto.builder().id(1L).build(),
+                        2L, MemberResponseDto.builder().id(2L).build()));
+
+        // when
+        List<OrdersResponseDto> result = orderEnrichService.enrich(orders);
+
+        // then
+        assertThat(result).hasSize(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            assertThat(result.get(i).getProduct().getId()).isEqualTo(orders.get(i).getProductId());
+            assertThat(result.get(i).getMember().getId()).isEqualTo(orders.get(i).getMemberId());
+        }
+        verify(productCache, times(1)).findAllByProductIds(Set.of(1L, 2L, 3L));
+        verify(memberCache, times(1)).findAllByMemberIds(Set.of(1L, 2L));
+        verify(productCache, never()).findByProductId(anyLong());
+        verify(memberCache, never()).findByMemberId(anyLong());
+    }
+
+    @DisplayName("조회되지 않은 상품/회원은 null 로 채운다.")
+    @Test
+    void enrich_missing() {
+        // given
+        given(productCache.findAllByProductIds(Set.of(1L, 2L, 3L))).willReturn(Map.of());
+        given(memberCache.findAllByMemberIds(Set.of(1L, 2L))).willReturn(Map.of());
+
+        // when
+        List<OrdersResponseDto> result = orderEnrichService.enrich(orders);
+
+        // then
+        assertThat(result).allSatisfy(dto -> {
+            assertThat(dto.getProduct()).isNull();
+            assertThat(dto.getMember()).isNull();
+        });
+    }
+
+    @DisplayName("빈 목록은 외부 서비스를 호출하지 않는다.")
+    @Test
+    void enrich_empty() {
+        assertThat(orderEnrichService.enrich(List.of())).isEmpty();
+        verifyNoInteractions(productCache, memberCache);
+    }
+}
@@ -0,0 +1,104 @@
+package com.virspit.virspitorder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.virspit.virspitorder.dto.request.ExportFormat;
+import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderEnrichService orderEnrichService;
+    @Mock
+    private EntityManager entityManager;
+
+    private OrderExportService orderExportService;
+    private List<Orders> orders;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        orderExportService = new OrderExportService(orderRepository, orderEnrichService, entityManager, objectMapper, 2);
+
+        orders = LongStream.rangeClosed(1, 3)
+                .mapToObj(i -> Orders.builder()
+                        .id(i)
+                        .memberId(10 + i)
+                        .productId(100 + i)
+                        .orderDate(LocalDateTime.of(2021, 10, 1, 12, 0))
+                        .memo(i == 2 ? "포장, \"선물\"" : null)
+                        .build())
+                .collect(Collectors.toList());
+        given(orderRepository.streamByOrderDateBetween(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(orders.stream());
+        given(orderEnrichService.enrich(anyList())).willAnswer(invocation -> {
+            List<Orders> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(order -> OrdersResponseDto.entityToDto(order,
+                            ProductResponseDto.builder().id(order.getProductId()).title("상품" + order.getProductId()).price(5).build(),
+                            null))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @DisplayName("CSV 내보내기 - chunk 단위로 상품/회원 정보를 조회하고 영속성 컨텍스트를 비운다")
+    @Test
+    void export_csv() throws Exception {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        orderExportService.export(null, null, ExportFormat.CSV, outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("id,orderDate,status,memberId,memberEmail,productId,productTitle,price,tokenId,memo");
+        assertThat(lines[1]).isEqualTo("1,2021-10-01 12:00:00,,11,,101,상품101,5,,");
+        assertThat(lines[2]).endsWith(",\"포장, \"\"선물\"\"\"");
+        verify(orderEnrichService, times(2)).enrich(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @DisplayName("NDJSON 내보내기 - 주문 한 건당 한 줄의 JSON 을 쓴다")
+    @Test
+    void export_ndjson() throws Exception {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        orderExportService.export("2021-10-01", "2021-10-31", ExportFormat.NDJSON, outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"id\":1,");
+    }
+}
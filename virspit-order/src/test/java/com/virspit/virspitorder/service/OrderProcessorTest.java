@@ -0,0 +1,414 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.NftInfo;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.entity.OrderStatus;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessorTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private NftService nftService;
+    @Mock
+    private ProductCache productCache;
+    @Mock
+    private MemberCache memberCache;
+    @Mock
+    private KafkaOrderProducer kafkaOrderProducer;
+    @Mock
+    private SalesStatisticsService salesStatisticsService;
+    @Mock
+    private StockAdmissionService stockAdmissionService;
+    @Mock
+    private RefundService refundService;
+    @Mock
+    private TransactionReceiptPoller receiptPoller;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderProcessor orderProcessor;
+    private Orders order;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderProcessor = new OrderProcessor(orderRepository, nftService, productCache,
+                memberCache, kafkaOrderProducer, salesStatisticsService, stockAdmissionService, refundService, receiptPoller,
+                new SyncTaskExecutor(), new TransactionTemplate(transactionManager));
+        order = new Orders(1L, 1L, "0xmember");
+
+        ProductResponseDto product = ProductResponseDto.builder()
+                .id(1L)
+                .price(10)
+                .nftInfo(new NftInfo("alias", "https://meta.data/1"))
+                .build();
+        // 큐 거절이나 중복 처리 테스트는 일부만 쓴다.
+        lenient().when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        lenient().when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        lenient().when(productCache.findByProductId(1L)).thenReturn(product);
+    }
+
+    @DisplayName("워커 큐가 가득 차면 새 트랜잭션으로 주문을 FAILED 로 바꾸고 재고를 돌려준다.")
+    @Test
+    void onOrderPlaced_rejected() {
+        // given
+        OrderProcessor rejectingProcessor = new OrderProcessor(orderRepository, nftService, productCache,
+                memberCache, kafkaOrderProducer, salesStatisticsService, stockAdmissionService, refundService, receiptPoller,
+                task -> {
+                    throw new TaskRejectedException("queue is full");
+                },
+                new TransactionTemplate(transactionManager));
+
+        // when
+        rejectingProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(stockAdmissionService).release(1L);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @DisplayName("이미 다른 워커가 시작한 주문은 다시 처리하지 않는다.")
+    @Test
+    void process_alreadyStarted() throws Exception {
+        // given
+        order.paying();
+
+        // when
+        orderProcessor.process(1L);
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYING);
+        verify(nftService, never()).requestPayment(anyInt(), anyString());
+    }
+
+    @DisplayName("결제와 토큰 발행이 끝나면 COMPLETED 로 바뀌고 주문 이벤트를 보낸다.")
+    @Test
+    void process_completed() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(true));
+        given(nftService.requestMint("0xmember", "https://meta.data/1", "alias")).willReturn("0xtx");
+        given(receiptPoller.watch("0xtx")).willReturn(CompletableFuture.completedFuture(true));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(order.getTokenId()).isEqualTo("0xtx");
+        assertThat(order.getPaymentTransactionHash()).isEqualTo("0xpay");
+        assertThat(order.getMintTransactionHash()).isEqualTo("0xtx");
+        verify(salesStatisticsService).record(eq(order), any(ProductResponseDto.class));
+        verify(kafkaOrderProducer).sendOrder(eq("order"), any());
+        verify(stockAdmissionService, never()).release(any());
+    }
+
+    @DisplayName("클레이 지불에 실패하면 FAILED 로 바뀌고 토큰을 발행하지 않는다.")
+    @Test
+    void process_payFailed() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(false));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(nftService, never()).requestMint(anyString(), anyString(), anyString());
+        verify(kafkaOrderProducer, never()).sendOrder(anyString(), any());
+        verify(salesStatisticsService, never()).record(any(), any());
+        verify(stockAdmissionService).release(1L);
+        verify(refundService, never()).request(any(), any());
+    }
+
+    @DisplayName("토큰 발행에 실패하면 환불 작업을 남기고 FAILED 로 바뀐다.")
+    @Test
+    void process_mintFailed() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(true));
+        given(nftService.requestMint("0xmember", "https://meta.data/1", "alias")).willReturn("0xtx");
+        given(receiptPoller.watch("0xtx")).willReturn(CompletableFuture.completedFuture(false));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(refundService).request(order, 10);
+        verify(nftService, never()).rollBackSendKlay(any(), any());
+        verify(kafkaOrderProducer, never()).sendOrder(anyString(), any());
+    }
+
+    @DisplayName("지불 확인 시간이 초과되면 실패로 보지 않고 PAYMENT_UNKNOWN 으로 둔다.")
+    @Test
+    void process_paymentTimeout() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.failedFuture(new TimeoutException("timeout")));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_UNKNOWN);
+        assertThat(order.reconcileTransactionHash()).isEqualTo("0xpay");
+        verify(nftService, never()).requestMint(anyString(), anyString(), anyString());
+        verify(stockAdmissionService, never()).release(any());
+    }
+
+    @DisplayName("토큰 발행 확인 시간이 초과되면 환불하지 않고 MINT_UNKNOWN 으로 둔다.")
+    @Test
+    void process_mintTimeout() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(true));
+        given(nftService.requestMint("0xmember", "https://meta.data/1", "alias")).willReturn("0xtx");
+        given(receiptPoller.watch("0xtx")).willReturn(CompletableFuture.failedFuture(new TimeoutException("timeout")));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.MINT_UNKNOWN);
+        assertThat(order.getFailReason()).isEqualTo("KAS 트랜잭션 확인 시간이 초과되었습니다.");
+        assertThat(order.reconcileTransactionHash()).isEqualTo("0xtx");
+        verify(refundService, never()).request(any(), any());
+        verify(stockAdmissionService, never()).release(any());
+    }
+
+    @DisplayName("KAS 가 지불 요청을 거절(4xx)하면 FAILED 로 바뀌고 재고를 돌려준다.")
+    @Test
+    void process_paymentRejected() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willThrow(new ApiException(400, "insufficient balance"));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(stockAdmissionService).release(1L);
+        verify(refundService, never()).request(any(), any());
+        verify(receiptPoller, never()).watch(anyString());
+    }
+
+    @DisplayName("지불 요청 결과를 알 수 없으면(5xx) 실패로 보지 않고 재고를 돌려주지 않는다.")
+    @Test
+    void process_paymentResultUnknown() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willThrow(new ApiException(503, "kas unavailable"));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_UNKNOWN);
+        assertThat(order.reconcileTransactionHash()).isNull();
+        verify(stockAdmissionService, never()).release(any());
+        verify(refundService, never()).request(any(), any());
+    }
+
+    @DisplayName("지불을 보낸 뒤 주문 저장에 실패하면 해시를 남긴 채 PAYMENT_UNKNOWN 으로 둔다.")
+    @Test
+    void process_paidUpdateFailed() throws Exception {
+        // given
+        given(orderRepository.findByIdForUpdate(1L))
+                .willReturn(Optional.of(order), Optional.of(order))
+                .willThrow(new QueryTimeoutException("db timeout"))
+                .willReturn(Optional.of(order));
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(true));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_UNKNOWN);
+        assertThat(order.reconcileTransactionHash()).isEqualTo("0xpay");
+        verify(nftService, never()).requestMint(anyString(), anyString(), anyString());
+        verify(stockAdmissionService, never()).release(any());
+    }
+
+    @DisplayName("KAS 가 발행 요청을 거절(4xx)하면 환불 작업을 남기고 FAILED 로 바뀐다.")
+    @Test
+    void process_mintRejected() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(true));
+        given(nftService.requestMint("0xmember", "https://meta.data/1", "alias")).willThrow(new ApiException(400, "invalid token id"));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(refundService).request(order, 10);
+        verify(stockAdmissionService).release(1L);
+    }
+
+    @DisplayName("발행 요청 결과를 알 수 없으면 환불하지 않고 MINT_UNKNOWN 으로 둔다.")
+    @Test
+    void process_mintResultUnknown() throws Exception {
+        // given
+        given(nftService.requestPayment(10, "0xmember")).willReturn("0xpay");
+        given(receiptPoller.watch("0xpay")).willReturn(CompletableFuture.completedFuture(true));
+        given(nftService.requestMint("0xmember", "https://meta.data/1", "alias")).willThrow(new ApiException(500, "kas error"));
+
+        // when
+        orderProcessor.onOrderPlaced(new OrderPlacedEvent(1L));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.MINT_UNKNOWN);
+        assertThat(order.reconcileTransactionHash()).isNull();
+        verify(refundService, never()).request(any(), any());
+        verify(stockAdmissionService, never()).release(any());
+    }
+
+    @DisplayName("발행 결과를 모르던 주문은 영수증이 확정되면 COMPLETED 로 정산한다.")
+    @Test
+    void reconcile_mintCommitted() throws Exception {
+        // given
+        mintUnknown();
+        given(receiptPoller.lookup("0xtx")).willReturn(true);
+
+        // when
+        orderProcessor.reconcile(1L);
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(order.getTokenId()).isEqualTo("0xtx");
+        verify(salesStatisticsService).record(eq(order), any(ProductResponseDto.class));
+        verify(nftService, never()).requestMint(anyString(), anyString(), anyString());
+    }
+
+    @DisplayName("발행 결과를 모르던 주문은 영수증이 실패면 환불 작업을 남기고 FAILED 로 정산한다.")
+    @Test
+    void reconcile_mintFailed() throws Exception {
+        // given
+        mintUnknown();
+        given(receiptPoller.lookup("0xtx")).willReturn(false);
+
+        // when
+        orderProcessor.reconcile(1L);
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(refundService).request(order, 10);
+        verify(stockAdmissionService).release(1L);
+    }
+
+    @DisplayName("지불 결과를 모르던 주문은 영수증이 확정되면 이어서 토큰을 발행한다.")
+    @Test
+    void reconcile_paymentCommitted() throws Exception {
+        // given
+        order.paying();
+        order.paymentRequested("0xpay");
+        order.unknown("timeout");
+        given(receiptPoller.lookup("0xpay")).willReturn(true);
+        given(nftService.requestMint("0xmember", "https://meta.data/1", "alias")).willReturn("0xtx");
+        given(receiptPoller.watch("0xtx")).willReturn(CompletableFuture.completedFuture(true));
+
+        // when
+        orderProcessor.reconcile(1L);
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        verify(nftService, never()).requestPayment(anyInt(), anyString());
+    }
+
+    @DisplayName("영수증이 아직 확정 전이면 상태를 바꾸지 않는다.")
+    @Test
+    void reconcile_stillPending() {
+        // given
+        mintUnknown();
+        given(receiptPoller.lookup("0xtx")).willReturn(null);
+
+        // when
+        orderProcessor.reconcile(1L);
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.MINT_UNKNOWN);
+        verify(refundService, never()).request(any(), any());
+    }
+
+    @DisplayName("상태가 바뀐 지 오래된 처리 중 주문은 결과 미확인으로 넘긴다.")
+    @Test
+    void markUnknown_stale() {
+        // given
+        order.paying();
+        order.paymentRequested("0xpay");
+
+        // when
+        orderProcessor.markUnknown(1L, LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_UNKNOWN);
+        assertThat(order.reconcileTransactionHash()).isEqualTo("0xpay");
+    }
+
+    @DisplayName("주문은 오래됐어도 방금 발행을 시작한 주문은 건드리지 않아 발행 해시를 기록할 수 있다.")
+    @Test
+    void markUnknown_recentlyChanged() {
+        // given
+        ReflectionTestUtils.setField(order, "orderDate", LocalDateTime.now().minusHours(1));
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(10);
+        order.paying();
+        order.paymentRequested("0xpay");
+        order.paid();
+        order.minting();
+
+        // when
+        orderProcessor.markUnknown(1L, staleBefore);
+        order.mintRequested("0xtx");
+
+        // then
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.MINTING);
+        assertThat(order.getMintTransactionHash()).isEqualTo("0xtx");
+    }
+
+    private void mintUnknown() {
+        order.paying();
+        order.paymentRequested("0xpay");
+        order.paid();
+        order.minting();
+        order.mintRequested("0xtx");
+        order.unknown("timeout");
+    }
+}
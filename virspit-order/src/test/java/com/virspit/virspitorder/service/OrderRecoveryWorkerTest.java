@@ -0,0 +1,88 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.OrderStatus;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRecoveryWorkerTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderProcessor orderProcessor;
+    @Mock
+    private TaskScheduler orderRecoveryScheduler;
+
+    private OrderRecoveryWorker orderRecoveryWorker;
+
+    @BeforeEach
+    void setUp() {
+        orderRecoveryWorker = new OrderRecoveryWorker(orderRepository, orderProcessor, orderRecoveryScheduler, 10000, 60000, 600000, 100);
+    }
+
+    @DisplayName("오래된 PENDING 주문을 다시 워커에 넘기고, 큐가 가득 차면 다음 주기로 미룬다.")
+    @Test
+    void recover_stalePending() {
+        // given
+        Orders first = order(1L);
+        Orders second = order(2L);
+        Orders third = order(3L);
+        given(orderRepository.findByStatusInAndStatusChangedAtBefore(eq(List.of(OrderStatus.PAYING, OrderStatus.MINTING)), any(LocalDateTime.class), any()))
+                .willReturn(List.of());
+        given(orderRepository.findByStatusInAndStatusChangedAtBefore(eq(List.of(OrderStatus.PENDING)), any(LocalDateTime.class), any()))
+                .willReturn(List.of(first, second, third));
+        given(orderProcessor.dispatch(1L)).willReturn(true);
+        given(orderProcessor.dispatch(2L)).willReturn(false);
+
+        // when
+        orderRecoveryWorker.recover();
+
+        // then
+        verify(orderProcessor).dispatch(1L);
+        verify(orderProcessor).dispatch(2L);
+        verify(orderProcessor, never()).dispatch(3L);
+    }
+
+    @DisplayName("오래 처리 중인 주문은 결과 미확인으로 넘기고, 결과 미확인 주문은 영수증으로 정산한다.")
+    @Test
+    void recover_reconcile() {
+        // given
+        given(orderRepository.findReconcilable(any())).willReturn(List.of(order(1L)));
+        given(orderRepository.findByStatusInAndStatusChangedAtBefore(eq(List.of(OrderStatus.PAYING, OrderStatus.MINTING)), any(LocalDateTime.class), any()))
+                .willReturn(List.of(order(2L)));
+        given(orderRepository.findByStatusInAndStatusChangedAtBefore(eq(List.of(OrderStatus.PENDING)), any(LocalDateTime.class), any()))
+                .willReturn(List.of());
+
+        // when
+        orderRecoveryWorker.recover();
+
+        // then
+        verify(orderProcessor).reconcile(1L);
+        verify(orderProcessor).markUnknown(eq(2L), any(LocalDateTime.class));
+        verify(orderProcessor, never()).dispatch(any());
+    }
+
+    private Orders order(Long id) {
+        Orders order = new Orders(1L, 1L, "0xmember");
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
+    }
+}
@@ -1,24 +1,42 @@
 package com.virspit.virspitorder.service;
 
+import com.virspit.virspitorder.dto.response.CursorPagingResponseDto;
+import com.virspit.virspitorder.dto.response.OrdersResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
 import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.response.error.exception.BusinessException;
 import com.virspit.virspitorder.repository.OrderRepository;
+import com.virspit.virspitorder.util.OrderCursor;
 import com.virspit.virspitorder.util.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
@@ -29,6 +47,24 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderEnrichService orderEnrichService;
+
+    @Mock
+    private MemberCache memberCache;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StockAdmissionService stockAdmissionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     List<Orders> orders;
 
     @BeforeEach
@@ -60,4 +96,130 @@ class OrderServiceTest {
                 .willReturn(List.of(orders.get(1), orders.get(2), orders.get(3)).stream());
 
     }
-}
\ No newline at end of file
+
+    @DisplayName("커서 페이징 - 한 건 더 조회되면 마지막 주문의 (orderDate, id) 로 다음 커서를 만든다")
+    @Test
+    void getAllByCursor_hasNext() {
+        // given
+        given(orderRepository.findNextPage(any(LocalDateTime.class), any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 3))))
+                .willReturn(List.of(orders.get(0), orders.get(1), orders.get(2)));
+        given(orderEnrichService.enrich(anyList())).willAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+
+        // when
+        CursorPagingResponseDto<OrdersResponseDto> result = orderService.getAllByCursor(null, null, null, 2, false);
+
+        // then
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getList()).hasSize(2);
+        assertThat(result.getTotalCount()).isNull();
+        assertThat(OrderCursor.decode(result.getNextCursor())).isEqualTo(OrderCursor.of(orders.get(1)));
+    }
+
+    @DisplayName("커서 페이징 - 커서 다음 주문부터 조회하고 마지막 페이지면 nextCursor 가 없다")
+    @Test
+    void getAllByMemberCursor_last() {
+        // given
+        Orders last = orders.get(1);
+        given(orderRepository.findNextPageByMemberId(eq(1L), any(LocalDateTime.class), eq(last.getOrderDate()), eq(last.getId()), eq(PageRequest.of(0, 3))))
+                .willReturn(List.of(orders.get(2)));
+        given(orderRepository.countByMemberIdAndOrderDateBetween(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(3L);
+        given(orderEnrichService.enrich(anyList())).willReturn(List.of());
+
+        // when
+        CursorPagingResponseDto<OrdersResponseDto> result = orderService.getAllByMemberCursor(
+                1L, null, null, OrderCursor.of(last).encode(), 2, true);
+
+        // then
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotalCount()).isEqualTo(3L);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다시 주문하면 KAS, 상품 조회 없이 처음 주문을 돌려준다")
+    @Test
+    void order_replay() {
+        // given
+        Orders placed = orders.get(0);
+        OrdersResponseDto placedDto = OrdersResponseDto.builder().id(placed.getId()).build();
+        given(orderRepository.findByMemberIdAndIdempotencyKey(1L, "key-1")).willReturn(Optional.of(placed));
+        given(orderEnrichService.enrich(List.of(placed))).willReturn(List.of(placedDto));
+
+        // when
+        OrdersResponseDto result = orderService.order(1L, 1L, "key-1");
+
+        // then
+        assertThat(result).isEqualTo(placedDto);
+        verify(memberCache, never()).findWalletByMemberId(any());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @DisplayName("Idempotency-Key 는 토큰 id 가 아닌 idempotencyKey 로 저장된다")
+    @Test
+    void order_savesIdempotencyKey() {
+        // given
+        given(orderRepository.findByMemberIdAndIdempotencyKey(1L, "key-1")).willReturn(Optional.empty());
+        given(memberCache.findWalletByMemberId(1L)).willReturn("0xmember");
+        given(productCache.findByProductId(1L)).willReturn(ProductResponseDto.builder().id(1L).remainedCount(1).build());
+        given(stockAdmissionService.tryReserve(1L, 1L, 0L)).willReturn(true);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<Orders>>getArgument(0).doInTransaction(null));
+        given(orderRepository.save(any(Orders.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        orderService.order(1L, 1L, "key-1");
+
+        // then
+        ArgumentCaptor<Orders> captor = ArgumentCaptor.forClass(Orders.class);
+        verify(orderRepository).save(captor.capture());
+        assertThat(captor.getValue().getIdempotencyKey()).isEqualTo("key-1");
+        assertThat(captor.getValue().getTokenId()).isNull();
+        assertThat(captor.getValue().getMemberAddress()).isEqualTo("0xmember");
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다른 상품을 주문하면 예외가 발생한다")
+    @Test
+    void order_replayOtherProduct() {
+        // given
+        given(orderRepository.findByMemberIdAndIdempotencyKey(1L, "key-1")).willReturn(Optional.of(orders.get(0)));
+
+        // when, then
+        assertThatThrownBy(() -> orderService.order(1L, 2L, "key-1"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @DisplayName("같은 Idempotency-Key 의 요청이 동시에 저장되면 먼저 저장된 주문을 돌려준다")
+    @Test
+    void order_concurrentDuplicate() {
+        // given
+        Orders placed = orders.get(0);
+        OrdersResponseDto placedDto = OrdersResponseDto.builder().id(placed.getId()).build();
+        given(orderRepository.findByMemberIdAndIdempotencyKey(1L, "key-1"))
+                .willReturn(Optional.empty(), Optional.of(placed));
+        given(memberCache.findWalletByMemberId(1L)).willReturn("0xmember");
+        given(productCache.findByProductId(1L))
+                .willReturn(ProductResponseDto.builder().id(1L).build());
+        given(transactionTemplate.execute(any())).willThrow(new DataIntegrityViolationException("duplicate"));
+        given(orderEnrichService.enrich(List.of(placed))).willReturn(List.of(placedDto));
+
+        // when
+        OrdersResponseDto result = orderService.order(1L, 1L, "key-1");
+
+        // then
+        assertThat(result).isEqualTo(placedDto);
+    }
+
+    @DisplayName("품절로 기억된 상품은 지갑, 상품 조회 없이 바로 거절한다")
+    @Test
+    void order_soldOut() {
+        // given
+        given(stockAdmissionService.isSoldOut(1L)).willReturn(true);
+
+        // when, then
+        assertThatThrownBy(() -> orderService.order(1L, 1L, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("품절된 상품입니다.");
+        verify(memberCache, never()).findWalletByMemberId(any());
+        verify(productCache, never()).findByProductId(any());
+    }
+}
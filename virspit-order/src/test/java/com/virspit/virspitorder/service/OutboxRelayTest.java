@@ -0,0 +1,100 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.OutboxEvent;
+import com.virspit.virspitorder.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxKafkaTemplate, new TransactionTemplate(transactionManager),
+                taskScheduler, 200, 10, 1000, 7);
+    }
+
+    @DisplayName("발행에 성공한 이벤트만 발행 처리하고, 실패한 이벤트부터는 다음 주기에 다시 보낸다.")
+    @Test
+    void relay() {
+        // given
+        OutboxEvent first = event(1L, "{\"id\":1}");
+        OutboxEvent second = event(2L, "{\"id\":2}");
+        OutboxEvent third = event(3L, "{\"id\":3}");
+        given(outboxEventRepository.findUnpublished(any(Pageable.class))).willReturn(List.of(first, second, third));
+        given(outboxKafkaTemplate.send("order", "1", "{\"id\":1}")).willReturn(sent());
+        given(outboxKafkaTemplate.send("order", "2", "{\"id\":2}")).willReturn(failed());
+        given(outboxKafkaTemplate.send("order", "3", "{\"id\":3}")).willReturn(sent());
+
+        // when
+        int published = outboxRelay.relay();
+
+        // then
+        assertThat(published).isEqualTo(1);
+        assertThat(first.getPublishedAt()).isNotNull();
+        assertThat(second.getPublishedAt()).isNull();
+        assertThat(third.getPublishedAt()).isNull();
+        verify(outboxKafkaTemplate).flush();
+    }
+
+    @DisplayName("발행할 이벤트가 없으면 아무것도 보내지 않는다.")
+    @Test
+    void relay_empty() {
+        // given
+        given(outboxEventRepository.findUnpublished(any(Pageable.class))).willReturn(List.of());
+
+        // when
+        int published = outboxRelay.relay();
+
+        // then
+        assertThat(published).isZero();
+    }
+
+    private OutboxEvent event(Long id, String payload) {
+        OutboxEvent event = new OutboxEvent("order", String.valueOf(id), payload);
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+    private SettableListenableFuture<SendResult<String, String>> sent() {
+        SettableListenableFuture<SendResult<String, String>> future = new SettableListenableFuture<>();
+        future.set(null);
+        return future;
+    }
+
+    private SettableListenableFuture<SendResult<String, String>> failed() {
+        SettableListenableFuture<SendResult<String, String>> future = new SettableListenableFuture<>();
+        future.setException(new IllegalStateException("broker down"));
+        return future;
+    }
+}
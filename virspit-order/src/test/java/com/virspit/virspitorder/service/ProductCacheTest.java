@@ -0,0 +1,91 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.feign.ProductServiceFeignClient;
+import com.virspit.virspitorder.response.result.SuccessResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+    @Mock
+    private ProductServiceFeignClient productServiceFeignClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCache = new ProductCache(productServiceFeignClient, meterRegistry, 60, 100);
+    }
+
+    @DisplayName("한 번 조회한 상품은 TTL 동안 상품 서비스를 다시 호출하지 않는다.")
+    @Test
+    void findByProductId_hit() {
+        // given
+        given(productServiceFeignClient.findByProductId(1L))
+                .willReturn(SuccessResponse.of(ProductResponseDto.builder().id(1L).build()));
+
+        // when
+        productCache.findByProductId(1L);
+        ProductResponseDto result = productCache.findByProductId(1L);
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(productServiceFeignClient, times(1)).findByProductId(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "product").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("무효화된 상품은 다시 조회한다.")
+    @Test
+    void invalidate() {
+        // given
+        given(productServiceFeignClient.findByProductId(1L))
+                .willReturn(SuccessResponse.of(ProductResponseDto.builder().id(1L).build()));
+        productCache.findByProductId(1L);
+
+        // when
+        productCache.invalidate(1L);
+        productCache.findByProductId(1L);
+
+        // then
+        verify(productServiceFeignClient, times(2)).findByProductId(1L);
+    }
+
+    @DisplayName("일괄 조회는 캐시에 없는 상품만 상품 서비스에 요청한다.")
+    @Test
+    void findAllByProductIds_onlyMissed() {
+        // given
+        given(productServiceFeignClient.findByProductId(1L))
+                .willReturn(SuccessResponse.of(ProductResponseDto.builder().id(1L).build()));
+        given(productServiceFeignClient.findAllByProductIds(Set.of(2L, 3L)))
+                .willReturn(SuccessResponse.of(List.of(
+                        ProductResponseDto.builder().id(2L).build(),
+                        ProductResponseDto.builder().id(3L).build())));
+        productCache.findByProductId(1L);
+
+        // when
+        Map<Long, ProductResponseDto> result = productCache.findAllByProductIds(Set.of(1L, 2L, 3L));
+
+        // then
+        assertThat(result).containsOnlyKeys(1L, 2L, 3L);
+        verify(productServiceFeignClient, times(1)).findAllByProductIds(Set.of(2L, 3L));
+    }
+}
@@ -0,0 +1,174 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.Refund;
+import com.virspit.virspitorder.entity.RefundStatus;
+import com.virspit.virspitorder.repository.RefundRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RefundWorkerTest {
+
+    @Mock
+    private RefundRepository refundRepository;
+    @Mock
+    private NftService nftService;
+    @Mock
+    private TransactionReceiptPoller receiptPoller;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TaskScheduler refundWorkerScheduler;
+
+    private RefundWorker refundWorker;
+    private Refund refund;
+
+    @BeforeEach
+    void setUp() {
+        refundWorker = new RefundWorker(refundRepository, nftService, receiptPoller, new TransactionTemplate(transactionManager),
+                refundWorkerScheduler, new SimpleMeterRegistry(), 1000, 50, 2, 5000, 60000, 60000);
+        refund = new Refund(1L, "0xmember", 10);
+        ReflectionTestUtils.setField(refund, "id", 1L);
+    }
+
+    @DisplayName("환불 트랜잭션을 보내고 확정되면 COMPLETED 로 바뀐다.")
+    @Test
+    void process_completed() throws Exception {
+        // given
+        given(refundRepository.findDue(anyList(), any(LocalDateTime.class), any())).willReturn(List.of(refund));
+        given(nftService.rollBackSendKlay(10, "0xmember")).willReturn("0xrefund");
+        given(receiptPoller.watch("0xrefund")).willReturn(CompletableFuture.completedFuture(true));
+        given(refundRepository.findById(1L)).willReturn(Optional.of(refund));
+
+        // when
+        refundWorker.process();
+
+        // then
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.COMPLETED);
+        assertThat(refund.getAttempts()).isEqualTo(1);
+        assertThat(refund.getTransactionHash()).isEqualTo("0xrefund");
+    }
+
+    @DisplayName("환불을 보내기 전에 SUBMITTING 시도 기록을 먼저 커밋한다.")
+    @Test
+    void process_commitsAttemptBeforeSend() throws Exception {
+        // given
+        given(refundRepository.findDue(anyList(), any(LocalDateTime.class), any())).willReturn(List.of(refund));
+        given(refundRepository.findById(1L)).willReturn(Optional.of(refund));
+        given(nftService.rollBackSendKlay(10, "0xmember")).willAnswer(invocation -> {
+            assertThat(refund.getStatus()).isEqualTo(RefundStatus.SUBMITTING);
+            assertThat(refund.getAttempts()).isEqualTo(1);
+            return "0xrefund";
+        });
+        given(receiptPoller.watch("0xrefund")).willReturn(new CompletableFuture<>());
+
+        // when
+        refundWorker.process();
+
+        // then
+        InOrder inOrder = inOrder(transactionManager, nftService);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(nftService).rollBackSendKlay(10, "0xmember");
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.SUBMITTED);
+    }
+
+    @DisplayName("KAS 가 요청을 거절하면 백오프 후 다시 시도하고, 최대 횟수를 넘으면 FAILED 로 남긴다.")
+    @Test
+    void process_retry() throws Exception {
+        // given
+        given(refundRepository.findDue(anyList(), any(LocalDateTime.class), any())).willReturn(List.of(refund));
+        given(refundRepository.findById(1L)).willReturn(Optional.of(refund));
+        given(nftService.rollBackSendKlay(10, "0xmember")).willThrow(new ApiException(400, "kas error"));
+
+        // when
+        refundWorker.process();
+
+        // then
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.PENDING);
+        assertThat(refund.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(4));
+
+        // when
+        refundWorker.process();
+
+        // then
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.FAILED);
+        assertThat(refund.getAttempts()).isEqualTo(2);
+        verify(receiptPoller, never()).watch(any());
+    }
+
+    @DisplayName("영수증 확인 시간이 초과되면 다시 보내지 않고 SUBMITTED 로 둔다.")
+    @Test
+    void process_receiptTimeout() throws Exception {
+        // given
+        given(refundRepository.findDue(anyList(), any(LocalDateTime.class), any())).willReturn(List.of(refund));
+        given(refundRepository.findById(1L)).willReturn(Optional.of(refund));
+        given(nftService.rollBackSendKlay(10, "0xmember")).willReturn("0xrefund");
+        given(receiptPoller.watch("0xrefund")).willReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        // when
+        refundWorker.process();
+
+        // then
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.SUBMITTED);
+        // 전송과 해시 기록에서만 조회하고, 영수증 정산은 하지 않는다.
+        verify(refundRepository, times(2)).findById(1L);
+    }
+
+    @DisplayName("전송 결과를 알 수 없으면 다시 보내지 않고 UNKNOWN 으로 남긴다.")
+    @Test
+    void process_unknown() throws Exception {
+        // given
+        given(refundRepository.findDue(anyList(), any(LocalDateTime.class), any())).willReturn(List.of(refund));
+        given(refundRepository.findById(1L)).willReturn(Optional.of(refund));
+        given(nftService.rollBackSendKlay(10, "0xmember")).willThrow(new ApiException(503, "kas unavailable"));
+
+        // when
+        refundWorker.process();
+
+        // then
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.UNKNOWN);
+        verify(receiptPoller, never()).watch(any());
+    }
+
+    @DisplayName("해시를 기록하지 못한 SUBMITTING 환불은 다시 보내지 않고 UNKNOWN 으로 넘긴다.")
+    @Test
+    void process_staleSubmitting() throws Exception {
+        // given
+        refund.submitting(LocalDateTime.now().minusSeconds(1));
+        given(refundRepository.findDue(anyList(), any(LocalDateTime.class), any())).willReturn(List.of(refund));
+
+        // when
+        refundWorker.process();
+
+        // then
+        assertThat(refund.getStatus()).isEqualTo(RefundStatus.UNKNOWN);
+        verify(nftService, never()).rollBackSendKlay(any(), any());
+    }
+}
@@ -0,0 +1,109 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.dto.response.DailySalesResponseDto;
+import com.virspit.virspitorder.dto.response.ProductResponseDto;
+import com.virspit.virspitorder.dto.response.TeamPlayerInfo;
+import com.virspit.virspitorder.entity.Orders;
+import com.virspit.virspitorder.repository.SalesDailyRepository;
+import com.virspit.virspitorder.response.error.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SalesStatisticsServiceTest {
+
+    @InjectMocks
+    private SalesStatisticsService salesStatisticsService;
+
+    @Mock
+    private SalesDailyRepository salesDailyRepository;
+
+    @DisplayName("완료된 주문을 주문 일자, 상품, 선수 단위로 누적한다")
+    @Test
+    void record() {
+        // given
+        Orders order = Orders.builder()
+                .id(1L)
+                .memberId(1L)
+                .productId(3L)
+                .orderDate(LocalDateTime.of(2021, 10, 1, 23, 59))
+                .build();
+        ProductResponseDto product = ProductResponseDto.builder()
+                .id(3L)
+                .price(100)
+                .teamPlayerInfo(new TeamPlayerInfo(7L, "손흥민", "PLAYER"))
+                .build();
+
+        // when
+        salesStatisticsService.record(order, product);
+
+        // then
+        verify(salesDailyRepository).increase(LocalDate.of(2021, 10, 1), 3L, 7L, 100L);
+    }
+
+    @DisplayName("선수 정보가 없는 상품은 선수 id 없이 누적한다")
+    @Test
+    void record_noTeamPlayer() {
+        // given
+        Orders order = Orders.builder()
+                .id(1L)
+                .productId(3L)
+                .orderDate(LocalDateTime.of(2021, 10, 1, 12, 0))
+                .build();
+        ProductResponseDto product = ProductResponseDto.builder().id(3L).price(100).build();
+
+        // when
+        salesStatisticsService.record(order, product);
+
+        // then
+        verify(salesDailyRepository).increase(LocalDate.of(2021, 10, 1), 3L, null, 100L);
+    }
+
+    @DisplayName("기간을 주지 않으면 오늘까지 30일을 조회한다")
+    @Test
+    void getDailySales_defaultPeriod() {
+        // given
+        LocalDate today = LocalDate.now();
+        List<DailySalesResponseDto> sales = List.of(new DailySalesResponseDto(today, 2L, 200L));
+        given(salesDailyRepository.sumByDate(today.minusDays(29), today)).willReturn(sales);
+
+        // when
+        List<DailySalesResponseDto> result = salesStatisticsService.getDailySales(null, null);
+
+        // then
+        assertThat(result).isEqualTo(sales);
+    }
+
+    @DisplayName("startDate 가 endDate 보다 크면 예외가 발생한다")
+    @Test
+    void getProductSales_invalidPeriod() {
+        // when, then
+        assertThatThrownBy(() -> salesStatisticsService.getProductSales("2021-10-02", "2021-10-01"))
+                .isInstanceOf(BusinessException.class);
+        verify(salesDailyRepository, never()).sumByProduct(any(), any());
+    }
+
+    @DisplayName("날짜 형식이 다르면 예외가 발생한다")
+    @Test
+    void getTeamPlayerSales_invalidFormat() {
+        // when, then
+        assertThatThrownBy(() -> salesStatisticsService.getTeamPlayerSales("2021/10/01", null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("날짜는 yyyy-MM-dd 형식으로 입력해주세요.");
+    }
+}
@@ -0,0 +1,172 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.entity.ProductStock;
+import com.virspit.virspitorder.repository.ProductStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StockAdmissionServiceTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    private StockAdmissionService stockAdmissionService;
+
+    @BeforeEach
+    void setUp() {
+        stockAdmissionService = new StockAdmissionService(productStockRepository, 2, 60000);
+    }
+
+    @DisplayName("처음 주문되는 상품은 남은 수량을 버킷으로 나눠 만들고 한 개를 예약한다")
+    @Test
+    void tryReserve() {
+        // given
+        given(productStockRepository.decrease(eq(1L), anyInt())).willReturn(1);
+
+        // when
+        boolean reserved = stockAdmissionService.tryReserve(1L, 101, 3L);
+
+        // then
+        assertThat(reserved).isTrue();
+        assertThat(stockAdmissionService.isSoldOut(1L)).isFalse();
+        verify(productStockRepository).insertIfAbsent(1L, 0, 51, 3L);
+        verify(productStockRepository).insertIfAbsent(1L, 1, 50, 3L);
+    }
+
+    @DisplayName("버킷을 확인한 상품은 다음 주문부터 버킷을 만들지 않는다")
+    @Test
+    void tryReserve_seededOnce() {
+        // given
+        given(productStockRepository.existsByProductId(1L)).willReturn(true);
+        given(productStockRepository.decrease(eq(1L), anyInt())).willReturn(1);
+
+        // when
+        stockAdmissionService.tryReserve(1L, 100, 0L);
+        stockAdmissionService.tryReserve(1L, 100, 0L);
+
+        // then
+        verify(productStockRepository).existsByProductId(1L);
+        verify(productStockRepository, never()).insertIfAbsent(eq(1L), anyInt(), anyLong(), anyLong());
+    }
+
+    @DisplayName("모든 버킷이 비어 있으면 예약하지 못하고 품절로 기억한다")
+    @Test
+    void tryReserve_soldOut() {
+        // given
+        given(productStockRepository.decrease(eq(1L), anyInt())).willReturn(0);
+
+        // when
+        boolean reserved = stockAdmissionService.tryReserve(1L, 100, 0L);
+
+        // then
+        assertThat(reserved).isFalse();
+        assertThat(stockAdmissionService.isSoldOut(1L)).isTrue();
+        verify(productStockRepository).decrease(1L, 0);
+        verify(productStockRepository).decrease(1L, 1);
+    }
+
+    @DisplayName("예약을 되돌리면 품절 기억도 지운다")
+    @Test
+    void release() {
+        // given
+        given(productStockRepository.decrease(eq(1L), anyInt())).willReturn(0);
+        given(productStockRepository.increase(eq(1L), anyInt())).willReturn(1);
+        stockAdmissionService.tryReserve(1L, 100, 0L);
+
+        // when
+        stockAdmissionService.release(1L);
+
+        // then
+        assertThat(stockAdmissionService.isSoldOut(1L)).isFalse();
+    }
+
+    @DisplayName("상품 이벤트로 처음 보는 상품의 버킷을 만든다")
+    @Test
+    void sync_seed() {
+        // given
+        given(productStockRepository.findAllByProductIdForUpdate(1L)).willReturn(List.of());
+
+        // when
+        stockAdmissionService.sync(1L, 10, 2L, 5);
+
+        // then
+        verify(productStockRepository).insertIfAbsent(1L, 0, 5, 2L);
+        verify(productStockRepository).insertIfAbsent(1L, 1, 5, 2L);
+    }
+
+    @DisplayName("재입고는 음수 버킷을 먼저 채우고 나머지를 나눠 더한다")
+    @Test
+    void sync_restock() {
+        // given
+        ProductStock first = stock(0, -2L, 1L);
+        ProductStock second = stock(1, 0L, 1L);
+        given(productStockRepository.findAllByProductIdForUpdate(1L)).willReturn(List.of(first, second));
+
+        // when
+        stockAdmissionService.sync(1L, 5, 2L, 5);
+
+        // then
+        assertThat(first.getRemaining()).isEqualTo(2L);
+        assertThat(second.getRemaining()).isEqualTo(1L);
+        assertThat(first.getStockRevision()).isEqualTo(2L);
+        assertThat(second.getStockRevision()).isEqualTo(2L);
+    }
+
+    @DisplayName("이미 반영한 stockRevision 의 이벤트가 다시 오면 무시한다")
+    @Test
+    void sync_alreadyRestocked() {
+        // given
+        ProductStock first = stock(0, 3L, 2L);
+        ProductStock second = stock(1, 3L, 2L);
+        given(productStockRepository.findAllByProductIdForUpdate(1L)).willReturn(List.of(first, second));
+
+        // when
+        stockAdmissionService.sync(1L, 5, 2L, 5);
+
+        // then
+        assertThat(first.getRemaining()).isEqualTo(3L);
+        assertThat(second.getRemaining()).isEqualTo(3L);
+        verify(productStockRepository, never()).insertIfAbsent(eq(1L), anyInt(), anyLong(), anyLong());
+    }
+
+    @DisplayName("수량을 줄이면 재고가 남은 버킷부터 빼고, 모자라면 첫 버킷을 음수로 둔다")
+    @Test
+    void sync_reduce() {
+        // given
+        ProductStock first = stock(0, 0L, 1L);
+        ProductStock second = stock(1, 2L, 1L);
+        given(productStockRepository.findAllByProductIdForUpdate(1L)).willReturn(List.of(first, second));
+
+        // when
+        stockAdmissionService.sync(1L, 0, 2L, -3);
+
+        // then
+        assertThat(first.getRemaining()).isEqualTo(-1L);
+        assertThat(second.getRemaining()).isEqualTo(0L);
+    }
+
+    private ProductStock stock(int bucket, long remaining, long stockRevision) {
+        return ProductStock.builder()
+                .productId(1L)
+                .bucket(bucket)
+                .remaining(remaining)
+                .stockRevision(stockRevision)
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.virspit.virspitorder.service;
+
+import com.virspit.virspitorder.repository.TokenSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIdAllocatorTest {
+
+    @Mock
+    private TokenSequenceService tokenSequenceService;
+
+    @Mock
+    private TokenSequenceRepository tokenSequenceRepository;
+
+    private TokenIdAllocator tokenIdAllocator;
+
+    @BeforeEach
+    void setUp() {
+        tokenIdAllocator = new TokenIdAllocator(tokenSequenceService, tokenSequenceRepository, 3);
+    }
+
+    @DisplayName("예약한 블록 안에서는 KAS, DB 조회 없이 순서대로 id 를 나눠준다.")
+    @Test
+    void nextTokenId() throws Exception {
+        // given
+        given(tokenSequenceService.reserve("alias", 3)).willReturn(11L, 14L);
+
+        // when
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(tokenIdAllocator.nextTokenId("alias"));
+        }
+
+        // then
+        assertThat(ids).containsExactly("0xb", "0xc", "0xd", "0xe");
+        verify(tokenSequenceService, times(2)).reserve("alias", 3);
+    }
+
+    @DisplayName("컨트랙트마다 따로 id 를 나눠준다.")
+    @Test
+    void nextTokenId_perContract() throws Exception {
+        // given
+        given(tokenSequenceService.reserve("a", 3)).willReturn(1L);
+        given(tokenSequenceService.reserve("b", 3)).willReturn(101L);
+
+        // when
+        String a = tokenIdAllocator.nextTokenId("a");
+        String b = tokenIdAllocator.nextTokenId("b");
+
+        // then
+        assertThat(a).isEqualTo("0x1");
+        assertThat(b).isEqualTo("0x65");
+    }
+}
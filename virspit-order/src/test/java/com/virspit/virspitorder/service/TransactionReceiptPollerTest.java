@@ -0,0 +1,111 @@
+package com.virspit.virspitorder.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ReflectionUtils;
+import xyz.groundx.caver_ext_kas.CaverExtKAS;
+import xyz.groundx.caver_ext_kas.kas.wallet.Wallet;
+import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.api.wallet.model.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionReceiptPollerTest {
+
+    @Mock
+    private Wallet wallet;
+    @Mock
+    private TaskScheduler receiptPollerScheduler;
+
+    private CaverExtKAS caver;
+
+    @BeforeEach
+    void setUp() {
+        caver = mock(CaverExtKAS.class);
+        Object kas = mock(ReflectionUtils.findField(CaverExtKAS.class, "kas").getType());
+        ReflectionTestUtils.setField(kas, "wallet", wallet);
+        ReflectionTestUtils.setField(caver, "kas", kas);
+    }
+
+    @DisplayName("제한 시간이 지나도 마지막으로 한 번 더 조회해서 확정된 트랜잭션은 true 로 완료한다.")
+    @Test
+    void poll_finalLookupBeforeTimeout() throws Exception {
+        // given
+        TransactionReceiptPoller poller = poller(new SyncTaskExecutor(), 0);
+        TransactionReceipt receipt = receipt("Committed");
+        given(wallet.getTransaction("0xtx")).willReturn(receipt);
+        CompletableFuture<Boolean> future = poller.watch("0xtx");
+
+        // when
+        poller.poll();
+
+        // then
+        assertThat(future.get()).isTrue();
+    }
+
+    @DisplayName("마지막 조회에서도 확정되지 않으면 TimeoutException 으로 완료한다.")
+    @Test
+    void poll_timeout() throws Exception {
+        // given
+        TransactionReceiptPoller poller = poller(new SyncTaskExecutor(), 0);
+        TransactionReceipt receipt = receipt("Pending");
+        given(wallet.getTransaction("0xtx")).willReturn(receipt);
+        CompletableFuture<Boolean> future = poller.watch("0xtx");
+
+        // when
+        poller.poll();
+
+        // then
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @DisplayName("조회는 스케줄러 스레드가 아닌 조회 스레드에 나눠 맡기고, 조회 중인 해시는 다시 맡기지 않는다.")
+    @Test
+    void poll_dispatchesLookups() throws Exception {
+        // given
+        List<Runnable> lookups = new ArrayList<>();
+        TransactionReceiptPoller poller = poller(lookups::add, 60000);
+        poller.watch("0xa");
+        poller.watch("0xb");
+
+        // when
+        poller.poll();
+        poller.poll();
+
+        // then
+        assertThat(lookups).hasSize(2);
+        verify(wallet, never()).getTransaction(anyString());
+    }
+
+    private TransactionReceiptPoller poller(TaskExecutor receiptLookupExecutor, long timeoutMillis) {
+        return new TransactionReceiptPoller(caver, receiptPollerScheduler, receiptLookupExecutor, 500, 4000, timeoutMillis);
+    }
+
+    private TransactionReceipt receipt(String status) {
+        TransactionReceipt receipt = mock(TransactionReceipt.class);
+        given(receipt.getStatus()).willReturn(status);
+        return receipt;
+    }
+}
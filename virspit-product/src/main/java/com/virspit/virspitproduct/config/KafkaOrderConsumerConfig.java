@@ -26,12 +26,19 @@ public class KafkaOrderConsumerConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${spring.kafka.listener.concurrency}")
+    private int concurrency;
+
+    @Value("${spring.kafka.consumer.max-poll-records}")
+    private int maxPollRecords;
+
     @Bean
     public ConsumerFactory<String, OrderDto> orderConsumer() {
         Map<String, Object> configs = new HashMap<>();
         configs.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServer);
         configs.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configs.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        configs.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
         return new DefaultKafkaConsumerFactory<>(configs, new StringDeserializer(), new ErrorHandlingDeserializer<>(new JsonDeserializer<>(OrderDto.class)));
     }
@@ -40,6 +47,9 @@ public class KafkaOrderConsumerConfig {
     public ConcurrentKafkaListenerContainerFactory<String, OrderDto> orderFactory() {
         ConcurrentKafkaListenerContainerFactory<String, OrderDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(orderConsumer());
+        factory.setConcurrency(concurrency);
+        // poll 한 레코드를 한 번에 받아 상품별로 모아서 처리한다.
+        factory.setBatchListener(true);
         return factory;
     }
 }
@@ -19,6 +19,12 @@ public class KafkaTopicConfig {
     @Value("${spring.kafka.topic.product}")
     private String topic;
 
+    @Value("${spring.kafka.topic.partitions}")
+    private int partitions;
+
+    @Value("${spring.kafka.topic.replicas}")
+    private int replicas;
+
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -30,8 +36,8 @@ public class KafkaTopicConfig {
     public NewTopic newTopic() {
         return TopicBuilder
                 .name(topic)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 }
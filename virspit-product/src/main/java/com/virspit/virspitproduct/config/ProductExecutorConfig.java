@@ -0,0 +1,50 @@
+package com.virspit.virspitproduct.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ProductExecutorConfig {
+
+    // 상품 등록 단계(컨트랙트 배포, IPFS/S3 업로드)를 동시에 실행하는 스레드
+    @Bean
+    public ThreadPoolTaskExecutor productPublishExecutor(@Value("${product.publish.pool-size}") int poolSize,
+                                                        @Value("${product.publish.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("product-publish-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // 업로드된 이미지를 줄이는 스레드. CPU 를 쓰는 작업이라 작게 둔다.
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(@Value("${product.image-variant.pool-size}") int poolSize,
+                                                      @Value("${product.image-variant.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // 영수증 조회(KAS API 호출)를 동시에 하는 스레드. 해시마다 한 번에 하나의 조회만 돈다.
+    @Bean
+    public ThreadPoolTaskExecutor receiptLookupExecutor(@Value("${kas.receipt.lookup-pool-size:8}") int poolSize,
+                                                       @Value("${kas.receipt.lookup-queue-capacity:2000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("receipt-lookup-");
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.virspit.virspitproduct.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulerConfig {
+
+    // 대기 중인 트랜잭션 영수증 중 조회할 차례가 된 것을 고르는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler receiptPollerScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("receipt-poller-");
+        return scheduler;
+    }
+
+    // outbox 이벤트를 모아서 발행하는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler outboxRelayScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("outbox-relay-");
+        return scheduler;
+    }
+
+    // 미리 배포해 둔 컨트랙트 풀을 채우는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler contractPoolScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("contract-pool-");
+        return scheduler;
+    }
+
+    // 등록 작업이 중단된 DRAFT 상품을 정리하는 단일 스레드
+    @Bean
+    public ThreadPoolTaskScheduler productDraftScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("product-draft-");
+        return scheduler;
+    }
+}
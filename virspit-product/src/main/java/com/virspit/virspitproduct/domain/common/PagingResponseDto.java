@@ -1,6 +1,7 @@
 package com.virspit.virspitproduct.domain.common;
 
 import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -10,6 +11,11 @@ import java.util.List;
 @AllArgsConstructor
 @Getter
 public class PagingResponseDto<T> {
+    @ApiModelProperty("전체 개수. withCount=false 이면 null")
     private Long totalCount;
+
+    @ApiModelProperty("다음 페이지 존재 여부")
+    private boolean hasNext;
+
     private List<T> list;
 }
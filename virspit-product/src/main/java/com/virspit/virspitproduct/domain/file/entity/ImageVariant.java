@@ -0,0 +1,20 @@
+package com.virspit.virspitproduct.domain.file.entity;
+
+import lombok.Getter;
+
+public enum ImageVariant {
+    // 목록의 작은 썸네일
+    THUMBNAIL(200),
+    // 상품 카드
+    CARD(480),
+    // 상세 화면
+    DETAIL(1200);
+
+    // 긴 변의 최대 길이(px)
+    @Getter
+    private final int maxSize;
+
+    ImageVariant(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
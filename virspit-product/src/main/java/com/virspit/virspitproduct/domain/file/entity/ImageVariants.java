@@ -0,0 +1,28 @@
+package com.virspit.virspitproduct.domain.file.entity;
+
+import lombok.*;
+
+import javax.persistence.Embeddable;
+import java.util.Map;
+
+/**
+ * 원본 이미지를 줄여 만든 이미지들의 주소. 만들어지기 전에는 비어 있다.
+ */
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ImageVariants {
+    private String thumbnailUrl;
+
+    private String cardUrl;
+
+    private String detailUrl;
+
+    public ImageVariants(Map<ImageVariant, String> urls) {
+        this.thumbnailUrl = urls.get(ImageVariant.THUMBNAIL);
+        this.cardUrl = urls.get(ImageVariant.CARD);
+        this.detailUrl = urls.get(ImageVariant.DETAIL);
+    }
+}
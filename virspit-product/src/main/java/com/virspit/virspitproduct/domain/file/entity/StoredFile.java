@@ -0,0 +1,46 @@
+package com.virspit.virspitproduct.domain.file.entity;
+
+import com.virspit.virspitproduct.domain.common.BaseEntity;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 내용의 SHA-256 으로 이름을 붙여 저장한 파일과 그 파일을 쓰는 곳의 수.
+ * 같은 내용은 한 번만 올리고, 참조가 0 이 되면 지운다.
+ */
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class StoredFile extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(nullable = false, unique = true, length = 100)
+    private String fileKey;
+
+    @NotNull
+    @Column(nullable = false, unique = true)
+    private String url;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer referenceCount;
+
+    public StoredFile(String fileKey, String url) {
+        this.fileKey = fileKey;
+        this.url = url;
+        this.referenceCount = 1;
+    }
+
+    // 참조를 하나 줄이고, 마지막 참조였으면 true
+    public boolean release() {
+        referenceCount = Math.max(referenceCount - 1, 0);
+        return referenceCount == 0;
+    }
+}
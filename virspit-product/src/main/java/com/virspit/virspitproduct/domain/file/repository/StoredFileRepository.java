@@ -0,0 +1,26 @@
+package com.virspit.virspitproduct.domain.file.repository;
+
+import com.virspit.virspitproduct.domain.file.entity.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+
+    Optional<StoredFile> findByFileKey(String fileKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select f from StoredFile f where f.url = :url")
+    Optional<StoredFile> findByUrlForUpdate(@Param("url") String url);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update StoredFile f set f.referenceCount = f.referenceCount + 1 where f.fileKey = :fileKey")
+    int increaseReference(@Param("fileKey") String fileKey);
+}
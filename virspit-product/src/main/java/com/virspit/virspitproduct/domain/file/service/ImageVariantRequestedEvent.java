@@ -0,0 +1,17 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.web.multipart.MultipartFile;
+
+@ToString(of = {"target", "targetId", "sourceUrl"})
+@Getter
+@AllArgsConstructor
+public class ImageVariantRequestedEvent {
+    private final ImageVariantTarget target;
+    private final Long targetId;
+    // 변환 중에 원본이 바뀌었는지 확인하는 데 쓴다.
+    private final String sourceUrl;
+    private final MultipartFile sourceFile;
+}
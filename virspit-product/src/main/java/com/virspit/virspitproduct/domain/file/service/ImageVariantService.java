@@ -0,0 +1,72 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import com.virspit.virspitproduct.domain.file.entity.ImageVariant;
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
+import com.virspit.virspitproduct.util.file.BufferedMultipartFile;
+import com.virspit.virspitproduct.util.file.ContentType;
+import com.virspit.virspitproduct.util.file.FileStore;
+import com.virspit.virspitproduct.util.image.ImageResizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 원본 이미지를 THUMBNAIL, CARD, DETAIL 크기의 JPEG 로 줄여 FileStore 에 올린다.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+    private static final String JPEG_CONTENT_TYPE = "image/jpeg";
+
+    private final FileStore awsS3FileStore;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageVariantService(FileStore awsS3FileStore,
+                               @Value("${product.image-variant.jpeg-quality}") float jpegQuality,
+                               @Value("${product.image-variant.max-pixels}") long maxPixels) {
+        this.awsS3FileStore = awsS3FileStore;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * @return 읽을 수 없는 이미지 형식이면 null
+     */
+    public ImageVariants create(final MultipartFile source, final ContentType contentType) throws IOException {
+        BufferedImage image = ImageResizer.read(source.getInputStream(), maxPixels);
+        if (image == null) {
+            log.warn("unsupported image format. filename={}, contentType={}", source.getOriginalFilename(), source.getContentType());
+            return null;
+        }
+
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        try {
+            for (ImageVariant variant : ImageVariant.values()) {
+                byte[] resized = ImageResizer.toJpeg(image, variant.getMaxSize(), jpegQuality);
+                String filename = variant.name().toLowerCase() + ".jpg";
+                urls.put(variant, awsS3FileStore.uploadFile(BufferedMultipartFile.of(filename, JPEG_CONTENT_TYPE, resized), contentType));
+            }
+        } catch (IOException | RuntimeException e) {
+            urls.values().forEach(url -> awsS3FileStore.deleteFile(url, contentType));
+            throw e;
+        }
+        return new ImageVariants(urls);
+    }
+
+    public void delete(final ImageVariants variants, final ContentType contentType) {
+        if (variants == null) {
+            return;
+        }
+        Stream.of(variants.getThumbnailUrl(), variants.getCardUrl(), variants.getDetailUrl())
+                .filter(url -> url != null)
+                .forEach(url -> awsS3FileStore.deleteFile(url, contentType));
+    }
+}
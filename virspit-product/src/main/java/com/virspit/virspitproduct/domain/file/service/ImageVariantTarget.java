@@ -0,0 +1,17 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import com.virspit.virspitproduct.util.file.ContentType;
+import lombok.Getter;
+
+public enum ImageVariantTarget {
+    PRODUCT_NFT_IMAGE(ContentType.PRODUCT_NFT_IMAGE),
+    PRODUCT_DETAIL_IMAGE(ContentType.PRODUCT_DETAIL_IMAGE),
+    SPORTS_ICON_IMAGE(ContentType.SPORTS_ICON_IMAGE);
+
+    @Getter
+    private final ContentType contentType;
+
+    ImageVariantTarget(final ContentType contentType) {
+        this.contentType = contentType;
+    }
+}
@@ -0,0 +1,110 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
+import com.virspit.virspitproduct.domain.product.dto.response.KafkaEvent;
+import com.virspit.virspitproduct.domain.product.dto.response.ProductKafkaDto;
+import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
+import com.virspit.virspitproduct.domain.product.kafka.KafkaProductProducer;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
+import com.virspit.virspitproduct.domain.sports.repository.SportsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 원본 이미지가 저장된 트랜잭션이 커밋된 뒤 줄인 이미지를 만들어 대상에 붙인다.
+ * 이미지 변환은 CPU 를 쓰므로 요청 스레드, 상품 등록 스레드와 분리된 imageVariantExecutor 에서 처리한다.
+ * 만드는 동안 원본이 바뀌었거나 대상이 지워졌으면 만든 이미지를 지운다.
+ */
+@Slf4j
+@Component
+public class ImageVariantWorker {
+    private final ImageVariantService imageVariantService;
+    private final ProductRepository productRepository;
+    private final SportsRepository sportsRepository;
+    private final KafkaProductProducer kafkaProductProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor imageVariantExecutor;
+
+    public ImageVariantWorker(ImageVariantService imageVariantService,
+                              ProductRepository productRepository,
+                              SportsRepository sportsRepository,
+                              KafkaProductProducer kafkaProductProducer,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier("imageVariantExecutor") Executor imageVariantExecutor) {
+        this.imageVariantService = imageVariantService;
+        this.productRepository = productRepository;
+        this.sportsRepository = sportsRepository;
+        this.kafkaProductProducer = kafkaProductProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.imageVariantExecutor = imageVariantExecutor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImageVariantRequested(ImageVariantRequestedEvent event) {
+        if (event.getSourceFile() == null || event.getSourceFile().isEmpty()) {
+            return;
+        }
+        try {
+            imageVariantExecutor.execute(() -> process(event));
+        } catch (RejectedExecutionException e) {
+            // 원본 이미지는 그대로 쓸 수 있으므로 줄인 이미지 없이 둔다.
+            log.warn("image variant queue is full. {}", event);
+        }
+    }
+
+    void process(ImageVariantRequestedEvent event) {
+        ImageVariants variants;
+        try {
+            variants = imageVariantService.create(event.getSourceFile(), event.getTarget().getContentType());
+        } catch (Exception e) {
+            log.error("image variant creation failed. {}", event, e);
+            return;
+        }
+        if (variants == null) {
+            return;
+        }
+
+        Boolean applied = transactionTemplate.execute(status -> apply(event, variants));
+        if (!Boolean.TRUE.equals(applied)) {
+            log.info("image source changed while creating variants. {}", event);
+            imageVariantService.delete(variants, event.getTarget().getContentType());
+        }
+    }
+
+    private boolean apply(ImageVariantRequestedEvent event, ImageVariants variants) {
+        switch (event.getTarget()) {
+            case PRODUCT_NFT_IMAGE:
+            case PRODUCT_DETAIL_IMAGE:
+                return applyToProduct(event, variants);
+            case SPORTS_ICON_IMAGE:
+                return sportsRepository.findById(event.getTargetId())
+                        .map(sports -> sports.applyIconVariants(event.getSourceUrl(), variants))
+                        .orElse(false);
+            default:
+                throw new IllegalArgumentException("unknown image variant target : " + event.getTarget());
+        }
+    }
+
+    private boolean applyToProduct(ImageVariantRequestedEvent event, ImageVariants variants) {
+        Product product = productRepository.findById(event.getTargetId()).orElse(null);
+        if (product == null) {
+            return false;
+        }
+        boolean applied = event.getTarget() == ImageVariantTarget.PRODUCT_NFT_IMAGE
+                ? product.applyNftImageVariants(event.getSourceUrl(), variants)
+                : product.applyDetailImageVariants(event.getSourceUrl(), variants);
+        if (applied && product.getStatus() == ProductStatus.PUBLISHED) {
+            // 주문 서비스의 상품 캐시가 줄인 이미지 주소를 받도록 상품 이벤트를 다시 보낸다.
+            kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.UPDATE));
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,59 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import com.virspit.virspitproduct.domain.file.entity.StoredFile;
+import com.virspit.virspitproduct.domain.file.repository.StoredFileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 내용 주소로 저장한 파일의 참조 수를 관리한다.
+ * 상품/종목 트랜잭션과 상관없이 바로 커밋해서 참조 행의 잠금을 오래 잡지 않는다.
+ * 바깥 트랜잭션이 롤백되면 참조 수가 하나 남을 수 있는데, 이때는 파일이 지워지지 않고 남을 뿐이다.
+ */
+@Service
+@RequiredArgsConstructor
+public class StoredFileService {
+    private final StoredFileRepository storedFileRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<String> findUrl(final String fileKey) {
+        return storedFileRepository.findByFileKey(fileKey).map(StoredFile::getUrl);
+    }
+
+    // 이미 저장된 내용이면 참조를 늘린다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean acquire(final String fileKey) {
+        return storedFileRepository.increaseReference(fileKey) > 0;
+    }
+
+    // 새로 올린 파일을 등록한다. 같은 내용이 동시에 올라와 먼저 등록됐으면 DataIntegrityViolationException 이 난다.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void register(final String fileKey, final String url) {
+        storedFileRepository.saveAndFlush(new StoredFile(fileKey, url));
+    }
+
+    /**
+     * 참조를 하나 줄이고, 더 이상 쓰는 곳이 없으면 실제 파일을 지운 뒤 등록을 지운다.
+     * 행을 잠근 채로 파일을 지우므로, 같은 내용을 올리는 요청은 acquire 에서 기다렸다가 행이 없으면 새로 올린다.
+     * 등록을 먼저 지우면 그 사이 새로 올린 파일을 늦게 도착한 삭제가 지울 수 있다.
+     * 파일 삭제가 실패하면 참조 수도 롤백된다.
+     *
+     * @param objectDeleter 파일 키로 실제 파일을 지우는 함수
+     * @return 실제 파일을 지웠으면 true
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(final String url, final Consumer<String> objectDeleter) {
+        Optional<StoredFile> storedFile = storedFileRepository.findByUrlForUpdate(url);
+        if (storedFile.isEmpty() || !storedFile.get().release()) {
+            return false;
+        }
+        objectDeleter.accept(storedFile.get().getFileKey());
+        storedFileRepository.delete(storedFile.get());
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package com.virspit.virspitproduct.domain.outbox.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * 비즈니스 변경과 같은 트랜잭션에 저장하는 Kafka 이벤트.
+ * OutboxRelay 가 id 순서대로 읽어 발행하고 publishedAt 을 채운다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_published_at", columnList = "publishedAt, id"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private String topic;
+
+    private String messageKey;
+
+    @Lob
+    @NotNull
+    private String payload;
+
+    @NotNull
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(final String topic, final String messageKey, final String payload) {
+        this.topic = topic;
+        this.messageKey = messageKey;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void published(final LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -0,0 +1,127 @@
+package com.virspit.virspitproduct.domain.outbox.service;
+
+import com.virspit.virspitproduct.domain.outbox.entity.OutboxEvent;
+import com.virspit.virspitproduct.domain.outbox.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * outbox 에 쌓인 이벤트를 id 순서대로 모아 Kafka 로 발행한다.
+ * 한 번에 batch-size 만큼 보내고 flush 한 뒤, 성공한 이벤트까지만 발행 처리한다.
+ * 실패하면 그 이벤트부터 다음 주기에 다시 보내므로 최소 한 번(at-least-once) 발행이다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler outboxRelayScheduler;
+    private final long intervalMillis;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+    private final int retentionDays;
+
+    public OutboxRelay(final OutboxEventRepository outboxEventRepository,
+                       @Qualifier("outboxKafkaTemplate") final KafkaTemplate<String, String> outboxKafkaTemplate,
+                       final TransactionTemplate transactionTemplate,
+                       @Qualifier("outboxRelayScheduler") final TaskScheduler outboxRelayScheduler,
+                       @Value("${outbox.relay.interval-ms}") final long intervalMillis,
+                       @Value("${outbox.relay.batch-size}") final int batchSize,
+                       @Value("${outbox.relay.send-timeout-ms}") final long sendTimeoutMillis,
+                       @Value("${outbox.retention-days}") final int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxRelayScheduler = outboxRelayScheduler;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.retentionDays = retentionDays;
+    }
+
+    @PostConstruct
+    public void start() {
+        outboxRelayScheduler.scheduleWithFixedDelay(this::drain, Duration.ofMillis(intervalMillis));
+        outboxRelayScheduler.scheduleWithFixedDelay(this::purge, Duration.ofHours(1));
+    }
+
+    void drain() {
+        try {
+            // 꽉 찬 배치를 보냈다면 남은 이벤트가 있을 수 있으므로 바로 이어서 보낸다.
+            while (relay() == batchSize) {
+                log.debug("outbox relay continues");
+            }
+        } catch (Exception e) {
+            log.error("outbox relay failed", e);
+        }
+    }
+
+    int relay() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            List<ListenableFuture<SendResult<String, String>>> futures = new ArrayList<>(events.size());
+            for (OutboxEvent event : events) {
+                futures.add(outboxKafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()));
+            }
+            outboxKafkaTemplate.flush();
+
+            LocalDateTime now = LocalDateTime.now();
+            int count = 0;
+            for (int i = 0; i < events.size(); i++) {
+                if (!awaitSent(events.get(i), futures.get(i))) {
+                    break;
+                }
+                events.get(i).published(now);
+                count++;
+            }
+            return count;
+        });
+        return published == null ? 0 : published;
+    }
+
+    private boolean awaitSent(final OutboxEvent event, final ListenableFuture<SendResult<String, String>> future) {
+        try {
+            future.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("outbox event send failed. id={}, topic={}", event.getId(), event.getTopic(), e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    void purge() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+            log.info("outbox purged. deleted={}", deleted);
+        } catch (Exception e) {
+            log.error("outbox purge failed", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.virspit.virspitproduct.domain.product.controller;
 
 import com.virspit.virspitproduct.domain.common.PagingResponseDto;
 import com.virspit.virspitproduct.domain.common.SuccessResponse;
+import com.virspit.virspitproduct.domain.product.dto.request.ProductPublishRequestDto;
 import com.virspit.virspitproduct.domain.product.dto.request.ProductStoreRequestDto;
 import com.virspit.virspitproduct.domain.product.dto.response.ProductResponseDto;
 import com.virspit.virspitproduct.domain.product.service.ProductService;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.io.IOException;
+import java.util.List;
 
 @Slf4j
 @Api("상품 관련 API")
@@ -34,7 +36,8 @@ public class ProductController {
             @ApiImplicitParam(name = "title", value = "상품 제목", paramType = "query"),
             @ApiImplicitParam(name = "teamPlayerId", value = "팀/플레이어 ID", paramType = "query"),
             @ApiImplicitParam(name = "sportsId", value = "종목 ID", paramType = "query"),
-            @ApiImplicitParam(name = "isTeam", value = "팀/플레이어 여부", paramType = "query")
+            @ApiImplicitParam(name = "isTeam", value = "팀/플레이어 여부", paramType = "query"),
+            @ApiImplicitParam(name = "withCount", value = "전체 개수 포함 여부. false 면 COUNT 없이 hasNext 만 내려준다.", paramType = "query")
     })
     @GetMapping
     public SuccessResponse<PagingResponseDto<ProductResponseDto>> getProducts(
@@ -42,8 +45,16 @@ public class ProductController {
             @RequestParam(value = "title", required = false) String title,
             @RequestParam(value = "teamPlayerId", required = false) Long teamPlayerId,
             @RequestParam(value = "sportsId", required = false) Long sportsId,
-            @RequestParam(value = "isTeam", required = false) Boolean isTeam) {
-        return SuccessResponse.of(productService.getProducts(title, teamPlayerId, sportsId, isTeam, pageable));
+            @RequestParam(value = "isTeam", required = false) Boolean isTeam,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount) {
+        return SuccessResponse.of(productService.getProducts(title, teamPlayerId, sportsId, isTeam, withCount, pageable));
+    }
+
+    @ApiOperation("상품 ID 목록에 해당하는 상품 일괄 조회")
+    @ApiImplicitParam(name = "ids", value = "상품 ID 목록", paramType = "query", allowMultiple = true, required = true)
+    @GetMapping(params = "ids")
+    public SuccessResponse<List<ProductResponseDto>> getProductsByIds(@RequestParam("ids") List<Long> ids) {
+        return SuccessResponse.of(productService.getProductsByIds(ids));
     }
 
     @ApiOperation("상품 ID에 해당하는 상품 조회")
@@ -52,13 +63,19 @@ public class ProductController {
         return SuccessResponse.of(productService.getProduct(productId));
     }
 
-    @ApiOperation("상품 등록")
+    @ApiOperation(value = "상품 등록", notes = "DRAFT 상태로 저장하고 바로 응답한다. 컨트랙트 배포, 이미지 업로드가 끝나면 PUBLISHED 로 바뀌며 상품 조회로 상태를 확인한다.")
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     public SuccessResponse<ProductResponseDto> createProduct(@Valid @ModelAttribute ProductStoreRequestDto productStoreRequestDto) throws IOException {
         return SuccessResponse.of(productService.createProduct(productStoreRequestDto), HttpStatus.CREATED);
     }
 
+    @ApiOperation(value = "등록 실패 상품 재등록", notes = "FAILED 상품을 DRAFT 로 바꾸고 등록 작업을 다시 시작한다. 이미지는 다시 올려야 한다.")
+    @PostMapping(value = "/{productId}/publish", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public SuccessResponse<ProductResponseDto> retryPublish(@PathVariable Long productId, @Valid @ModelAttribute ProductPublishRequestDto productPublishRequestDto) throws IOException {
+        return SuccessResponse.of(productService.retryPublish(productId, productPublishRequestDto));
+    }
+
     @ApiOperation("상품 수정")
     @PutMapping(value = "/{productId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public SuccessResponse<ProductResponseDto> updateProduct(@PathVariable Long productId, @Valid @ModelAttribute ProductStoreRequestDto productStoreRequestDto) throws IOException {
@@ -0,0 +1,22 @@
+package com.virspit.virspitproduct.domain.product.dto.request;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.validation.constraints.NotNull;
+
+@ApiModel(description = "등록 실패 상품 재등록 요청 모델")
+@Getter
+@Setter
+public class ProductPublishRequestDto {
+    @ApiModelProperty("NFT 이미지 파일")
+    @NotNull
+    private MultipartFile nftImageFile;
+
+    @ApiModelProperty("상품 상세 이미지 파일")
+    @NotNull
+    private MultipartFile detailImageFile;
+}
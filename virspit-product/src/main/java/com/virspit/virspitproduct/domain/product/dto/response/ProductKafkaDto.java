@@ -2,8 +2,10 @@ package com.virspit.virspitproduct.domain.product.dto.response;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
 import com.virspit.virspitproduct.domain.product.entity.NftInfo;
 import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
 import com.virspit.virspitproduct.domain.sports.entity.Sports;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
 import io.swagger.annotations.ApiModel;
@@ -40,6 +42,12 @@ public class ProductKafkaDto {
     @ApiModelProperty("상품 수량")
     private final Integer remainedCount;
 
+    @ApiModelProperty("관리자가 수량을 바꿀 때마다 올라가는 재고 버전")
+    private final Long stockRevision;
+
+    @ApiModelProperty("stockRevision 에서 관리자가 바꾼 수량(새 수량 - 이전 수량)")
+    private final Integer restockedCount;
+
     @ApiModelProperty(value = "상품 판매 시작 일", example = "2021-09-26 17:00:00")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private final LocalDateTime startDateTime;
@@ -53,9 +61,18 @@ public class ProductKafkaDto {
     @ApiModelProperty("상품 상세 이미지 주소")
     private final String detailImageUrl;
 
+    @ApiModelProperty("NFT 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private final ImageVariants nftImageVariants;
+
+    @ApiModelProperty("상품 상세 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private final ImageVariants detailImageVariants;
+
     @ApiModelProperty("상품 NFT 정보")
     private final NftInfo nftInfo;
 
+    @ApiModelProperty("상품 등록 상태. 소비하는 쪽은 PUBLISHED 가 아닌 상품을 노출하지 않는다.")
+    private final ProductStatus status;
+
     @ApiModelProperty(value = "상품 업데이트 일", example = "2021-09-26 17:00:00")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private final LocalDateTime updatedDateTime;
@@ -71,10 +88,15 @@ public class ProductKafkaDto {
         description = product.getDescription();
         price = product.getPrice();
         remainedCount = product.getRemainedCount();
+        stockRevision = product.getStockRevision();
+        restockedCount = product.getRestockedCount();
         exhibition = product.getExhibition();
         nftImageUrl = product.getNftImageUrl();
         detailImageUrl = product.getDetailImageUrl();
+        nftImageVariants = product.getNftImageVariants();
+        detailImageVariants = product.getDetailImageVariants();
         nftInfo = product.getNftInfo();
+        status = product.getStatus();
         startDateTime = product.getStartDateTime();
         updatedDateTime = product.getUpdatedDateTime();
         createdDateTime = product.getCreatedDateTime();
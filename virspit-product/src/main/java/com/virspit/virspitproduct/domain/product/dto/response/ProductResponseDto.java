@@ -2,8 +2,10 @@ package com.virspit.virspitproduct.domain.product.dto.response;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
 import com.virspit.virspitproduct.domain.product.entity.NftInfo;
 import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
 import com.virspit.virspitproduct.domain.sports.entity.Sports;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
 import io.swagger.annotations.ApiModel;
@@ -38,6 +40,9 @@ public class ProductResponseDto {
     @ApiModelProperty("상품 수량")
     private final Integer remainedCount;
 
+    @ApiModelProperty("관리자가 수량을 바꿀 때마다 올라가는 재고 버전")
+    private final Long stockRevision;
+
     @ApiModelProperty(value = "상품 판매 시작 일", example = "2021-09-26 17:00:00")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private final LocalDateTime startDateTime;
@@ -51,19 +56,36 @@ public class ProductResponseDto {
     @ApiModelProperty("상품 상세 이미지 주소")
     private final String detailImageUrl;
 
+    @ApiModelProperty("NFT 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private final ImageVariants nftImageVariants;
+
+    @ApiModelProperty("상품 상세 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private final ImageVariants detailImageVariants;
+
     @ApiModelProperty("상품 NFT 정보")
     private final NftInfo nftInfo;
 
+    @ApiModelProperty("상품 등록 상태. DRAFT 는 등록 진행 중, FAILED 는 등록 실패")
+    private final ProductStatus status;
+
+    @ApiModelProperty("등록 실패 사유")
+    private final String failureReason;
+
     private ProductResponseDto(final Product product) {
         id = product.getId();
         title = product.getTitle();
         description = product.getDescription();
         price = product.getPrice();
         remainedCount = product.getRemainedCount();
+        stockRevision = product.getStockRevision();
         exhibition = product.getExhibition();
         nftImageUrl = product.getNftImageUrl();
         detailImageUrl = product.getDetailImageUrl();
+        nftImageVariants = product.getNftImageVariants();
+        detailImageVariants = product.getDetailImageVariants();
         nftInfo = product.getNftInfo();
+        status = product.getStatus();
+        failureReason = product.getFailureReason();
         startDateTime = product.getStartDateTime();
 
         TeamPlayer teamPlayer = product.getTeamPlayer();
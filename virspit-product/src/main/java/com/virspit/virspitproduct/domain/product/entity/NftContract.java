@@ -0,0 +1,54 @@
+package com.virspit.virspitproduct.domain.product.entity;
+
+import com.virspit.virspitproduct.domain.common.BaseEntity;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 상품 등록 전에 미리 배포해 두는 KIP-17 컨트랙트.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_nft_contract_status", columnList = "status, id"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class NftContract extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(nullable = false, unique = true)
+    private String contractAlias;
+
+    private String transactionHash;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NftContractStatus status;
+
+    private Long productId;
+
+    // 배포 요청 전에 저장해서, 요청 후 멈춰도 alias 로 배포 여부를 다시 확인할 수 있게 한다.
+    public NftContract(String contractAlias) {
+        this.contractAlias = contractAlias;
+        this.status = NftContractStatus.DEPLOYING;
+    }
+
+    public void deployRequested(String transactionHash) {
+        this.transactionHash = transactionHash;
+    }
+
+    public void deployed(boolean committed) {
+        this.status = committed ? NftContractStatus.AVAILABLE : NftContractStatus.FAILED;
+    }
+
+    public void claim(Long productId) {
+        this.status = NftContractStatus.CLAIMED;
+        this.productId = productId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.virspit.virspitproduct.domain.product.entity;
+
+public enum NftContractStatus {
+    // 배포 트랜잭션을 보내고 커밋을 기다리는 중. 결과를 모르면 deploy-timeout-ms 뒤에 alias 로 다시 확인한다.
+    DEPLOYING,
+    // 배포가 끝나 상품에 쓸 수 있음
+    AVAILABLE,
+    // 상품에 할당됨
+    CLAIMED,
+    // 배포 실패
+    FAILED
+}
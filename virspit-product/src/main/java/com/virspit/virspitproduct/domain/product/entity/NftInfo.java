@@ -3,22 +3,17 @@ package com.virspit.virspitproduct.domain.product.entity;
 import lombok.*;
 import org.hibernate.validator.constraints.URL;
 
-import javax.persistence.Column;
 import javax.persistence.Embeddable;
-import javax.validation.constraints.NotNull;
 
 @Embeddable
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @EqualsAndHashCode
 public class NftInfo {
-    @NotNull
-    @Column(nullable = false)
+    // 상품이 PUBLISHED 가 되기 전에는 비어 있다.
     private String contractAlias;
 
-    @NotNull
     @URL
-    @Column(nullable = false)
     private String metadataUri;
 
     @Builder
@@ -1,6 +1,7 @@
 package com.virspit.virspitproduct.domain.product.entity;
 
 import com.virspit.virspitproduct.domain.common.BaseEntity;
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
 import com.virspit.virspitproduct.domain.product.dto.request.ProductStoreRequestDto;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
 import lombok.*;
@@ -53,18 +54,47 @@ public class Product extends BaseEntity {
     @Column(nullable = false)
     private Boolean exhibition;
 
-    @NotNull
-    @Column(nullable = false)
+    // 이미지, NFT 정보는 등록 작업이 끝나 PUBLISHED 가 될 때 채워진다.
     private String nftImageUrl;
 
-    @Setter
-    @NotNull
-    @Column(nullable = false)
     private String detailImageUrl;
 
-    @NotNull
+    // 줄인 이미지는 원본을 올린 뒤 따로 만들어지므로 한동안 비어 있을 수 있다.
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "thumbnailUrl", column = @Column(name = "nft_image_thumbnail_url")),
+            @AttributeOverride(name = "cardUrl", column = @Column(name = "nft_image_card_url")),
+            @AttributeOverride(name = "detailUrl", column = @Column(name = "nft_image_detail_url"))
+    })
+    private ImageVariants nftImageVariants;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "thumbnailUrl", column = @Column(name = "detail_image_thumbnail_url")),
+            @AttributeOverride(name = "cardUrl", column = @Column(name = "detail_image_card_url")),
+            @AttributeOverride(name = "detailUrl", column = @Column(name = "detail_image_detail_url"))
+    })
+    private ImageVariants detailImageVariants;
+
     private NftInfo nftInfo;
 
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, columnDefinition = "varchar(20) default 'PUBLISHED'")
+    private ProductStatus status = ProductStatus.PUBLISHED;
+
+    private String failureReason;
+
+    // 관리자가 수량을 바꿀 때마다 1씩 올린다. 주문 서비스는 이 값으로 같은 재입고를 한 번만 반영한다.
+    @NotNull
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long stockRevision = 0L;
+
+    // stockRevision 에서 바뀐 수량(새 수량 - 이전 수량). 주문 완료로 줄어든 수량은 포함하지 않는다.
+    @NotNull
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private Integer restockedCount = 0;
+
     @Builder
     public Product(String title, String description, TeamPlayer teamPlayer, Integer price, Integer remainedCount, LocalDateTime startDateTime, Boolean exhibition, String nftImageUrl, String detailImageUrl, NftInfo nftInfo) {
         this.title = title;
@@ -79,12 +109,67 @@ public class Product extends BaseEntity {
         this.nftInfo = nftInfo;
     }
 
+    public static Product draft(ProductStoreRequestDto productStoreRequestDto, TeamPlayer teamPlayer) {
+        Product product = productStoreRequestDto.toProduct(teamPlayer, null, null, null);
+        product.status = ProductStatus.DRAFT;
+        return product;
+    }
+
+    public void publish(NftInfo nftInfo, String nftImageUrl, String detailImageUrl) {
+        this.nftInfo = nftInfo;
+        this.nftImageUrl = nftImageUrl;
+        this.detailImageUrl = detailImageUrl;
+        this.status = ProductStatus.PUBLISHED;
+        this.failureReason = null;
+    }
+
+    public void failPublish(String failureReason) {
+        this.status = ProductStatus.FAILED;
+        this.failureReason = failureReason;
+    }
+
+    // 등록에 실패한 상품을 다시 등록한다.
+    public void retryPublish() {
+        this.status = ProductStatus.DRAFT;
+        this.failureReason = null;
+    }
+
+    public void changeDetailImage(String detailImageUrl) {
+        this.detailImageUrl = detailImageUrl;
+        this.detailImageVariants = null;
+    }
+
+    // 만드는 동안 원본이 바뀌었으면 적용하지 않는다.
+    public boolean applyNftImageVariants(String sourceUrl, ImageVariants variants) {
+        if (nftImageUrl == null || !nftImageUrl.equals(sourceUrl)) {
+            return false;
+        }
+        this.nftImageVariants = variants;
+        return true;
+    }
+
+    public boolean applyDetailImageVariants(String sourceUrl, ImageVariants variants) {
+        if (detailImageUrl == null || !detailImageUrl.equals(sourceUrl)) {
+            return false;
+        }
+        this.detailImageVariants = variants;
+        return true;
+    }
+
+    public boolean isDraft() {
+        return status == ProductStatus.DRAFT;
+    }
+
+    public boolean isFailed() {
+        return status == ProductStatus.FAILED;
+    }
+
     public void update(Product product) {
         this.title = product.title;
         this.description = product.description;
         this.teamPlayer = product.teamPlayer;
         this.price = product.price;
-        this.remainedCount = product.remainedCount;
+        changeRemainedCount(product.remainedCount);
         this.startDateTime = product.startDateTime;
         this.exhibition = product.exhibition;
         this.nftInfo = product.nftInfo;
@@ -94,14 +179,17 @@ public class Product extends BaseEntity {
         this.title = productStoreRequestDto.getTitle();
         this.description = productStoreRequestDto.getDescription();
         this.price = productStoreRequestDto.getPrice();
-        this.remainedCount = productStoreRequestDto.getRemainedCount();
+        changeRemainedCount(productStoreRequestDto.getRemainedCount());
         this.startDateTime = productStoreRequestDto.getStartDateTime();
         this.exhibition = productStoreRequestDto.getExhibition();
     }
 
-    public void decreaseRemainedCount() {
-        if (remainedCount > 0) {
-            --remainedCount;
+    private void changeRemainedCount(Integer remainedCount) {
+        if (remainedCount == null || remainedCount.equals(this.remainedCount)) {
+            return;
         }
+        this.restockedCount = remainedCount - (this.remainedCount == null ? 0 : this.remainedCount);
+        this.stockRevision++;
+        this.remainedCount = remainedCount;
     }
 }
@@ -0,0 +1,10 @@
+package com.virspit.virspitproduct.domain.product.entity;
+
+public enum ProductStatus {
+    // 등록 요청을 받고 컨트랙트 배포, 이미지 업로드를 진행 중
+    DRAFT,
+    // 모든 단계가 끝나 판매 가능한 상태
+    PUBLISHED,
+    // 등록 단계 중 하나가 실패
+    FAILED
+}
@@ -2,9 +2,12 @@ package com.virspit.virspitproduct.domain.product.feign.contract;
 
 import com.virspit.virspitproduct.domain.product.feign.KasFeignConfig;
 import com.virspit.virspitproduct.domain.product.feign.contract.request.DeployKip17ContractRequest;
+import com.virspit.virspitproduct.domain.product.feign.contract.response.Kip17ContractResponse;
 import com.virspit.virspitproduct.domain.product.feign.contract.response.Kip17TransactionStatusResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
@@ -12,4 +15,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 public interface KasContractFeignClient {
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     Kip17TransactionStatusResponse deployContract(@RequestBody DeployKip17ContractRequest deployKip17ContractRequest);
+
+    // 배포가 끝나지 않은 alias 는 404 로 응답한다.
+    @GetMapping("/{contractAlias}")
+    Kip17ContractResponse getContract(@PathVariable("contractAlias") String contractAlias);
 }
@@ -0,0 +1,13 @@
+package com.virspit.virspitproduct.domain.product.feign.contract.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Getter
+public class Kip17ContractResponse {
+    private String address;
+    private String alias;
+    private String name;
+    private String symbol;
+}
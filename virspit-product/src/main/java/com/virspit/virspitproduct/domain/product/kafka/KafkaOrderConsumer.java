@@ -7,6 +7,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -14,9 +18,19 @@ public class KafkaOrderConsumer {
 
     private final ProductService productService;
 
+    // 한 번 poll 한 주문들을 상품별로 모아서 상품당 한 번만 차감한다.
     @KafkaListener(topics = "${spring.kafka.topic.order}", groupId = "${spring.kafka.consumer.group-id}", containerFactory = "orderFactory")
-    public void consumeOrder(OrderDto orderDto) {
-        log.info("Ordered product id={}", orderDto);
-        productService.decreaseRemainedCount(orderDto.getProduct().getId());
+    public void consumeOrders(List<OrderDto> orderDtos) {
+        Map<Long, Integer> orderedCounts = new HashMap<>();
+        for (OrderDto orderDto : orderDtos) {
+            // 역직렬화에 실패한 레코드는 null 로 들어온다.
+            if (orderDto == null || orderDto.getProduct() == null || orderDto.getProduct().getId() == null) {
+                log.warn("skip order event={}", orderDto);
+                continue;
+            }
+            orderedCounts.merge(orderDto.getProduct().getId(), 1, Integer::sum);
+        }
+        log.info("Ordered products. records={}, products={}", orderDtos.size(), orderedCounts);
+        productService.decreaseRemainedCounts(orderedCounts);
     }
 }
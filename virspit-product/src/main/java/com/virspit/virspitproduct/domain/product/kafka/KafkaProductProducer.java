@@ -1,25 +1,43 @@
 package com.virspit.virspitproduct.domain.product.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virspit.virspitproduct.domain.outbox.entity.OutboxEvent;
+import com.virspit.virspitproduct.domain.outbox.repository.OutboxEventRepository;
 import com.virspit.virspitproduct.domain.product.dto.response.ProductKafkaDto;
-import com.virspit.virspitproduct.domain.product.dto.response.ProductResponseDto;
-import com.virspit.virspitproduct.domain.product.entity.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 상품 이벤트를 바로 보내지 않고 호출한 트랜잭션 안에서 outbox 에 저장한다.
+ * 실제 발행은 OutboxRelay 가 한다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class KafkaProductProducer {
-    private final KafkaTemplate<String, ProductKafkaDto> kafkaTemplate;
+    private static final ObjectMapper OBJECT_MAPPER = JacksonUtils.enhancedObjectMapper();
+
+    private final OutboxEventRepository outboxEventRepository;
 
     @Value("${spring.kafka.topic.product}")
     private String productTopicName;
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendProduct(final ProductKafkaDto productKafkaDto) {
         log.info("send product={}", productKafkaDto);
-        kafkaTemplate.send(productTopicName, productKafkaDto);
+        try {
+            outboxEventRepository.save(new OutboxEvent(
+                    productTopicName,
+                    String.valueOf(productKafkaDto.getId()),
+                    OBJECT_MAPPER.writeValueAsString(productKafkaDto)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("product event 를 직렬화하지 못했습니다. id=" + productKafkaDto.getId(), e);
+        }
     }
 }
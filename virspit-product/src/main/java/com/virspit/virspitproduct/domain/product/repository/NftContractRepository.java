@@ -0,0 +1,33 @@
+package com.virspit.virspitproduct.domain.product.repository;
+
+import com.virspit.virspitproduct.domain.product.entity.NftContract;
+import com.virspit.virspitproduct.domain.product.entity.NftContractStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NftContractRepository extends JpaRepository<NftContract, Long> {
+
+    // 동시에 등록되는 상품이 같은 컨트랙트를 가져가지 않도록 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from NftContract c where c.status = :status order by c.id")
+    List<NftContract> findFirstForUpdate(@Param("status") NftContractStatus status, Pageable pageable);
+
+    List<NftContract> findAllByStatus(NftContractStatus status);
+
+    Optional<NftContract> findFirstByProductIdAndStatus(Long productId, NftContractStatus status);
+
+    List<NftContract> findAllByStatusAndCreatedDateTimeBefore(NftContractStatus status, LocalDateTime before);
+
+    long countByStatusIn(Collection<NftContractStatus> statuses);
+}
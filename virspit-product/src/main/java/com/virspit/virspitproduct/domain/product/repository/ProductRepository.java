@@ -1,10 +1,29 @@
 package com.virspit.virspitproduct.domain.product.repository;
 
 import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @Query("select p from Product p join fetch p.teamPlayer t join fetch t.sports where p.id in :ids")
+    List<Product> findAllWithTeamPlayerByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Product> findAllByStatusAndUpdatedDateTimeBefore(ProductStatus status, LocalDateTime before);
+
+    // 읽고-고치고-쓰기 대신 한 문장으로 차감하므로 여러 컨슈머 스레드가 동시에 차감해도 유실되지 않는다.
+    // 주문 수가 남은 수량보다 많으면 0 으로 맞춘다.
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.remainedCount = case when p.remainedCount > :count then p.remainedCount - :count else 0 end " +
+            "where p.id = :id and p.remainedCount > 0")
+    int decreaseRemainedCount(@Param("id") Long id, @Param("count") int count);
 }
@@ -1,16 +1,21 @@
 package com.virspit.virspitproduct.domain.product.repository;
 
 import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.QueryResults;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import com.virspit.virspitproduct.domain.search.repository.SearchGramExpressions;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayerType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 import static com.virspit.virspitproduct.domain.product.entity.QProduct.product;
+import static com.virspit.virspitproduct.domain.sports.entity.QSports.sports;
 import static com.virspit.virspitproduct.domain.teamplayer.entity.QTeamPlayer.teamPlayer;
 
 @Slf4j
@@ -19,32 +24,53 @@ import static com.virspit.virspitproduct.domain.teamplayer.entity.QTeamPlayer.te
 public class ProductRepositorySupport {
     private final JPAQueryFactory queryFactory;
 
-    public QueryResults<Product> findAll(String keyword, Long teamPlayerId, Long sportsId, Boolean isTeam, Pageable pageable) {
-        BooleanBuilder builder = new BooleanBuilder();
+    // 목록 응답이 팀/선수, 종목을 쓰므로 함께 가져와서 행마다 추가 조회가 나가지 않게 한다.
+    public List<Product> findAll(ProductSearchCondition condition, long offset, int limit) {
+        return queryFactory.selectFrom(product)
+                .join(product.teamPlayer, teamPlayer).fetchJoin()
+                .join(teamPlayer.sports, sports).fetchJoin()
+                .where(where(condition))
+                .limit(limit)
+                .offset(offset)
+                .orderBy(product.id.desc())
+                .fetch();
+    }
 
-        if (keyword != null && !keyword.isBlank()) {
-            builder.and(product.title.contains(keyword));
+    // 개수만 세므로 조건에 필요한 경우에만 조인한다.
+    public long count(ProductSearchCondition condition) {
+        JPAQuery<Long> query = queryFactory.select(product.count())
+                .from(product);
+        boolean sportsFilter = condition.getTeamPlayerId() == null && condition.getSportsId() != null;
+        if (sportsFilter || condition.getIsTeam() != null) {
+            query.join(product.teamPlayer, teamPlayer);
         }
+        Long count = query.where(where(condition)).fetchOne();
+        return count == null ? 0 : count;
+    }
+
+    private BooleanBuilder where(ProductSearchCondition condition) {
+        // 등록이 끝난 상품만 목록에 노출한다.
+        BooleanBuilder builder = new BooleanBuilder(product.status.eq(ProductStatus.PUBLISHED));
 
-        if (teamPlayerId != null) {
-            builder.and(product.teamPlayer.id.eq(teamPlayerId));
-        } else if (sportsId != null) {
-            builder.and(teamPlayer.sports.id.eq(sportsId));
+        if (condition.hasKeyword()) {
+            // gram 색인으로 후보를 좁힌 뒤 원래의 부분 일치 조건으로 확정한다.
+            builder.and(SearchGramExpressions.matches(SearchTargetType.PRODUCT_TITLE, product.id, condition.getKeyword()));
+            builder.and(product.title.contains(condition.getKeyword()));
         }
 
-        if (isTeam != null) {
-            if (isTeam) {
-                builder.and(product.teamPlayer.type.eq(TeamPlayerType.TEAM));
+        if (condition.getTeamPlayerId() != null) {
+            builder.and(product.teamPlayer.id.eq(condition.getTeamPlayerId()));
+        } else if (condition.getSportsId() != null) {
+            builder.and(teamPlayer.sports.id.eq(condition.getSportsId()));
+        }
+
+        if (condition.getIsTeam() != null) {
+            if (condition.getIsTeam()) {
+                builder.and(teamPlayer.type.eq(TeamPlayerType.TEAM));
             } else {
-                builder.and(product.teamPlayer.type.eq(TeamPlayerType.PLAYER));
+                builder.and(teamPlayer.type.eq(TeamPlayerType.PLAYER));
             }
         }
-
-        return queryFactory.selectFrom(product)
-                .where(builder)
-                .limit(pageable.getPageSize())
-                .offset(pageable.getOffset())
-                .orderBy(product.id.desc())
-                .fetchResults();
+        return builder;
     }
 }
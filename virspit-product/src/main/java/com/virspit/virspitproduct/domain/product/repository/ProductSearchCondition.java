@@ -0,0 +1,24 @@
+package com.virspit.virspitproduct.domain.product.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 상품 목록 검색 조건. 전체 개수 캐시의 키로도 쓰인다.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ProductSearchCondition {
+    private final String keyword;
+    private final Long teamPlayerId;
+    private final Long sportsId;
+    private final Boolean isTeam;
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+}
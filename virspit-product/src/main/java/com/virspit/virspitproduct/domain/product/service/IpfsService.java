@@ -1,28 +1,35 @@
 package com.virspit.virspitproduct.domain.product.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virspit.virspitproduct.domain.file.service.StoredFileService;
+import com.virspit.virspitproduct.util.file.ContentHash;
 import io.ipfs.api.IPFS;
 import io.ipfs.api.MerkleNode;
 import io.ipfs.api.NamedStreamable;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class IpfsService {
     private static final String BASE_URL = "https://ipfs.io/ipfs/";
+    private static final String CONTENT_ADDRESSED_PATH = "ipfs/sha256/";
     private final IPFS ipfs;
     private final ObjectMapper objectMapper;
+    private final StoredFileService storedFileService;
 
     @Value("${file.dir.root-path}")
     private String tmpDir;
 
-    public IpfsService(@Value("${ipfs.server}") String serverUrl, @Value("${ipfs.port}") String port, ObjectMapper objectMapper) {
+    public IpfsService(@Value("${ipfs.server}") String serverUrl, @Value("${ipfs.port}") String port, ObjectMapper objectMapper, StoredFileService storedFileService) {
         ipfs = new IPFS("/ip4/" + serverUrl + "/tcp/" + port);
         this.objectMapper = objectMapper;
+        this.storedFileService = storedFileService;
     }
 
     public String upload(final Object object) throws IOException {
@@ -35,12 +42,25 @@ public class IpfsService {
         return BASE_URL + merkleNodes.get(0).hash;
     }
 
+    // 이미 올린 적 있는 이미지는 다시 보내지 않고 저장된 주소를 쓴다. IPFS 에 올린 파일은 지우지 않으므로 참조 수는 세지 않는다.
     public String upload(final MultipartFile multipartFile) throws IOException {
+        String fileKey = CONTENT_ADDRESSED_PATH + ContentHash.sha256(multipartFile);
+        Optional<String> uploaded = storedFileService.findUrl(fileKey);
+        if (uploaded.isPresent()) {
+            return uploaded.get();
+        }
+
         List<MerkleNode> merkleNodes = ipfs.add(new NamedStreamable.InputStreamWrapper(multipartFile.getInputStream()));
         if (merkleNodes.isEmpty()) {
             // TODO IPFS 파일 업로드 실패
         }
 
-        return BASE_URL + merkleNodes.get(0).hash;
+        String url = BASE_URL + merkleNodes.get(0).hash;
+        try {
+            storedFileService.register(fileKey, url);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이미지가 동시에 올라와 먼저 등록된 경우
+        }
+        return url;
     }
 }
@@ -9,16 +9,17 @@ import com.virspit.virspitproduct.domain.product.feign.metadata.request.Metadata
 import com.virspit.virspitproduct.domain.product.feign.metadata.request.UploadMetadataRequest;
 import com.virspit.virspitproduct.domain.product.feign.metadata.response.UploadAssetResponse;
 import com.virspit.virspitproduct.domain.product.feign.metadata.response.UploadMetadataResponse;
-import com.virspit.virspitproduct.domain.product.feign.wallet.KasWalletFeignClient;
 import com.virspit.virspitproduct.error.ErrorCode;
 import com.virspit.virspitproduct.error.exception.BusinessException;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import static com.virspit.virspitproduct.domain.product.feign.wallet.TransactionReceipt.TransactionStatus;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -29,7 +30,7 @@ public class KasService {
 
     private final KasContractFeignClient kasContractFeignClient;
     private final KasMetadataFeignClient kasMetadataFeignClient;
-    private final KasWalletFeignClient kasWalletFeignClient;
+    private final TransactionReceiptPoller receiptPoller;
 
     @Value("${kas.fee-payer.krn}")
     private String feePayerKrn;
@@ -47,32 +48,33 @@ public class KasService {
         return uploadMetadataResponse.getUri();
     }
 
-    public void deployNftContract(final String contractAlias) {
+    public CompletableFuture<Void> deployNftContract(final String contractAlias) {
+        String transactionHash = requestContractDeploy(contractAlias);
 
+        return receiptPoller.watch(transactionHash)
+                .thenAccept(committed -> {
+                    if (!committed) {
+                        log.error("Deploy contract transaction failed");
+                        throw new BusinessException(ErrorCode.NFT_CONTRACT_TRANSACTION_FAILED);
+                    }
+                });
+    }
+
+    // 배포 트랜잭션만 보내고 트랜잭션 해시를 돌려준다. 커밋 확인은 호출한 쪽에서 한다.
+    public String requestContractDeploy(final String contractAlias) {
         UserFeePayer userFeePayer = new UserFeePayer(feePayerKrn, feePayerAddress);
         Kip17FeePayerOption kip17FeePayerOption = new Kip17FeePayerOption(false, userFeePayer);
         DeployKip17ContractRequest deployKip17ContractRequest = new DeployKip17ContractRequest(contractAlias, TOKEN_SYMBOL, TOKEN_NAME, kip17FeePayerOption);
 
-        String transactionHash = kasContractFeignClient.deployContract(deployKip17ContractRequest).getTransactionHash();
-
-        while (true) {
-            TransactionStatus status = kasWalletFeignClient.getTransactionReceipt(transactionHash).getStatus();
-
-            switch (status) {
-                case Committed:
-                    return;
-                case CommitError: {
-                    log.error("Deploy contract transaction failed");
-                    throw new BusinessException(ErrorCode.NFT_CONTRACT_TRANSACTION_FAILED);
-                }
-            }
+        return kasContractFeignClient.deployContract(deployKip17ContractRequest).getTransactionHash();
+    }
 
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                log.warn(e.getMessage());
-            }
+    // 배포된 컨트랙트면 주소를, 아직 없으면 빈 값을 돌려준다.
+    public Optional<String> findContractAddress(final String contractAlias) {
+        try {
+            return Optional.ofNullable(kasContractFeignClient.getContract(contractAlias).getAddress());
+        } catch (FeignException.NotFound e) {
+            return Optional.empty();
         }
     }
-
 }
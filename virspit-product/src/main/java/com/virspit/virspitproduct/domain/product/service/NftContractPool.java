@@ -0,0 +1,163 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.product.entity.NftContract;
+import com.virspit.virspitproduct.domain.product.entity.NftContractStatus;
+import com.virspit.virspitproduct.domain.product.repository.NftContractRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 배포가 끝난 KIP-17 컨트랙트를 target-size 만큼 미리 만들어 둔다.
+ * 상품 등록은 풀에서 컨트랙트를 하나 꺼내 쓰고, 풀이 비어 있으면 등록 작업에서 새로 배포한다.
+ * 줄어든 만큼은 스케줄러 스레드가 채우며, 한 번에 max-deploys-per-refill 개까지만 배포한다.
+ * 배포 요청 전에 DEPLOYING 으로 저장하고, 영수증 확인 시간이 지나거나 해시를 받지 못한 컨트랙트는
+ * deploy-timeout-ms 가 지난 뒤 alias 로 배포 여부를 다시 확인한다.
+ */
+@Slf4j
+@Component
+public class NftContractPool {
+    private static final List<NftContractStatus> POOLED_STATUSES = List.of(NftContractStatus.AVAILABLE, NftContractStatus.DEPLOYING);
+
+    private final NftContractRepository nftContractRepository;
+    private final KasService kasService;
+    private final TransactionReceiptPoller receiptPoller;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler contractPoolScheduler;
+    private final int targetSize;
+    private final int maxDeploysPerRefill;
+    private final long refillIntervalMillis;
+    private final long deployTimeoutMillis;
+
+    public NftContractPool(NftContractRepository nftContractRepository,
+                           KasService kasService,
+                           TransactionReceiptPoller receiptPoller,
+                           TransactionTemplate transactionTemplate,
+                           @Qualifier("contractPoolScheduler") TaskScheduler contractPoolScheduler,
+                           @Value("${product.contract-pool.target-size}") int targetSize,
+                           @Value("${product.contract-pool.max-deploys-per-refill}") int maxDeploysPerRefill,
+                           @Value("${product.contract-pool.refill-interval-ms}") long refillIntervalMillis,
+                           @Value("${product.contract-pool.deploy-timeout-ms}") long deployTimeoutMillis) {
+        this.nftContractRepository = nftContractRepository;
+        this.kasService = kasService;
+        this.receiptPoller = receiptPoller;
+        this.transactionTemplate = transactionTemplate;
+        this.contractPoolScheduler = contractPoolScheduler;
+        this.targetSize = targetSize;
+        this.maxDeploysPerRefill = maxDeploysPerRefill;
+        this.refillIntervalMillis = refillIntervalMillis;
+        this.deployTimeoutMillis = deployTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (targetSize <= 0) {
+            return;
+        }
+        // 재시작 전에 보낸 배포 트랜잭션의 결과를 다시 확인한다.
+        nftContractRepository.findAllByStatus(NftContractStatus.DEPLOYING).stream()
+                .filter(contract -> contract.getTransactionHash() != null)
+                .forEach(contract -> watch(contract.getId(), contract.getContractAlias(), contract.getTransactionHash()));
+        contractPoolScheduler.scheduleWithFixedDelay(this::refill, Duration.ofMillis(refillIntervalMillis));
+    }
+
+    /**
+     * 배포가 끝난 컨트랙트를 상품에 할당한다. 상품 저장과 같은 트랜잭션에서 호출해서 롤백되면 풀로 돌아가게 한다.
+     * 다시 등록하는 상품은 처음에 할당한 컨트랙트를 그대로 쓴다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<String> claim(final Long productId) {
+        Optional<NftContract> claimed = nftContractRepository.findFirstByProductIdAndStatus(productId, NftContractStatus.CLAIMED);
+        if (claimed.isPresent()) {
+            return claimed.map(NftContract::getContractAlias);
+        }
+        List<NftContract> contracts = nftContractRepository.findFirstForUpdate(NftContractStatus.AVAILABLE, PageRequest.of(0, 1));
+        if (contracts.isEmpty()) {
+            log.warn("nft contract pool is empty. productId={}", productId);
+            return Optional.empty();
+        }
+        NftContract contract = contracts.get(0);
+        contract.claim(productId);
+        return Optional.of(contract.getContractAlias());
+    }
+
+    void refill() {
+        try {
+            recheckStaleDeploys();
+            long pooled = nftContractRepository.countByStatusIn(POOLED_STATUSES);
+            long missing = Math.min(targetSize - pooled, maxDeploysPerRefill);
+            for (int i = 0; i < missing; i++) {
+                deploy();
+            }
+        } catch (RuntimeException e) {
+            log.warn("nft contract pool refill failed : {}", e.getMessage());
+        }
+    }
+
+    private void deploy() {
+        String contractAlias = "product-pool-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        Long contractId = nftContractRepository.save(new NftContract(contractAlias)).getId();
+
+        String transactionHash;
+        try {
+            transactionHash = kasService.requestContractDeploy(contractAlias);
+        } catch (RuntimeException e) {
+            // 요청이 KAS 에 도착했을 수 있으므로 DEPLOYING 으로 두고 나중에 alias 로 확인한다.
+            log.warn("nft contract deploy request failed. alias={} : {}", contractAlias, e.getMessage());
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> nftContractRepository.findById(contractId)
+                .ifPresent(found -> found.deployRequested(transactionHash)));
+        log.info("nft contract deploy requested. alias={}", contractAlias);
+        watch(contractId, contractAlias, transactionHash);
+    }
+
+    private void watch(final Long contractId, final String contractAlias, final String transactionHash) {
+        // 배포 결과 저장은 영수증 조회 스레드가 아닌 풀 스레드에서 한다.
+        receiptPoller.watch(transactionHash)
+                .whenCompleteAsync((committed, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("nft contract deploy not confirmed yet. alias={} : {}", contractAlias, throwable.getMessage());
+                        return;
+                    }
+                    if (!committed) {
+                        log.error("nft contract deploy failed. alias={}", contractAlias);
+                    }
+                    deployed(contractId, committed);
+                }, task -> contractPoolScheduler.schedule(task, Instant.now()));
+    }
+
+    // 결과를 모르는 채로 deploy-timeout-ms 가 지난 컨트랙트는 alias 로 배포됐는지 확인한다.
+    private void recheckStaleDeploys() {
+        LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(deployTimeoutMillis));
+        for (NftContract contract : nftContractRepository.findAllByStatusAndCreatedDateTimeBefore(NftContractStatus.DEPLOYING, before)) {
+            try {
+                boolean deployed = kasService.findContractAddress(contract.getContractAlias()).isPresent();
+                log.info("stale nft contract rechecked. alias={}, deployed={}", contract.getContractAlias(), deployed);
+                deployed(contract.getId(), deployed);
+            } catch (RuntimeException e) {
+                log.warn("nft contract recheck failed. alias={} : {}", contract.getContractAlias(), e.getMessage());
+            }
+        }
+    }
+
+    private void deployed(final Long contractId, final boolean committed) {
+        transactionTemplate.executeWithoutResult(status -> nftContractRepository.findById(contractId)
+                .filter(found -> found.getStatus() == NftContractStatus.DEPLOYING)
+                .ifPresent(found -> found.deployed(committed)));
+    }
+}
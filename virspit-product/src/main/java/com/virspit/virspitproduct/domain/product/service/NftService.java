@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -13,8 +14,8 @@ public class NftService {
     private final KasService kasService;
     private final IpfsService ipfsService;
 
-    public void deployNftContract(final String contractAlias) {
-        kasService.deployNftContract(contractAlias);
+    public CompletableFuture<Void> deployNftContract(final String contractAlias) {
+        return kasService.deployNftContract(contractAlias);
     }
 
     public String uploadMetadata(final String name, final String description, final MultipartFile imageFile) throws IOException {
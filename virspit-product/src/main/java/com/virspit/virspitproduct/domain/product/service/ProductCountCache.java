@@ -0,0 +1,49 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepositorySupport;
+import com.virspit.virspitproduct.domain.product.repository.ProductSearchCondition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 검색 조건별 전체 상품 수를 잠깐 캐시한다.
+ * COUNT 는 목록 조회만큼 비싸므로 같은 조건으로 페이지를 넘길 때마다 다시 세지 않는다.
+ * 상품 등록/삭제는 TTL 이 지나면 반영된다.
+ */
+@Component
+public class ProductCountCache {
+    private final ProductRepositorySupport productRepositorySupport;
+    private final Cache<ProductSearchCondition, Long> counts;
+
+    public ProductCountCache(ProductRepositorySupport productRepositorySupport,
+                             @Value("${product.search.count-cache-seconds}") long ttlSeconds,
+                             @Value("${product.search.count-cache-size}") long maximumSize) {
+        this.productRepositorySupport = productRepositorySupport;
+        this.counts = CacheBuilder.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public long count(ProductSearchCondition condition) {
+        try {
+            return counts.get(condition, () -> productRepositorySupport.count(condition));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 마지막 페이지처럼 목록 조회만으로 개수를 알게 된 경우 채워 둔다.
+    public void put(ProductSearchCondition condition, long count) {
+        counts.put(condition, count);
+    }
+}
@@ -0,0 +1,20 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.web.multipart.MultipartFile;
+
+@ToString(of = {"productId", "contractAlias", "contractDeployed"})
+@Getter
+@AllArgsConstructor
+public class ProductDraftedEvent {
+    private final Long productId;
+    private final String contractAlias;
+    // 풀에서 가져온 컨트랙트면 이미 배포가 끝나 있다.
+    private final boolean contractDeployed;
+    private final String title;
+    private final String description;
+    private final MultipartFile nftImageFile;
+    private final MultipartFile detailImageFile;
+}
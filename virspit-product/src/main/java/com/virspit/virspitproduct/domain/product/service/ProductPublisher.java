@@ -0,0 +1,228 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.file.service.ImageVariantRequestedEvent;
+import com.virspit.virspitproduct.domain.file.service.ImageVariantTarget;
+import com.virspit.virspitproduct.domain.product.dto.response.KafkaEvent;
+import com.virspit.virspitproduct.domain.product.dto.response.ProductKafkaDto;
+import com.virspit.virspitproduct.domain.product.entity.NftInfo;
+import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
+import com.virspit.virspitproduct.domain.product.kafka.KafkaProductProducer;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
+import com.virspit.virspitproduct.util.file.ContentType;
+import com.virspit.virspitproduct.util.file.FileStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * DRAFT 로 저장된 상품의 등록 작업을 요청 스레드 밖에서 진행한다.
+ * 컨트랙트 배포(풀에서 가져왔으면 생략), IPFS 메타데이터 업로드, S3 이미지 업로드는 서로 의존하지 않으므로 동시에 실행하고,
+ * 모두 끝나면 짧은 트랜잭션으로 PUBLISHED 로 바꾼다. 하나라도 실패하면 FAILED 와 실패 사유를 남긴다.
+ * 등록 작업은 메모리에서만 진행되므로 재시작 등으로 stale-draft-ms 동안 끝나지 않은 DRAFT 는 FAILED 로 바꾸고,
+ * FAILED 상품은 ProductService.retryPublish 로 다시 등록한다.
+ */
+@Slf4j
+@Component
+public class ProductPublisher {
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+    private static final String REJECTED_REASON = "상품 등록 작업이 많아 처리하지 못했습니다. 잠시 후 다시 등록해주세요.";
+    private static final String STALE_DRAFT_REASON = "상품 등록 작업이 중단되었습니다. 다시 등록해주세요.";
+
+    private final ProductRepository productRepository;
+    private final NftService nftService;
+    private final FileStore awsS3FileStore;
+    private final KafkaProductProducer kafkaProductProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor productPublishExecutor;
+    private final TaskScheduler productDraftScheduler;
+    private final long staleDraftMillis;
+    private final long staleDraftCheckIntervalMillis;
+
+    public ProductPublisher(ProductRepository productRepository,
+                            NftService nftService,
+                            FileStore awsS3FileStore,
+                            KafkaProductProducer kafkaProductProducer,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Qualifier("productPublishExecutor") Executor productPublishExecutor,
+                            @Qualifier("productDraftScheduler") TaskScheduler productDraftScheduler,
+                            @Value("${product.publish.stale-draft-ms}") long staleDraftMillis,
+                            @Value("${product.publish.stale-draft-check-interval-ms}") long staleDraftCheckIntervalMillis) {
+        this.productRepository = productRepository;
+        this.nftService = nftService;
+        this.awsS3FileStore = awsS3FileStore;
+        this.kafkaProductProducer = kafkaProductProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.productPublishExecutor = productPublishExecutor;
+        this.productDraftScheduler = productDraftScheduler;
+        this.staleDraftMillis = staleDraftMillis;
+        this.staleDraftCheckIntervalMillis = staleDraftCheckIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        productDraftScheduler.scheduleWithFixedDelay(this::failStaleDrafts, Duration.ofMillis(staleDraftCheckIntervalMillis));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductDrafted(ProductDraftedEvent event) {
+        publish(event);
+    }
+
+    CompletableFuture<Void> publish(ProductDraftedEvent event) {
+        log.info("publish product start. {}", event);
+
+        CompletableFuture<Void> deployment = event.isContractDeployed()
+                ? CompletableFuture.completedFuture(null)
+                : submit(() -> nftService.deployNftContract(event.getContractAlias())).thenCompose(Function.identity());
+        CompletableFuture<String> metadataUri = supplyAsync(
+                () -> nftService.uploadMetadata(event.getTitle(), event.getDescription(), event.getNftImageFile()));
+        CompletableFuture<String> nftImageUrl = supplyAsync(
+                () -> awsS3FileStore.uploadFile(event.getNftImageFile(), ContentType.PRODUCT_NFT_IMAGE));
+        CompletableFuture<String> detailImageUrl = supplyAsync(
+                () -> awsS3FileStore.uploadFile(event.getDetailImageFile(), ContentType.PRODUCT_DETAIL_IMAGE));
+
+        // 배포 확인은 영수증 조회 스레드에서 끝나므로, DB 저장과 S3 정리는 등록 스레드로 넘겨서 한다.
+        return CompletableFuture.allOf(deployment, metadataUri, nftImageUrl, detailImageUrl)
+                .handleAsync((ignored, throwable) -> {
+                    if (throwable != null) {
+                        fail(event.getProductId(), unwrap(throwable), nftImageUrl, detailImageUrl);
+                    } else {
+                        complete(event, metadataUri.join(), nftImageUrl.join(), detailImageUrl.join());
+                    }
+                    return null;
+                }, this::executeOrRun);
+    }
+
+    private void complete(ProductDraftedEvent event, String metadataUri, String nftImageUrl, String detailImageUrl) {
+        Boolean published = transactionTemplate.execute(status -> {
+            Product product = productRepository.findById(event.getProductId()).orElse(null);
+            if (product == null || !product.isDraft()) {
+                return false;
+            }
+            product.publish(new NftInfo(event.getContractAlias(), metadataUri), nftImageUrl, detailImageUrl);
+            kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.UPDATE));
+            // 목록, 상세 화면에 쓸 줄인 이미지는 커밋 이후 따로 만든다.
+            eventPublisher.publishEvent(new ImageVariantRequestedEvent(
+                    ImageVariantTarget.PRODUCT_NFT_IMAGE, product.getId(), nftImageUrl, event.getNftImageFile()));
+            eventPublisher.publishEvent(new ImageVariantRequestedEvent(
+                    ImageVariantTarget.PRODUCT_DETAIL_IMAGE, product.getId(), detailImageUrl, event.getDetailImageFile()));
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(published)) {
+            log.info("publish product done. productId={}", event.getProductId());
+        } else {
+            // 등록 중에 삭제된 상품이면 올린 이미지를 정리한다.
+            log.warn("product removed while publishing. productId={}", event.getProductId());
+            deleteUploaded(nftImageUrl, ContentType.PRODUCT_NFT_IMAGE);
+            deleteUploaded(detailImageUrl, ContentType.PRODUCT_DETAIL_IMAGE);
+        }
+    }
+
+    // 서버가 멈춰 이어서 진행할 수 없는 DRAFT 를 FAILED 로 바꿔 다시 등록할 수 있게 한다.
+    void failStaleDrafts() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(staleDraftMillis));
+            for (Product stale : productRepository.findAllByStatusAndUpdatedDateTimeBefore(ProductStatus.DRAFT, before)) {
+                log.warn("stale draft product marked failed. productId={}", stale.getId());
+                transactionTemplate.executeWithoutResult(status -> productRepository.findById(stale.getId())
+                        .filter(Product::isDraft)
+                        .ifPresent(product -> product.failPublish(STALE_DRAFT_REASON)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("stale draft product check failed : {}", e.getMessage());
+        }
+    }
+
+    private void fail(Long productId, Throwable cause, CompletableFuture<String> nftImageUrl, CompletableFuture<String> detailImageUrl) {
+        log.error("publish product failed. productId={}", productId, cause);
+        String reason = cause instanceof RejectedExecutionException ? REJECTED_REASON
+                : cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+        String failureReason = reason.length() > MAX_FAILURE_REASON_LENGTH ? reason.substring(0, MAX_FAILURE_REASON_LENGTH) : reason;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> productRepository.findById(productId)
+                    .filter(Product::isDraft)
+                    .ifPresent(product -> product.failPublish(failureReason)));
+        } finally {
+            // 실패한 상품은 다시 등록해야 하므로 먼저 끝난 업로드는 지운다.
+            deleteUploaded(nftImageUrl.getNow(null), ContentType.PRODUCT_NFT_IMAGE);
+            deleteUploaded(detailImageUrl.getNow(null), ContentType.PRODUCT_DETAIL_IMAGE);
+        }
+    }
+
+    private void deleteUploaded(String fileUrl, ContentType contentType) {
+        if (fileUrl == null) {
+            return;
+        }
+        try {
+            awsS3FileStore.deleteFile(fileUrl, contentType);
+        } catch (RuntimeException e) {
+            log.warn("uploaded file cleanup failed : {}, {}", fileUrl, e.getMessage());
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(IoSupplier<T> supplier) {
+        return submit(() -> {
+            try {
+                return supplier.get();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 큐가 가득 차서 거절되면 리스너 밖으로 던지지 않고 실패한 단계로 돌려줘서 FAILED 로 남긴다.
+    private <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, productPublishExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 마무리 단계는 큐가 가득 차도 버리지 않고, 앞 단계를 끝낸 스레드에서 바로 실행한다.
+    private void executeOrRun(Runnable task) {
+        try {
+            productPublishExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+}
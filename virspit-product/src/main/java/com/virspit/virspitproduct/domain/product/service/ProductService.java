@@ -1,23 +1,32 @@
 package com.virspit.virspitproduct.domain.product.service;
 
-import com.querydsl.core.QueryResults;
 import com.virspit.virspitproduct.domain.common.PagingResponseDto;
+import com.virspit.virspitproduct.domain.file.service.ImageVariantRequestedEvent;
+import com.virspit.virspitproduct.domain.file.service.ImageVariantService;
+import com.virspit.virspitproduct.domain.file.service.ImageVariantTarget;
+import com.virspit.virspitproduct.domain.product.dto.request.ProductPublishRequestDto;
 import com.virspit.virspitproduct.domain.product.dto.request.ProductStoreRequestDto;
 import com.virspit.virspitproduct.domain.product.dto.response.KafkaEvent;
 import com.virspit.virspitproduct.domain.product.dto.response.ProductKafkaDto;
 import com.virspit.virspitproduct.domain.product.dto.response.ProductResponseDto;
-import com.virspit.virspitproduct.domain.product.entity.NftInfo;
 import com.virspit.virspitproduct.domain.product.entity.Product;
 import com.virspit.virspitproduct.domain.product.exception.ProductNotFoundException;
 import com.virspit.virspitproduct.domain.product.kafka.KafkaProductProducer;
 import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
 import com.virspit.virspitproduct.domain.product.repository.ProductRepositorySupport;
+import com.virspit.virspitproduct.domain.product.repository.ProductSearchCondition;
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import com.virspit.virspitproduct.domain.search.service.SearchIndexService;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
 import com.virspit.virspitproduct.domain.teamplayer.exception.TeamPlayerNotFoundException;
 import com.virspit.virspitproduct.domain.teamplayer.repository.TeamPlayerRepository;
+import com.virspit.virspitproduct.error.ErrorCode;
+import com.virspit.virspitproduct.error.exception.BusinessException;
+import com.virspit.virspitproduct.util.file.BufferedMultipartFile;
 import com.virspit.virspitproduct.util.file.ContentType;
 import com.virspit.virspitproduct.util.file.FileStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,28 +34,63 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.persistence.EntityNotFoundException;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
     private final ProductRepositorySupport productRepositorySupport;
-
-    private final NftService nftService;
+    private final ProductCountCache productCountCache;
+    private final SearchIndexService searchIndexService;
+    private final NftContractPool nftContractPool;
 
     private final TeamPlayerRepository teamPlayerRepository;
     private final KafkaProductProducer kafkaProductProducer;
     private final FileStore awsS3FileStore;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 한 건 더 읽어서 다음 페이지 여부를 판단하고, 전체 개수는 요청한 경우에만 캐시에서 가져온다.
+    public PagingResponseDto<ProductResponseDto> getProducts(String keyword, Long teamPlayerId, Long sportsId, Boolean isTeam, boolean withCount, final Pageable pageable) {
+        ProductSearchCondition condition = new ProductSearchCondition(keyword, teamPlayerId, sportsId, isTeam);
+        int pageSize = pageable.getPageSize();
+        List<Product> products = productRepositorySupport.findAll(condition, pageable.getOffset(), pageSize + 1);
+
+        boolean hasNext = products.size() > pageSize;
+        if (hasNext) {
+            products = products.subList(0, pageSize);
+        }
 
-    public PagingResponseDto<ProductResponseDto> getProducts(String keyword, Long teamPlayerId, Long sportsId, Boolean isTeam, final Pageable pageable) {
-        QueryResults<Product> queryResults = productRepositorySupport.findAll(keyword, teamPlayerId, sportsId, isTeam, pageable);
-        return new PagingResponseDto<>(queryResults.getTotal(), ProductResponseDto.of(queryResults.getResults()));
+        Long totalCount = null;
+        if (withCount) {
+            if (!hasNext && (pageable.getOffset() == 0 || !products.isEmpty())) {
+                // 마지막 페이지면 COUNT 없이 개수를 알 수 있다.
+                totalCount = pageable.getOffset() + products.size();
+                productCountCache.put(condition, totalCount);
+            } else {
+                totalCount = productCountCache.count(condition);
+            }
+        }
+        return new PagingResponseDto<>(totalCount, hasNext, ProductResponseDto.of(products));
     }
 
     public ProductResponseDto getProduct(final Long productId) {
         return ProductResponseDto.of(productRepository.findById(productId).orElseThrow(EntityNotFoundException::new));
     }
 
+    public List<ProductResponseDto> getProductsByIds(final List<Long> productIds) {
+        return ProductResponseDto.of(productRepository.findAllWithTeamPlayerByIdIn(new HashSet<>(productIds)));
+    }
+
+    /**
+     * 상품을 DRAFT 로 저장하고 바로 응답한다. 컨트랙트 배포, 이미지 업로드는 커밋 이후 ProductPublisher 가 진행하며
+     * 진행 상태는 상품 조회의 status 로 확인한다.
+     */
     @Transactional
     public ProductResponseDto createProduct(final ProductStoreRequestDto productStoreRequestDto) throws IOException {
         final Long teamPlayerId = productStoreRequestDto.getTeamPlayerId();
@@ -54,27 +98,55 @@ public class ProductService {
         TeamPlayer teamPlayer = teamPlayerRepository.findById(teamPlayerId)
                 .orElseThrow(() -> new TeamPlayerNotFoundException(teamPlayerId));
 
-        String contractAlias = "product-" + teamPlayerId + "-" + System.currentTimeMillis(); // TODO alias 이름 지정 방법 찾기
-
-        nftService.deployNftContract(contractAlias);
-        String metadataUri = nftService.uploadMetadata(productStoreRequestDto.getTitle(), productStoreRequestDto.getDescription(), productStoreRequestDto.getNftImageFile());
+        Product product = productRepository.save(Product.draft(productStoreRequestDto, teamPlayer));
+        searchIndexService.index(SearchTargetType.PRODUCT_TITLE, product.getId(), product.getTitle());
 
-        String s3NftImageUrl = awsS3FileStore.uploadFile(productStoreRequestDto.getNftImageFile(), ContentType.PRODUCT_NFT_IMAGE);
-        String detailImageUrl = awsS3FileStore.uploadFile(productStoreRequestDto.getDetailImageFile(), ContentType.PRODUCT_DETAIL_IMAGE);
-
-        NftInfo nftInfo = new NftInfo(contractAlias, metadataUri);
-
-        Product product = productStoreRequestDto.toProduct(teamPlayer, nftInfo, s3NftImageUrl, detailImageUrl);
-        productRepository.save(product);
+        startPublish(product, productStoreRequestDto.getNftImageFile(), productStoreRequestDto.getDetailImageFile());
+        return ProductResponseDto.of(product);
+    }
 
-        kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.UPDATE));
+    /**
+     * 등록에 실패한(FAILED) 상품을 다시 DRAFT 로 바꾸고 등록 작업을 다시 시작한다.
+     * 이미지는 등록 작업 메모리에만 있었으므로 다시 받는다.
+     */
+    @Transactional
+    public ProductResponseDto retryPublish(final Long productId, final ProductPublishRequestDto productPublishRequestDto) throws IOException {
+        Product product = productRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException(productId));
+        if (!product.isFailed()) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FAILED);
+        }
 
+        product.retryPublish();
+        startPublish(product, productPublishRequestDto.getNftImageFile(), productPublishRequestDto.getDetailImageFile());
         return ProductResponseDto.of(product);
     }
 
+    private void startPublish(final Product product, final MultipartFile nftImageFile, final MultipartFile detailImageFile) throws IOException {
+        // 미리 배포된 컨트랙트가 있으면 쓰고, 없으면 등록 작업에서 새로 배포한다.
+        Optional<String> pooledContractAlias = nftContractPool.claim(product.getId());
+        String contractAlias = pooledContractAlias
+                .orElseGet(() -> "product-" + product.getTeamPlayer().getId() + "-" + System.currentTimeMillis()); // TODO alias 이름 지정 방법 찾기
+
+        eventPublisher.publishEvent(new ProductDraftedEvent(
+                product.getId(),
+                contractAlias,
+                pooledContractAlias.isPresent(),
+                product.getTitle(),
+                product.getDescription(),
+                BufferedMultipartFile.of(nftImageFile),
+                BufferedMultipartFile.of(detailImageFile)));
+    }
+
     @Transactional
     public ProductResponseDto updateProduct(final Long productId, final ProductStoreRequestDto productStoreRequestDto) throws IOException {
         Product product = productRepository.findById(productId).orElseThrow(EntityNotFoundException::new);
+        if (product.isDraft()) {
+            throw new BusinessException(ErrorCode.PRODUCT_PUBLISHING);
+        }
+        // 등록에 실패한 상품은 NFT 정보가 없으므로 수정 이벤트로 노출하지 않는다.
+        if (product.isFailed()) {
+            throw new BusinessException(ErrorCode.PRODUCT_PUBLISH_FAILED);
+        }
 
         if (!product.getTeamPlayer().getId().equals(productStoreRequestDto.getTeamPlayerId())) {
             TeamPlayer teamPlayer = teamPlayerRepository.findById(productStoreRequestDto.getTeamPlayerId()).orElseThrow(EntityNotFoundException::new);
@@ -84,11 +156,15 @@ public class ProductService {
         MultipartFile detailImageFile = productStoreRequestDto.getDetailImageFile();
         if (detailImageFile != null && !detailImageFile.isEmpty()) {
             awsS3FileStore.deleteFile(product.getDetailImageUrl(), ContentType.PRODUCT_DETAIL_IMAGE);
+            imageVariantService.delete(product.getDetailImageVariants(), ContentType.PRODUCT_DETAIL_IMAGE);
             String iconUrl = awsS3FileStore.uploadFile(detailImageFile, ContentType.PRODUCT_DETAIL_IMAGE);
-            product.setDetailImageUrl(iconUrl);
+            product.changeDetailImage(iconUrl);
+            eventPublisher.publishEvent(new ImageVariantRequestedEvent(
+                    ImageVariantTarget.PRODUCT_DETAIL_IMAGE, product.getId(), iconUrl, BufferedMultipartFile.of(detailImageFile)));
         }
 
         product.updateByDto(productStoreRequestDto);
+        searchIndexService.index(SearchTargetType.PRODUCT_TITLE, product.getId(), product.getTitle());
 
         kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.UPDATE));
 
@@ -100,17 +176,30 @@ public class ProductService {
         Product product = productRepository.findById(productId).orElseThrow(() -> new ProductNotFoundException(productId));
         awsS3FileStore.deleteFile(product.getNftImageUrl(), ContentType.PRODUCT_NFT_IMAGE);
         awsS3FileStore.deleteFile(product.getDetailImageUrl(), ContentType.PRODUCT_DETAIL_IMAGE);
+        imageVariantService.delete(product.getNftImageVariants(), ContentType.PRODUCT_NFT_IMAGE);
+        imageVariantService.delete(product.getDetailImageVariants(), ContentType.PRODUCT_DETAIL_IMAGE);
         productRepository.delete(product);
+        searchIndexService.remove(SearchTargetType.PRODUCT_TITLE, product.getId());
         kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.DELETE));
 
         return ProductResponseDto.of(product);
     }
 
+    // 상품별로 모은 주문 수만큼 한 번에 차감하고, 상품당 한 번만 변경 이벤트를 보낸다.
+    // 차감은 DB 에서 원자적으로 하고, 이벤트에는 차감 후 수량을 다시 읽어 담는다.
     @Transactional
-    public void decreaseRemainedCount(final Long productId) {
-        productRepository.findById(productId).ifPresent(product -> {
-            product.decreaseRemainedCount();
-            kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.UPDATE));
+    public void decreaseRemainedCounts(final Map<Long, Integer> orderedCounts) {
+        Set<Long> decreasedIds = new HashSet<>();
+        orderedCounts.forEach((productId, count) -> {
+            if (productRepository.decreaseRemainedCount(productId, count) > 0) {
+                decreasedIds.add(productId);
+            }
         });
+        if (decreasedIds.isEmpty()) {
+            return;
+        }
+        for (Product product : productRepository.findAllWithTeamPlayerByIdIn(decreasedIds)) {
+            kafkaProductProducer.sendProduct(new ProductKafkaDto(product, KafkaEvent.UPDATE));
+        }
     }
 }
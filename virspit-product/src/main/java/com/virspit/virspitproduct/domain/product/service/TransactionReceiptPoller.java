@@ -0,0 +1,156 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.product.feign.wallet.KasWalletFeignClient;
+import com.virspit.virspitproduct.domain.product.feign.wallet.TransactionReceipt.TransactionStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대기 중인 KAS 트랜잭션 해시를 모아 폴링한다.
+ * 스케줄러 스레드는 조회할 차례가 된 해시를 고르기만 하고, 조회와 future 완료는 receiptLookupExecutor 에서 한다.
+ * 해시마다 CompletableFuture 를 돌려주고, Committed 면 true, CommitError 면 false 로 완료한다.
+ * 제한 시간이 지나면 마지막으로 한 번 더 조회하고, 그때도 확정되지 않았으면 TimeoutException 으로 완료한다.
+ * 조회 간격은 해시별로 지수 백오프한다.
+ * future 에 이어 붙인 작업이 조회 스레드를 오래 잡지 않도록, DB 나 S3 를 쓰는 쪽은 *Async 로 자기 스레드에서 이어간다.
+ */
+@Slf4j
+@Component
+public class TransactionReceiptPoller {
+
+    private final KasWalletFeignClient kasWalletFeignClient;
+    private final TaskScheduler receiptPollerScheduler;
+    private final TaskExecutor receiptLookupExecutor;
+    private final long pollIntervalMillis;
+    private final long maxBackoffMillis;
+    private final long timeoutMillis;
+
+    private final Map<String, PendingReceipt> pendingReceipts = new ConcurrentHashMap<>();
+
+    public TransactionReceiptPoller(KasWalletFeignClient kasWalletFeignClient,
+                                    @Qualifier("receiptPollerScheduler") TaskScheduler receiptPollerScheduler,
+                                    @Qualifier("receiptLookupExecutor") TaskExecutor receiptLookupExecutor,
+                                    @Value("${kas.receipt.poll-interval-ms:500}") long pollIntervalMillis,
+                                    @Value("${kas.receipt.max-backoff-ms:4000}") long maxBackoffMillis,
+                                    @Value("${kas.receipt.timeout-ms:120000}") long timeoutMillis) {
+        this.kasWalletFeignClient = kasWalletFeignClient;
+        this.receiptPollerScheduler = receiptPollerScheduler;
+        this.receiptLookupExecutor = receiptLookupExecutor;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        receiptPollerScheduler.scheduleWithFixedDelay(this::poll, Duration.ofMillis(pollIntervalMillis));
+    }
+
+    public CompletableFuture<Boolean> watch(final String transactionHash) {
+        if (transactionHash == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return pendingReceipts.computeIfAbsent(transactionHash, hash -> new PendingReceipt(System.currentTimeMillis()))
+                .future;
+    }
+
+    void poll() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, PendingReceipt> entry : pendingReceipts.entrySet()) {
+            String transactionHash = entry.getKey();
+            PendingReceipt pending = entry.getValue();
+
+            if (now < pending.nextPollAt && now < pending.deadline) {
+                continue;
+            }
+            // 같은 해시를 동시에 두 번 조회하지 않는다.
+            if (!pending.inFlight.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                receiptLookupExecutor.execute(() -> check(transactionHash, pending));
+            } catch (TaskRejectedException e) {
+                log.warn("receipt lookup queue is full : {}", transactionHash);
+                pending.inFlight.set(false);
+                return;
+            }
+        }
+    }
+
+    void check(final String transactionHash, final PendingReceipt pending) {
+        try {
+            Boolean committed = lookup(transactionHash);
+            long now = System.currentTimeMillis();
+            if (committed != null) {
+                finish(transactionHash, pending, committed);
+            } else if (now >= pending.deadline) {
+                log.warn("transaction receipt timeout : {}", transactionHash);
+                finish(transactionHash, pending, null);
+            } else {
+                pending.backoff(now);
+            }
+        } finally {
+            pending.inFlight.set(false);
+        }
+    }
+
+    // Committed 면 true, CommitError 면 false, 아직 확정 전이거나 조회에 실패하면 null
+    private Boolean lookup(final String transactionHash) {
+        try {
+            TransactionStatus status = kasWalletFeignClient.getTransactionReceipt(transactionHash).getStatus();
+            if (status == TransactionStatus.Committed) {
+                return true;
+            }
+            if (status == TransactionStatus.CommitError) {
+                log.error("transaction failed : {}", transactionHash);
+                return false;
+            }
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("transaction receipt lookup failed : {}, {}", transactionHash, e.getMessage());
+            return null;
+        }
+    }
+
+    private void finish(final String transactionHash, final PendingReceipt pending, final Boolean committed) {
+        if (!pendingReceipts.remove(transactionHash, pending)) {
+            return;
+        }
+        if (committed == null) {
+            pending.future.completeExceptionally(new TimeoutException("transaction receipt timeout : " + transactionHash));
+        } else {
+            pending.future.complete(committed);
+        }
+    }
+
+    private class PendingReceipt {
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final long deadline;
+        private volatile long nextPollAt;
+        private long backoffMillis;
+
+        private PendingReceipt(final long now) {
+            this.deadline = now + timeoutMillis;
+            this.nextPollAt = now;
+            this.backoffMillis = pollIntervalMillis;
+        }
+
+        private void backoff(final long now) {
+            nextPollAt = now + backoffMillis;
+            backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+        }
+    }
+}
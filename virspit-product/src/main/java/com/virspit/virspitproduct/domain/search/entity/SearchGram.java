@@ -0,0 +1,45 @@
+package com.virspit.virspitproduct.domain.search.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 상품 제목, 팀/선수 이름의 2-gram 역색인.
+ * MariaDB FULLTEXT 는 n-gram 파서가 없어 한글 부분 검색에 쓸 수 없으므로 직접 gram 을 저장한다.
+ * (targetType, gram, targetId) 인덱스로 검색어의 gram 들이 모두 들어있는 대상만 찾는다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_search_gram_gram", columnList = "targetType, gram, targetId"),
+        @Index(name = "idx_search_gram_target", columnList = "targetType, targetId")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class SearchGram {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SearchTargetType targetType;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long targetId;
+
+    @NotNull
+    @Column(nullable = false, length = 8)
+    private String gram;
+
+    public SearchGram(SearchTargetType targetType, Long targetId, String gram) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.gram = gram;
+    }
+}
@@ -0,0 +1,6 @@
+package com.virspit.virspitproduct.domain.search.entity;
+
+public enum SearchTargetType {
+    PRODUCT_TITLE,
+    TEAM_PLAYER_NAME
+}
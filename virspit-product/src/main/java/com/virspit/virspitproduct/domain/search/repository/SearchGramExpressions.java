@@ -0,0 +1,39 @@
+package com.virspit.virspitproduct.domain.search.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.JPAExpressions;
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import com.virspit.virspitproduct.domain.search.service.SearchGrams;
+
+import java.util.List;
+
+import static com.virspit.virspitproduct.domain.search.entity.QSearchGram.searchGram;
+
+/**
+ * 검색어의 gram 이 모두 들어있는 대상으로 좁히는 조건.
+ * gram 이 모두 있어도 연속해서 나온다는 보장은 없으므로 호출하는 쪽에서 원래의 contains 조건을 같이 건다.
+ */
+public final class SearchGramExpressions {
+
+    private SearchGramExpressions() {
+    }
+
+    public static BooleanExpression matches(SearchTargetType targetType, NumberPath<Long> targetId, String keyword) {
+        List<String> grams = SearchGrams.ofKeyword(keyword);
+        if (grams.isEmpty()) {
+            return null;
+        }
+        if (grams.size() == 1 && SearchGrams.isSingleCharacter(grams.get(0))) {
+            // 한 글자는 그 글자로 시작하는 gram 을 찾는다.
+            return targetId.in(JPAExpressions.select(searchGram.targetId)
+                    .from(searchGram)
+                    .where(searchGram.targetType.eq(targetType), searchGram.gram.startsWith(grams.get(0))));
+        }
+        return targetId.in(JPAExpressions.select(searchGram.targetId)
+                .from(searchGram)
+                .where(searchGram.targetType.eq(targetType), searchGram.gram.in(grams))
+                .groupBy(searchGram.targetId)
+                .having(searchGram.gram.countDistinct().eq((long) grams.size())));
+    }
+}
@@ -0,0 +1,19 @@
+package com.virspit.virspitproduct.domain.search.repository;
+
+import com.virspit.virspitproduct.domain.search.entity.SearchGram;
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SearchGramRepository extends JpaRepository<SearchGram, Long> {
+
+    @Modifying
+    @Query("delete from SearchGram g where g.targetType = :targetType and g.targetId = :targetId")
+    int deleteByTarget(@Param("targetType") SearchTargetType targetType, @Param("targetId") Long targetId);
+
+    boolean existsByTargetType(SearchTargetType targetType);
+}
@@ -0,0 +1,55 @@
+package com.virspit.virspitproduct.domain.search.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 공백을 없애고 소문자로 바꾼 뒤 2글자씩 자른다.
+ * 색인할 때는 마지막 글자도 한 글자 gram 으로 넣어서, 모든 글자 위치가 그 글자로 시작하는 gram 을 갖게 한다.
+ */
+public final class SearchGrams {
+    private static final int GRAM_SIZE = 2;
+
+    private SearchGrams() {
+    }
+
+    public static Set<String> ofText(String text) {
+        int[] codePoints = normalize(text);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, Math.min(GRAM_SIZE, codePoints.length - i)));
+        }
+        return grams;
+    }
+
+    public static List<String> ofKeyword(String keyword) {
+        int[] codePoints = normalize(keyword);
+        if (codePoints.length == 0) {
+            return List.of();
+        }
+        if (codePoints.length < GRAM_SIZE) {
+            return List.of(new String(codePoints, 0, codePoints.length));
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= codePoints.length; i++) {
+            grams.add(new String(codePoints, i, GRAM_SIZE));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    public static boolean isSingleCharacter(String gram) {
+        return gram.codePointCount(0, gram.length()) == 1;
+    }
+
+    private static int[] normalize(String text) {
+        if (text == null) {
+            return new int[0];
+        }
+        return text.toLowerCase(Locale.ROOT).codePoints()
+                .filter(codePoint -> !Character.isWhitespace(codePoint))
+                .toArray();
+    }
+}
@@ -0,0 +1,17 @@
+package com.virspit.virspitproduct.domain.search.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SearchIndexInitializer {
+    private final SearchIndexService searchIndexService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        searchIndexService.buildIfEmpty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.virspit.virspitproduct.domain.search.service;
+
+import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
+import com.virspit.virspitproduct.domain.search.entity.SearchGram;
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import com.virspit.virspitproduct.domain.search.repository.SearchGramRepository;
+import com.virspit.virspitproduct.domain.teamplayer.repository.TeamPlayerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 대상이 저장/수정/삭제되는 트랜잭션 안에서 gram 색인을 같이 고친다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+    private final SearchGramRepository searchGramRepository;
+    private final ProductRepository productRepository;
+    private final TeamPlayerRepository teamPlayerRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void index(SearchTargetType targetType, Long targetId, String text) {
+        searchGramRepository.deleteByTarget(targetType, targetId);
+        List<SearchGram> grams = SearchGrams.ofText(text).stream()
+                .map(gram -> new SearchGram(targetType, targetId, gram))
+                .collect(Collectors.toList());
+        searchGramRepository.saveAll(grams);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(SearchTargetType targetType, Long targetId) {
+        searchGramRepository.deleteByTarget(targetType, targetId);
+    }
+
+    /**
+     * 색인이 도입되기 전에 저장된 상품, 팀/선수를 색인한다. 이미 색인이 있는 대상 종류는 건너뛴다.
+     */
+    @Transactional
+    public void buildIfEmpty() {
+        if (!searchGramRepository.existsByTargetType(SearchTargetType.PRODUCT_TITLE)) {
+            productRepository.findAll()
+                    .forEach(product -> index(SearchTargetType.PRODUCT_TITLE, product.getId(), product.getTitle()));
+            log.info("product title search index built");
+        }
+        if (!searchGramRepository.existsByTargetType(SearchTargetType.TEAM_PLAYER_NAME)) {
+            teamPlayerRepository.findAll()
+                    .forEach(teamPlayer -> index(SearchTargetType.TEAM_PLAYER_NAME, teamPlayer.getId(), teamPlayer.getName()));
+            log.info("team player name search index built");
+        }
+    }
+}
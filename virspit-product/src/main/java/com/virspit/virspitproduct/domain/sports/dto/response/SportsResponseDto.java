@@ -1,5 +1,6 @@
 package com.virspit.virspitproduct.domain.sports.dto.response;
 
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
 import com.virspit.virspitproduct.domain.sports.entity.Sports;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Getter;
@@ -18,10 +19,14 @@ public class SportsResponseDto {
     @ApiModelProperty("아이콘 이미지 주소")
     private final String iconUrl;
 
+    @ApiModelProperty("아이콘 이미지를 줄인 이미지 주소. 만들어지기 전에는 null")
+    private final ImageVariants iconVariants;
+
     private SportsResponseDto(Sports sports) {
         id = sports.getId();
         name = sports.getName();
         iconUrl = sports.getIconUrl();
+        iconVariants = sports.getIconVariants();
     }
 
     public static SportsResponseDto of(Sports sports) {
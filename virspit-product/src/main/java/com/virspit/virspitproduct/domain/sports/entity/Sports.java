@@ -1,6 +1,7 @@
 package com.virspit.virspitproduct.domain.sports.entity;
 
 import com.virspit.virspitproduct.domain.common.BaseEntity;
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
 import lombok.*;
 import org.hibernate.validator.constraints.Length;
@@ -26,9 +27,16 @@ public class Sports extends BaseEntity {
     @Column(length = 20, unique = true)
     private String name;
 
-    @Setter
     private String iconUrl;
 
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "thumbnailUrl", column = @Column(name = "icon_thumbnail_url")),
+            @AttributeOverride(name = "cardUrl", column = @Column(name = "icon_card_url")),
+            @AttributeOverride(name = "detailUrl", column = @Column(name = "icon_detail_url"))
+    })
+    private ImageVariants iconVariants;
+
     @OneToMany(mappedBy = "sports")
     private List<TeamPlayer> teamPlayers = new ArrayList<>();
 
@@ -36,4 +44,18 @@ public class Sports extends BaseEntity {
         this.name = name;
         this.iconUrl = iconUrl;
     }
+
+    public void changeIcon(String iconUrl) {
+        this.iconUrl = iconUrl;
+        this.iconVariants = null;
+    }
+
+    // 만드는 동안 아이콘이 바뀌었으면 적용하지 않는다.
+    public boolean applyIconVariants(String sourceUrl, ImageVariants variants) {
+        if (iconUrl == null || !iconUrl.equals(sourceUrl)) {
+            return false;
+        }
+        this.iconVariants = variants;
+        return true;
+    }
 }
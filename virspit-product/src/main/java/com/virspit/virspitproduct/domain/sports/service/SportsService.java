@@ -1,5 +1,8 @@
 package com.virspit.virspitproduct.domain.sports.service;
 
+import com.virspit.virspitproduct.domain.file.service.ImageVariantRequestedEvent;
+import com.virspit.virspitproduct.domain.file.service.ImageVariantService;
+import com.virspit.virspitproduct.domain.file.service.ImageVariantTarget;
 import com.virspit.virspitproduct.domain.sports.dto.request.SportsStoreRequestDto;
 import com.virspit.virspitproduct.domain.sports.dto.response.SportsResponseDto;
 import com.virspit.virspitproduct.domain.sports.entity.Sports;
@@ -9,10 +12,12 @@ import com.virspit.virspitproduct.domain.sports.exception.SportsNotFoundExceptio
 import com.virspit.virspitproduct.domain.sports.repository.SportsRepository;
 import com.virspit.virspitproduct.error.ErrorCode;
 import com.virspit.virspitproduct.error.exception.BusinessException;
+import com.virspit.virspitproduct.util.file.BufferedMultipartFile;
 import com.virspit.virspitproduct.util.file.ContentType;
 import com.virspit.virspitproduct.util.file.FileStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +32,8 @@ import java.util.List;
 public class SportsService {
     private final SportsRepository sportsRepository;
     private final FileStore awsS3FileStore;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<SportsResponseDto> getAllSports(Pageable pageable) {
         return SportsResponseDto.of(sportsRepository.findAll(pageable).toList());
@@ -50,8 +57,11 @@ public class SportsService {
         }
 
         String iconFileUrl = awsS3FileStore.uploadFile(iconFile, ContentType.SPORTS_ICON_IMAGE);
+        Sports sports = sportsRepository.save(new Sports(name, iconFileUrl));
+        eventPublisher.publishEvent(new ImageVariantRequestedEvent(
+                ImageVariantTarget.SPORTS_ICON_IMAGE, sports.getId(), iconFileUrl, BufferedMultipartFile.of(iconFile)));
 
-        return SportsResponseDto.of(sportsRepository.save(new Sports(name, iconFileUrl)));
+        return SportsResponseDto.of(sports);
     }
 
     @Transactional
@@ -64,8 +74,11 @@ public class SportsService {
         MultipartFile iconFile = sportsStoreRequestDto.getIconFile();
         if (iconFile != null && !iconFile.isEmpty()) {
             awsS3FileStore.deleteFile(storedSports.getIconUrl(), ContentType.SPORTS_ICON_IMAGE);
+            imageVariantService.delete(storedSports.getIconVariants(), ContentType.SPORTS_ICON_IMAGE);
             String iconUrl = awsS3FileStore.uploadFile(iconFile, ContentType.SPORTS_ICON_IMAGE);
-            storedSports.setIconUrl(iconUrl);
+            storedSports.changeIcon(iconUrl);
+            eventPublisher.publishEvent(new ImageVariantRequestedEvent(
+                    ImageVariantTarget.SPORTS_ICON_IMAGE, storedSports.getId(), iconUrl, BufferedMultipartFile.of(iconFile)));
         }
 
         return SportsResponseDto.of(storedSports);
@@ -81,6 +94,7 @@ public class SportsService {
         }
 
         awsS3FileStore.deleteFile(sports.getIconUrl(), ContentType.SPORTS_ICON_IMAGE);
+        imageVariantService.delete(sports.getIconVariants(), ContentType.SPORTS_ICON_IMAGE);
         sportsRepository.deleteById(sportsId);
 
         return SportsResponseDto.of(sports);
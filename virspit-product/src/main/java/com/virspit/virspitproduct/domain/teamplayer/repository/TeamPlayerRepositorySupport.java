@@ -2,6 +2,8 @@ package com.virspit.virspitproduct.domain.teamplayer.repository;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import com.virspit.virspitproduct.domain.search.repository.SearchGramExpressions;
 import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,7 @@ public class TeamPlayerRepositorySupport {
         BooleanBuilder builder = new BooleanBuilder();
 
         if (name != null && !name.isBlank()) {
+            builder.and(SearchGramExpressions.matches(SearchTargetType.TEAM_PLAYER_NAME, teamPlayer.id, name));
             builder.and(teamPlayer.name.contains(name));
         }
 
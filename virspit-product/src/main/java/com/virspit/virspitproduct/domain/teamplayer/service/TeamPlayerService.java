@@ -1,5 +1,7 @@
 package com.virspit.virspitproduct.domain.teamplayer.service;
 
+import com.virspit.virspitproduct.domain.search.entity.SearchTargetType;
+import com.virspit.virspitproduct.domain.search.service.SearchIndexService;
 import com.virspit.virspitproduct.domain.sports.entity.Sports;
 import com.virspit.virspitproduct.domain.sports.exception.SportsNotFoundException;
 import com.virspit.virspitproduct.domain.sports.repository.SportsRepository;
@@ -26,6 +28,7 @@ public class TeamPlayerService {
     private final TeamPlayerRepository teamPlayerRepository;
     private final TeamPlayerRepositorySupport teamPlayerRepositorySupport;
     private final SportsRepository sportsRepository;
+    private final SearchIndexService searchIndexService;
 
     public List<TeamPlayerResponseDto> getTeamPlayers(String name, Long sportsId, final Pageable pageable) {
         return TeamPlayerResponseDto.of(teamPlayerRepositorySupport.findAll(name, sportsId, pageable));
@@ -43,7 +46,10 @@ public class TeamPlayerService {
 
         TeamPlayer teamPlayer = teamPlayerStoreRequestDto.toTeamPlayer(sports);
 
-        return TeamPlayerResponseDto.of(teamPlayerRepository.save(teamPlayer));
+        TeamPlayer saved = teamPlayerRepository.save(teamPlayer);
+        searchIndexService.index(SearchTargetType.TEAM_PLAYER_NAME, saved.getId(), saved.getName());
+
+        return TeamPlayerResponseDto.of(saved);
     }
 
     @Transactional
@@ -61,6 +67,7 @@ public class TeamPlayerService {
         }
 
         teamPlayer.updateByDto(teamPlayerStoreRequestDto);
+        searchIndexService.index(SearchTargetType.TEAM_PLAYER_NAME, teamPlayer.getId(), teamPlayer.getName());
 
         return TeamPlayerResponseDto.of(teamPlayer);
     }
@@ -75,6 +82,7 @@ public class TeamPlayerService {
         }
 
         teamPlayerRepository.deleteById(teamPlayerId);
+        searchIndexService.remove(SearchTargetType.TEAM_PLAYER_NAME, teamPlayerId);
 
         return TeamPlayerResponseDto.of(teamPlayer);
     }
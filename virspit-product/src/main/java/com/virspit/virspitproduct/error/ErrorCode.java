@@ -27,7 +27,10 @@ public enum ErrorCode {
     PRODUCT_EXIST(400, "T001", "팀/플레이어에 관련된 상품이 존재합니다"),
 
     // Product
-    NFT_CONTRACT_TRANSACTION_FAILED(500, "P001", "컨트랙트 배포 실패. 관리자에게 문의하세요");
+    NFT_CONTRACT_TRANSACTION_FAILED(500, "P001", "컨트랙트 배포 실패. 관리자에게 문의하세요"),
+    PRODUCT_PUBLISHING(409, "P002", "상품 등록이 진행 중입니다. 등록이 끝난 뒤 다시 시도해주세요"),
+    PRODUCT_NOT_FAILED(409, "P003", "등록에 실패한 상품만 다시 등록할 수 있습니다"),
+    PRODUCT_PUBLISH_FAILED(409, "P004", "등록에 실패한 상품입니다. 다시 등록한 뒤 수정해주세요");
 
 
     @Getter
@@ -1,30 +1,70 @@
 package com.virspit.virspitproduct.util.file;
 
+import com.amazonaws.AmazonClientException;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import com.virspit.virspitproduct.domain.file.service.StoredFileService;
 import com.virspit.virspitproduct.error.exception.FileNotSupportException;
-import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
-import java.util.UUID;
-
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * 파일은 내용의 SHA-256 으로 이름을 붙여 images/sha256/ 아래에 저장하고, 같은 내용은 한 번만 올린다.
+ * NFT, 상세, 아이콘 이미지가 같은 파일을 공유할 수 있으므로 참조 수가 0 이 될 때만 지운다.
+ * 요청 스트림을 임시 파일에 옮기지 않고 바로 S3 로 보낸다.
+ * 크기를 알고 보내므로 SDK 가 스트림 전체를 메모리에 버퍼링하지 않으며,
+ * multipart-threshold 를 넘는 파일은 TransferManager 가 multipart 업로드로 나눠 보낸다.
+ */
 @Component
-@RequiredArgsConstructor
 public class AwsS3FileStore implements FileStore {
+    private static final String CONTENT_ADDRESSED_PATH = "images/sha256/";
 
     private final AmazonS3Client amazonS3Client;
+    private final StoredFileService storedFileService;
+    private final TransferManager transferManager;
+    private final String bucket;
+
+    @Autowired
+    public AwsS3FileStore(AmazonS3Client amazonS3Client,
+                          StoredFileService storedFileService,
+                          @Value("${cloud.aws.s3.bucket}") String bucket,
+                          @Value("${cloud.aws.s3.multipart-threshold-bytes:5242880}") long multipartThreshold) {
+        this(amazonS3Client, storedFileService, bucket, TransferManagerBuilder.standard()
+                .withS3Client(amazonS3Client)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .withMinimumUploadPartSize(multipartThreshold)
+                .withShutDownThreadPools(true)
+                .build());
+    }
 
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
+    AwsS3FileStore(AmazonS3Client amazonS3Client,
+                   StoredFileService storedFileService,
+                   String bucket,
+                   TransferManager transferManager) {
+        this.amazonS3Client = amazonS3Client;
+        this.storedFileService = storedFileService;
+        this.bucket = bucket;
+        this.transferManager = transferManager;
+    }
 
-    @Value("${file.dir.root-path}")
-    private String fileDir;
+    @PreDestroy
+    public void shutdown() {
+        // S3 클라이언트는 다른 곳에서도 쓰므로 스레드 풀만 정리한다.
+        transferManager.shutdownNow(false);
+    }
 
     @Override
     public String uploadFile(MultipartFile multipartFile, ContentType contentType) throws IOException {
@@ -33,19 +73,35 @@ public class AwsS3FileStore implements FileStore {
             throw new FileNotSupportException();
         }
 
-        String filename = createFilename(multipartFile.getOriginalFilename());
-
-        File tmpFile = new File(fileDir, filename);
-        multipartFile.transferTo(tmpFile);
-
-        String uploadPath = contentType.getPath() + filename;
-        amazonS3Client.putObject(new PutObjectRequest(bucket, uploadPath, tmpFile).withCannedAcl(CannedAccessControlList.PublicRead));
+        // 로컬에서 해시를 먼저 계산해서, 이미 있는 내용이면 전송 자체를 하지 않는다.
+        String uploadPath = CONTENT_ADDRESSED_PATH + createFilename(ContentHash.sha256(multipartFile), multipartFile.getOriginalFilename());
+        String url = amazonS3Client.getUrl(bucket, uploadPath).toString();
+        if (storedFileService.acquire(uploadPath)) {
+            return url;
+        }
 
-        if (!tmpFile.delete()) {
-            // TODO 임시 파일 삭제 실패 시 처리할 작업 구현
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(multipartFile.getSize());
+        metadata.setContentType(fileType);
+
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            transferManager.upload(new PutObjectRequest(bucket, uploadPath, inputStream, metadata)
+                    .withCannedAcl(CannedAccessControlList.PublicRead))
+                    .waitForUploadResult();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 업로드가 중단되었습니다. path=" + uploadPath, e);
+        } catch (AmazonClientException e) {
+            throw new IOException("S3 업로드에 실패했습니다. path=" + uploadPath, e);
         }
 
-        return amazonS3Client.getUrl(bucket, uploadPath).toString();
+        try {
+            storedFileService.register(uploadPath, url);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용이 동시에 올라와 먼저 등록된 경우. 올린 내용이 같으므로 참조만 늘린다.
+            storedFileService.acquire(uploadPath);
+        }
+        return url;
     }
 
     @Override
@@ -55,16 +111,21 @@ public class AwsS3FileStore implements FileStore {
             return false;
         }
 
-        amazonS3Client.deleteObject(bucket, contentType.getPath() + filename);
+        if (!fileUrl.contains("/" + CONTENT_ADDRESSED_PATH)) {
+            // 내용 주소를 쓰기 전에 올린 파일은 다른 곳과 공유하지 않는다.
+            amazonS3Client.deleteObject(bucket, contentType.getPath() + filename);
+            return true;
+        }
 
+        storedFileService.release(fileUrl, fileKey -> amazonS3Client.deleteObject(bucket, fileKey));
         return true;
     }
 
-    private String createFilename(final String originalFilename) {
-        String filename = UUID.randomUUID().toString().replace("-", "");
+    private String createFilename(final String contentHash, final String originalFilename) {
+        String filename = contentHash;
         String extension = StringUtils.getFilenameExtension(originalFilename);
         if (extension != null) {
-            filename = filename + "." + extension;
+            filename = filename + "." + extension.toLowerCase(Locale.ROOT);
         }
 
         return filename;
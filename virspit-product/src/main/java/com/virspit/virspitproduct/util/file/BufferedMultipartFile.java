@@ -0,0 +1,80 @@
+package com.virspit.virspitproduct.util.file;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * 요청이 끝나면 업로드 임시 파일이 지워지므로, 요청 스레드 밖에서 쓸 파일은 메모리에 복사해 둔다.
+ * 서버에서 만든 파일도 같은 형태로 FileStore 에 올린다.
+ */
+public class BufferedMultipartFile implements MultipartFile {
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final byte[] content;
+
+    private BufferedMultipartFile(final String name, final String originalFilename, final String contentType, final byte[] content) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    public static MultipartFile of(final MultipartFile multipartFile) throws IOException {
+        if (multipartFile == null) {
+            return null;
+        }
+        return new BufferedMultipartFile(multipartFile.getName(), multipartFile.getOriginalFilename(),
+                multipartFile.getContentType(), multipartFile.getBytes());
+    }
+
+    // 서버에서 만든 파일(리사이즈한 이미지 등)을 FileStore 로 올릴 때 쓴다.
+    public static MultipartFile of(final String originalFilename, final String contentType, final byte[] content) {
+        return new BufferedMultipartFile(originalFilename, originalFilename, contentType, content);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return content.length == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return content.length;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return content;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void transferTo(final File dest) throws IOException {
+        Files.write(dest.toPath(), content);
+    }
+}
@@ -1,47 +1,68 @@
 package com.virspit.virspitproduct.util.file;
 
+import com.virspit.virspitproduct.domain.file.service.StoredFileService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Locale;
 
 @Component
 public class LocalFileStore implements FileStore {
+    private static final String CONTENT_ADDRESSED_PATH = "images/sha256/";
+    private static final String FILE_KEY_PREFIX = "local/";
+
+    private final StoredFileService storedFileService;
 
     @Value("${file.dir.root-path}")
     private String fileDir;
 
+    public LocalFileStore(StoredFileService storedFileService) {
+        this.storedFileService = storedFileService;
+    }
+
+    // AwsS3FileStore 와 같이 내용의 SHA-256 으로 이름을 붙이고, 같은 내용은 한 번만 쓴다.
     @Override
     public String uploadFile(final MultipartFile multipartFile, final ContentType contentType) throws IOException {
         if (multipartFile.isEmpty()) {
             return null;
         }
 
-        String filename = createFilename(multipartFile.getOriginalFilename());
-        multipartFile.transferTo(new File(getFullPath(filename, contentType)));
+        String filename = createFilename(ContentHash.sha256(multipartFile), multipartFile.getOriginalFilename());
+        String fileKey = FILE_KEY_PREFIX + filename;
+        if (storedFileService.acquire(fileKey)) {
+            return filename;
+        }
+
+        multipartFile.transferTo(new File(getFullPath(filename)));
+        try {
+            storedFileService.register(fileKey, filename);
+        } catch (DataIntegrityViolationException e) {
+            storedFileService.acquire(fileKey);
+        }
 
         return filename;
     }
 
     @Override
     public boolean deleteFile(final String filename, final ContentType contentType) {
-        File file = new File(getFullPath(filename, contentType));
-        return file.delete();
+        // 다른 곳에서 아직 쓰는 파일이면 false
+        return storedFileService.release(filename, fileKey -> new File(getFullPath(filename)).delete());
     }
 
-    public String getFullPath(final String filename, final ContentType contentType) {
-        return fileDir + contentType.getPath() + filename;
+    public String getFullPath(final String filename) {
+        return fileDir + CONTENT_ADDRESSED_PATH + filename;
     }
 
-    private String createFilename(final String originalFilename) {
-        String filename = UUID.randomUUID().toString().replace("-", "");
+    private String createFilename(final String contentHash, final String originalFilename) {
+        String filename = contentHash;
         String extension = StringUtils.getFilenameExtension(originalFilename);
         if (extension != null) {
-            filename = filename + "." + extension;
+            filename = filename + "." + extension.toLowerCase(Locale.ROOT);
         }
 
         return filename;
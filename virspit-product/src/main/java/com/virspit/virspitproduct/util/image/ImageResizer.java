@@ -0,0 +1,131 @@
+package com.virspit.virspitproduct.util.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 이미지를 긴 변 기준으로 줄여 JPEG 로 인코딩한다. 원본보다 크게 늘리지는 않는다.
+ * 크게 줄일 때는 절반씩 나눠 줄여서 한 번에 줄일 때 생기는 계단 현상을 막는다.
+ * 아주 큰 원본은 헤더로 크기를 먼저 확인하고 픽셀을 건너뛰며 읽어서, 디코딩한 이미지가 maxPixels 를 넘지 않게 한다.
+ */
+public final class ImageResizer {
+    private static final String JPEG = "jpeg";
+
+    private ImageResizer() {
+    }
+
+    /**
+     * @return 읽을 수 없는 형식이면 null
+     */
+    public static BufferedImage read(final InputStream inputStream, final long maxPixels) throws IOException {
+        try (InputStream in = inputStream; ImageInputStream imageInputStream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = imageInputStream == null ? null : ImageIO.getImageReaders(imageInputStream);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int subsampling = subsampling((long) reader.getWidth(0) * reader.getHeight(0), maxPixels);
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public static byte[] toJpeg(final BufferedImage source, final int maxSize, final float quality) throws IOException {
+        BufferedImage resized = resize(source, maxSize);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(JPEG).next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(resized, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    // 가로, 세로 모두 n 픽셀마다 하나씩 읽으면 픽셀 수가 n^2 분의 1 로 줄어든다.
+    static int subsampling(final long pixels, final long maxPixels) {
+        int subsampling = 1;
+        while (pixels / ((long) subsampling * subsampling) > maxPixels) {
+            subsampling++;
+        }
+        return subsampling;
+    }
+
+    // 줄이는 단계에서 흰 배경의 RGB 로 다시 그리므로 원본 크기 그대로일 때만 따로 flatten 한다.
+    private static BufferedImage resize(final BufferedImage source, final int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = Math.max(targetHeight, current.getHeight() / 2);
+            current = draw(current, nextWidth, nextHeight);
+        }
+        return current == source ? flatten(source) : current;
+    }
+
+    // JPEG 는 투명도가 없으므로 흰 배경 위에 그린다.
+    private static BufferedImage flatten(final BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, source.getWidth(), source.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage draw(final BufferedImage source, final int width, final int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
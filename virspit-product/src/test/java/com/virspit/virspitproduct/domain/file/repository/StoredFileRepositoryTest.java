@@ -0,0 +1,73 @@
+package com.virspit.virspitproduct.domain.file.repository;
+
+import com.virspit.virspitproduct.domain.file.entity.StoredFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StoredFileRepositoryTest {
+    private static final String FILE_KEY = "images/sha256/repository-test.png";
+    private static final String URL = "https://bucket.s3.amazonaws.com/" + FILE_KEY;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Test
+    @DisplayName("등록된 파일의 참조를 늘린다")
+    void increaseReferenceTest() {
+        // given
+        storedFileRepository.saveAndFlush(new StoredFile(FILE_KEY, URL));
+
+        // when
+        int updated = storedFileRepository.increaseReference(FILE_KEY);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(storedFileRepository.findByFileKey(FILE_KEY).get().getReferenceCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 파일은 참조를 늘리지 않는다")
+    void increaseReferenceNotStoredTest() {
+        // when
+        int updated = storedFileRepository.increaseReference(FILE_KEY);
+
+        // then
+        assertThat(updated).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 파일 키를 두 번 등록하면 DataIntegrityViolationException 이 발생한다")
+    void registerDuplicateTest() {
+        // given
+        storedFileRepository.saveAndFlush(new StoredFile(FILE_KEY, URL));
+
+        // when
+        // then
+        assertThatThrownBy(() -> storedFileRepository.saveAndFlush(new StoredFile(FILE_KEY, URL)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("url 로 등록된 파일을 찾는다")
+    void findByUrlForUpdateTest() {
+        // given
+        storedFileRepository.saveAndFlush(new StoredFile(FILE_KEY, URL));
+
+        // when
+        // then
+        assertThat(storedFileRepository.findByUrlForUpdate(URL))
+                .hasValueSatisfying(storedFile -> assertThat(storedFile.getFileKey()).isEqualTo(FILE_KEY));
+    }
+}
@@ -0,0 +1,96 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import com.virspit.virspitproduct.domain.file.entity.ImageVariant;
+import com.virspit.virspitproduct.domain.file.entity.ImageVariants;
+import com.virspit.virspitproduct.domain.product.kafka.KafkaProductProducer;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
+import com.virspit.virspitproduct.domain.sports.entity.Sports;
+import com.virspit.virspitproduct.domain.sports.repository.SportsRepository;
+import com.virspit.virspitproduct.util.file.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantWorkerTest {
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private SportsRepository sportsRepository;
+
+    @Mock
+    private KafkaProductProducer kafkaProductProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ImageVariantWorker imageVariantWorker;
+
+    private final MockMultipartFile iconFile = new MockMultipartFile("iconFile", "icon.png", "image/png", new byte[]{1, 2, 3});
+    private final ImageVariants variants = new ImageVariants(Map.of(
+            ImageVariant.THUMBNAIL, "https://s3/thumbnail.jpg",
+            ImageVariant.CARD, "https://s3/card.jpg",
+            ImageVariant.DETAIL, "https://s3/detail.jpg"));
+
+    @BeforeEach
+    void setUp() {
+        imageVariantWorker = new ImageVariantWorker(imageVariantService, productRepository, sportsRepository,
+                kafkaProductProducer, transactionTemplate, Runnable::run);
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("만든 이미지 주소를 대상에 붙인다")
+    void applyTest() throws Exception {
+        // given
+        Sports sports = new Sports("축구", "https://s3/icon.png");
+        given(sportsRepository.findById(1L)).willReturn(Optional.of(sports));
+        given(imageVariantService.create(iconFile, ContentType.SPORTS_ICON_IMAGE)).willReturn(variants);
+
+        // when
+        imageVariantWorker.onImageVariantRequested(
+                new ImageVariantRequestedEvent(ImageVariantTarget.SPORTS_ICON_IMAGE, 1L, "https://s3/icon.png", iconFile));
+
+        // then
+        assertThat(sports.getIconVariants()).isEqualTo(variants);
+        verify(imageVariantService, never()).delete(any(), any());
+    }
+
+    @Test
+    @DisplayName("만드는 동안 원본이 바뀌었으면 붙이지 않고 만든 이미지를 지운다")
+    void sourceChangedTest() throws Exception {
+        // given
+        Sports sports = new Sports("축구", "https://s3/new-icon.png");
+        given(sportsRepository.findById(1L)).willReturn(Optional.of(sports));
+        given(imageVariantService.create(iconFile, ContentType.SPORTS_ICON_IMAGE)).willReturn(variants);
+
+        // when
+        imageVariantWorker.onImageVariantRequested(
+                new ImageVariantRequestedEvent(ImageVariantTarget.SPORTS_ICON_IMAGE, 1L, "https://s3/icon.png", iconFile));
+
+        // then
+        assertThat(sports.getIconVariants()).isNull();
+        verify(imageVariantService).delete(variants, ContentType.SPORTS_ICON_IMAGE);
+    }
+}
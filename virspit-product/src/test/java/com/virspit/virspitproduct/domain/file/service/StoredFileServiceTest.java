@@ -0,0 +1,147 @@
+package com.virspit.virspitproduct.domain.file.service;
+
+import com.virspit.virspitproduct.domain.file.entity.StoredFile;
+import com.virspit.virspitproduct.domain.file.repository.StoredFileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StoredFileServiceTest {
+    private static final String FILE_KEY = "images/sha256/abc.png";
+    private static final String URL = "https://bucket.s3.amazonaws.com/" + FILE_KEY;
+
+    @InjectMocks
+    private StoredFileService storedFileService;
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @Test
+    @DisplayName("이미 등록된 내용이면 참조를 늘리고 true 를 돌려준다")
+    void acquireTest() {
+        // given
+        given(storedFileRepository.increaseReference(FILE_KEY)).willReturn(1);
+
+        // when
+        boolean acquired = storedFileService.acquire(FILE_KEY);
+
+        // then
+        assertThat(acquired).isTrue();
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 내용이면 false 를 돌려준다")
+    void acquireNotStoredTest() {
+        // given
+        given(storedFileRepository.increaseReference(FILE_KEY)).willReturn(0);
+
+        // when
+        boolean acquired = storedFileService.acquire(FILE_KEY);
+
+        // then
+        assertThat(acquired).isFalse();
+    }
+
+    @Test
+    @DisplayName("새로 올린 파일은 참조 수 1 로 등록한다")
+    void registerTest() {
+        // when
+        storedFileService.register(FILE_KEY, URL);
+
+        // then
+        ArgumentCaptor<StoredFile> captor = ArgumentCaptor.forClass(StoredFile.class);
+        verify(storedFileRepository).saveAndFlush(captor.capture());
+        assertThat(captor.getValue().getFileKey()).isEqualTo(FILE_KEY);
+        assertThat(captor.getValue().getUrl()).isEqualTo(URL);
+        assertThat(captor.getValue().getReferenceCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 곳에서 쓰는 파일은 참조만 줄이고 지우지 않는다")
+    void releaseSharedTest() {
+        // given
+        StoredFile storedFile = new StoredFile(FILE_KEY, URL);
+        ReflectionTestUtils.setField(storedFile, "referenceCount", 2);
+        given(storedFileRepository.findByUrlForUpdate(URL)).willReturn(Optional.of(storedFile));
+        List<String> deleted = new ArrayList<>();
+
+        // when
+        boolean released = storedFileService.release(URL, deleted::add);
+
+        // then
+        assertThat(released).isFalse();
+        assertThat(deleted).isEmpty();
+        assertThat(storedFile.getReferenceCount()).isEqualTo(1);
+        verify(storedFileRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("마지막 참조를 놓으면 실제 파일을 먼저 지우고 등록을 지운다")
+    void releaseLastTest() {
+        // given
+        StoredFile storedFile = new StoredFile(FILE_KEY, URL);
+        given(storedFileRepository.findByUrlForUpdate(URL)).willReturn(Optional.of(storedFile));
+        @SuppressWarnings("unchecked")
+        Consumer<String> objectDeleter = mock(Consumer.class);
+
+        // when
+        boolean released = storedFileService.release(URL, objectDeleter);
+
+        // then
+        assertThat(released).isTrue();
+        InOrder inOrder = inOrder(objectDeleter, storedFileRepository);
+        inOrder.verify(objectDeleter).accept(FILE_KEY);
+        inOrder.verify(storedFileRepository).delete(storedFile);
+    }
+
+    @Test
+    @DisplayName("실제 파일 삭제가 실패하면 등록을 지우지 않는다")
+    void releaseDeleteFailTest() {
+        // given
+        StoredFile storedFile = new StoredFile(FILE_KEY, URL);
+        given(storedFileRepository.findByUrlForUpdate(URL)).willReturn(Optional.of(storedFile));
+
+        // when
+        // then
+        assertThatThrownBy(() -> storedFileService.release(URL, fileKey -> {
+            throw new IllegalStateException("s3 error");
+        })).isInstanceOf(IllegalStateException.class);
+        verify(storedFileRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 url 이면 아무것도 지우지 않는다")
+    void releaseNotStoredTest() {
+        // given
+        given(storedFileRepository.findByUrlForUpdate(URL)).willReturn(Optional.empty());
+        List<String> deleted = new ArrayList<>();
+
+        // when
+        boolean released = storedFileService.release(URL, deleted::add);
+
+        // then
+        assertThat(released).isFalse();
+        assertThat(deleted).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package com.virspit.virspitproduct.domain.product.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virspit.virspitproduct.domain.product.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaOrderConsumerTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @InjectMocks
+    private KafkaOrderConsumer kafkaOrderConsumer;
+
+    @Mock
+    private ProductService productService;
+
+    @DisplayName("poll 한 주문들을 상품별로 모아 한 번에 차감한다.")
+    @Test
+    void consumeOrders() throws Exception {
+        // given
+        OrderDto first = order(1L, 10L);
+        OrderDto second = order(2L, 10L);
+        OrderDto third = order(3L, 20L);
+
+        // when
+        kafkaOrderConsumer.consumeOrders(Arrays.asList(first, second, null, third));
+
+        // then
+        verify(productService).decreaseRemainedCounts(Map.of(10L, 2, 20L, 1));
+    }
+
+    private OrderDto order(Long orderId, Long productId) throws Exception {
+        return OBJECT_MAPPER.readValue(
+                String.format("{\"id\":%d,\"product\":{\"id\":%d}}", orderId, productId),
+                OrderDto.class);
+    }
+}
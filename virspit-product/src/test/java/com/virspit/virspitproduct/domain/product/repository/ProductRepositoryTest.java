@@ -166,6 +166,36 @@ class ProductRepositoryTest {
         assertThat(afterDeletionProducts.size()).isEqualTo(expectedCount);
     }
 
+    @Test
+    @DisplayName("상품 수량 차감 테스트")
+    void decreaseRemainedCountTest() {
+        // given
+        Product product = saveProductsAndGetAll(1).get(0);
+
+        // when
+        int updated = productRepository.decreaseRemainedCount(product.getId(), 30);
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(productRepository.findById(product.getId()).get().getRemainedCount()).isEqualTo(70);
+    }
+
+    @Test
+    @DisplayName("남은 수량보다 많이 차감하면 0 이 되고, 0 인 상품은 차감하지 않는다")
+    void decreaseRemainedCountOverTest() {
+        // given
+        Product product = saveProductsAndGetAll(1).get(0);
+
+        // when
+        int first = productRepository.decreaseRemainedCount(product.getId(), 150);
+        int second = productRepository.decreaseRemainedCount(product.getId(), 1);
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(productRepository.findById(product.getId()).get().getRemainedCount()).isZero();
+    }
+
     private List<Product> saveProductsAndGetAll(int productCount) {
         String title = "손흥민 프리미어리그 2020-2021";
         String description = "2020-2021 프리미어리그 손흥민 카드";
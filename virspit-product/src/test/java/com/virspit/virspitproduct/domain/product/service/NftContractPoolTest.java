@@ -0,0 +1,211 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.product.entity.NftContract;
+import com.virspit.virspitproduct.domain.product.entity.NftContractStatus;
+import com.virspit.virspitproduct.domain.product.repository.NftContractRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NftContractPoolTest {
+
+    @Mock
+    private NftContractRepository nftContractRepository;
+
+    @Mock
+    private KasService kasService;
+
+    @Mock
+    private TransactionReceiptPoller receiptPoller;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskScheduler contractPoolScheduler;
+
+    private NftContractPool nftContractPool;
+
+    @BeforeEach
+    void setUp() {
+        nftContractPool = new NftContractPool(nftContractRepository, kasService, receiptPoller, transactionTemplate,
+                contractPoolScheduler, 5, 2, 10000, 600000);
+    }
+
+    @Test
+    @DisplayName("배포가 끝난 컨트랙트를 꺼내 상품에 할당한다")
+    void claimTest() {
+        // given
+        NftContract contract = new NftContract("product-pool-1");
+        contract.deployed(true);
+        given(nftContractRepository.findFirstForUpdate(NftContractStatus.AVAILABLE, PageRequest.of(0, 1)))
+                .willReturn(List.of(contract));
+
+        // when
+        Optional<String> contractAlias = nftContractPool.claim(1L);
+
+        // then
+        assertThat(contractAlias).contains("product-pool-1");
+        assertThat(contract.getStatus()).isEqualTo(NftContractStatus.CLAIMED);
+        assertThat(contract.getProductId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("풀이 비어 있으면 빈 값을 돌려준다")
+    void claimEmptyTest() {
+        // given
+        given(nftContractRepository.findFirstForUpdate(NftContractStatus.AVAILABLE, PageRequest.of(0, 1)))
+                .willReturn(List.of());
+
+        // when
+        // then
+        assertThat(nftContractPool.claim(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("모자란 만큼 한 번에 max-deploys-per-refill 개까지 배포하고, 커밋되면 AVAILABLE 로 바꾼다")
+    void refillTest() {
+        // given
+        NftContract contract = new NftContract("product-pool-1");
+        ReflectionTestUtils.setField(contract, "id", 1L);
+        given(nftContractRepository.countByStatusIn(anyCollection())).willReturn(1L);
+        given(kasService.requestContractDeploy(anyString())).willReturn("0xhash");
+        given(nftContractRepository.save(any())).willReturn(contract);
+        given(nftContractRepository.findById(1L)).willReturn(Optional.of(contract));
+        given(receiptPoller.watch("0xhash")).willReturn(CompletableFuture.completedFuture(true));
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(contractPoolScheduler).schedule(any(Runnable.class), any(Instant.class));
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        nftContractPool.refill();
+
+        // then
+        InOrder inOrder = inOrder(nftContractRepository, kasService);
+        inOrder.verify(nftContractRepository).save(any());
+        inOrder.verify(kasService).requestContractDeploy(anyString());
+        verify(kasService, times(2)).requestContractDeploy(anyString());
+        assertThat(contract.getTransactionHash()).isEqualTo("0xhash");
+        assertThat(contract.getStatus()).isEqualTo(NftContractStatus.AVAILABLE);
+        verify(contractPoolScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("영수증 확인 시간이 지나면 실패로 보지 않고 DEPLOYING 으로 둔다")
+    void refillTimeoutTest() {
+        // given
+        NftContract contract = new NftContract("product-pool-1");
+        ReflectionTestUtils.setField(contract, "id", 1L);
+        given(nftContractRepository.countByStatusIn(anyCollection())).willReturn(4L);
+        given(kasService.requestContractDeploy(anyString())).willReturn("0xhash");
+        given(nftContractRepository.save(any())).willReturn(contract);
+        given(nftContractRepository.findById(1L)).willReturn(Optional.of(contract));
+        given(receiptPoller.watch("0xhash")).willReturn(CompletableFuture.failedFuture(new TimeoutException("timeout")));
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(contractPoolScheduler).schedule(any(Runnable.class), any(Instant.class));
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        nftContractPool.refill();
+
+        // then
+        assertThat(contract.getStatus()).isEqualTo(NftContractStatus.DEPLOYING);
+    }
+
+    @Test
+    @DisplayName("배포 요청이 실패해도 저장한 컨트랙트는 DEPLOYING 으로 남아 나중에 다시 확인한다")
+    void refillRequestFailedTest() {
+        // given
+        NftContract contract = new NftContract("product-pool-1");
+        ReflectionTestUtils.setField(contract, "id", 1L);
+        given(nftContractRepository.countByStatusIn(anyCollection())).willReturn(4L);
+        given(nftContractRepository.save(any())).willReturn(contract);
+        given(kasService.requestContractDeploy(anyString())).willThrow(new IllegalStateException("read timeout"));
+
+        // when
+        nftContractPool.refill();
+
+        // then
+        assertThat(contract.getStatus()).isEqualTo(NftContractStatus.DEPLOYING);
+        verify(receiptPoller, never()).watch(anyString());
+    }
+
+    @Test
+    @DisplayName("오래된 DEPLOYING 컨트랙트는 alias 로 확인해서 배포됐으면 AVAILABLE, 없으면 FAILED 로 바꾼다")
+    void recheckStaleDeployTest() {
+        // given
+        NftContract deployed = new NftContract("product-pool-1");
+        ReflectionTestUtils.setField(deployed, "id", 1L);
+        NftContract missing = new NftContract("product-pool-2");
+        ReflectionTestUtils.setField(missing, "id", 2L);
+        given(nftContractRepository.findAllByStatusAndCreatedDateTimeBefore(eq(NftContractStatus.DEPLOYING), any()))
+                .willReturn(List.of(deployed, missing));
+        given(kasService.findContractAddress("product-pool-1")).willReturn(Optional.of("0xcontract"));
+        given(kasService.findContractAddress("product-pool-2")).willReturn(Optional.empty());
+        given(nftContractRepository.findById(1L)).willReturn(Optional.of(deployed));
+        given(nftContractRepository.findById(2L)).willReturn(Optional.of(missing));
+        given(nftContractRepository.countByStatusIn(anyCollection())).willReturn(5L);
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        nftContractPool.refill();
+
+        // then
+        assertThat(deployed.getStatus()).isEqualTo(NftContractStatus.AVAILABLE);
+        assertThat(missing.getStatus()).isEqualTo(NftContractStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("풀이 가득 차 있으면 배포하지 않는다")
+    void refillFullTest() {
+        // given
+        given(nftContractRepository.countByStatusIn(anyCollection())).willReturn(5L);
+
+        // when
+        nftContractPool.refill();
+
+        // then
+        verify(kasService, never()).requestContractDeploy(anyString());
+    }
+}
@@ -0,0 +1,229 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.file.service.ImageVariantRequestedEvent;
+import com.virspit.virspitproduct.domain.product.dto.request.ProductStoreRequestDto;
+import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
+import com.virspit.virspitproduct.domain.product.kafka.KafkaProductProducer;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
+import com.virspit.virspitproduct.domain.sports.entity.Sports;
+import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
+import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayerType;
+import com.virspit.virspitproduct.error.ErrorCode;
+import com.virspit.virspitproduct.error.exception.BusinessException;
+import com.virspit.virspitproduct.util.file.ContentType;
+import com.virspit.virspitproduct.util.file.FileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPublisherTest {
+    private static final Long PRODUCT_ID = 1L;
+    private static final String CONTRACT_ALIAS = "product-1-1633852800000";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private NftService nftService;
+
+    @Mock
+    private FileStore awsS3FileStore;
+
+    @Mock
+    private KafkaProductProducer kafkaProductProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskScheduler productDraftScheduler;
+
+    private ProductPublisher productPublisher;
+
+    private final MockMultipartFile nftImageFile = new MockMultipartFile("nftImageFile", "nft.png", "image/png", new byte[]{1, 2, 3});
+    private final MockMultipartFile detailImageFile = new MockMultipartFile("detailImageFile", "detail.png", "image/png", new byte[]{4, 5, 6});
+
+    @BeforeEach
+    void setUp() {
+        // 단계들을 호출한 스레드에서 바로 실행한다.
+        productPublisher = new ProductPublisher(productRepository, nftService, awsS3FileStore, kafkaProductProducer, transactionTemplate, eventPublisher, Runnable::run,
+                productDraftScheduler, 600000, 60000);
+    }
+
+    @Test
+    @DisplayName("모든 단계가 끝나면 PUBLISHED 로 바꾸고 상품 이벤트를 저장한다")
+    void publishTest() throws Exception {
+        // given
+        Product product = draftProduct();
+        given(productRepository.findById(PRODUCT_ID)).willReturn(Optional.of(product));
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(nftService.deployNftContract(CONTRACT_ALIAS)).willReturn(CompletableFuture.completedFuture(null));
+        given(nftService.uploadMetadata("손흥민 프리미어리그 2020-2021", "2020-2021 프리미어리그 손흥민 카드", nftImageFile))
+                .willReturn("https://ipfs.io/ipfs/metadata");
+        given(awsS3FileStore.uploadFile(nftImageFile, ContentType.PRODUCT_NFT_IMAGE)).willReturn("https://s3/nft.png");
+        given(awsS3FileStore.uploadFile(detailImageFile, ContentType.PRODUCT_DETAIL_IMAGE)).willReturn("https://s3/detail.png");
+
+        // when
+        productPublisher.publish(event()).join();
+
+        // then
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.PUBLISHED);
+        assertThat(product.getNftInfo().getContractAlias()).isEqualTo(CONTRACT_ALIAS);
+        assertThat(product.getNftInfo().getMetadataUri()).isEqualTo("https://ipfs.io/ipfs/metadata");
+        assertThat(product.getNftImageUrl()).isEqualTo("https://s3/nft.png");
+        assertThat(product.getDetailImageUrl()).isEqualTo("https://s3/detail.png");
+        verify(kafkaProductProducer).sendProduct(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ImageVariantRequestedEvent.class));
+    }
+
+    @Test
+    @DisplayName("컨트랙트 배포가 실패하면 FAILED 와 사유를 남기고 올린 이미지를 지운다")
+    void publishFailTest() throws Exception {
+        // given
+        Product product = draftProduct();
+        given(productRepository.findById(PRODUCT_ID)).willReturn(Optional.of(product));
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        given(nftService.deployNftContract(CONTRACT_ALIAS))
+                .willReturn(CompletableFuture.failedFuture(new BusinessException(ErrorCode.NFT_CONTRACT_TRANSACTION_FAILED)));
+        given(awsS3FileStore.uploadFile(nftImageFile, ContentType.PRODUCT_NFT_IMAGE)).willReturn("https://s3/nft.png");
+        given(awsS3FileStore.uploadFile(detailImageFile, ContentType.PRODUCT_DETAIL_IMAGE)).willReturn("https://s3/detail.png");
+
+        // when
+        productPublisher.publish(event()).join();
+
+        // then
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.FAILED);
+        assertThat(product.getFailureReason()).isEqualTo(ErrorCode.NFT_CONTRACT_TRANSACTION_FAILED.getMessage());
+        verify(awsS3FileStore).deleteFile("https://s3/nft.png", ContentType.PRODUCT_NFT_IMAGE);
+        verify(awsS3FileStore).deleteFile("https://s3/detail.png", ContentType.PRODUCT_DETAIL_IMAGE);
+        verify(kafkaProductProducer, never()).sendProduct(any());
+    }
+
+    @Test
+    @DisplayName("풀에서 가져온 컨트랙트면 배포하지 않는다")
+    void publishWithPooledContractTest() throws Exception {
+        // given
+        Product product = draftProduct();
+        given(productRepository.findById(PRODUCT_ID)).willReturn(Optional.of(product));
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(awsS3FileStore.uploadFile(nftImageFile, ContentType.PRODUCT_NFT_IMAGE)).willReturn("https://s3/nft.png");
+        given(awsS3FileStore.uploadFile(detailImageFile, ContentType.PRODUCT_DETAIL_IMAGE)).willReturn("https://s3/detail.png");
+
+        // when
+        productPublisher.publish(event(true)).join();
+
+        // then
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.PUBLISHED);
+        assertThat(product.getNftInfo().getContractAlias()).isEqualTo(CONTRACT_ALIAS);
+        verify(nftService, never()).deployNftContract(any());
+    }
+
+    @Test
+    @DisplayName("등록 작업 큐가 가득 차 거절되면 리스너 밖으로 던지지 않고 FAILED 로 남긴다")
+    void publishRejectedTest() {
+        // given
+        Product product = draftProduct();
+        given(productRepository.findById(PRODUCT_ID)).willReturn(Optional.of(product));
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        productPublisher = new ProductPublisher(productRepository, nftService, awsS3FileStore, kafkaProductProducer, transactionTemplate, eventPublisher,
+                command -> {
+                    throw new RejectedExecutionException("queue is full");
+                }, productDraftScheduler, 600000, 60000);
+
+        // when
+        productPublisher.onProductDrafted(event());
+
+        // then
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.FAILED);
+        assertThat(product.getFailureReason()).contains("다시 등록");
+        verify(nftService, never()).deployNftContract(any());
+    }
+
+    @Test
+    @DisplayName("오래 끝나지 않은 DRAFT 상품은 중단된 것으로 보고 FAILED 로 바꾼다")
+    void failStaleDraftsTest() {
+        // given
+        Product product = draftProduct();
+        ReflectionTestUtils.setField(product, "id", PRODUCT_ID);
+        given(productRepository.findAllByStatusAndUpdatedDateTimeBefore(eq(ProductStatus.DRAFT), any(LocalDateTime.class)))
+                .willReturn(List.of(product));
+        given(productRepository.findById(PRODUCT_ID)).willReturn(Optional.of(product));
+        willAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        productPublisher.failStaleDrafts();
+
+        // then
+        assertThat(product.getStatus()).isEqualTo(ProductStatus.FAILED);
+        assertThat(product.getFailureReason()).contains("중단");
+    }
+
+    private ProductDraftedEvent event() {
+        return event(false);
+    }
+
+    private ProductDraftedEvent event(boolean contractDeployed) {
+        return new ProductDraftedEvent(PRODUCT_ID, CONTRACT_ALIAS, contractDeployed,
+                "손흥민 프리미어리그 2020-2021", "2020-2021 프리미어리그 손흥민 카드", nftImageFile, detailImageFile);
+    }
+
+    private Product draftProduct() {
+        TeamPlayer teamPlayer = TeamPlayer.builder()
+                .name("손흥민")
+                .sports(new Sports("축구", ""))
+                .revenueShareRate(70)
+                .type(TeamPlayerType.PLAYER)
+                .description("축구 선수 손흥민")
+                .build();
+
+        ProductStoreRequestDto requestDto = new ProductStoreRequestDto();
+        requestDto.setTitle("손흥민 프리미어리그 2020-2021");
+        requestDto.setDescription("2020-2021 프리미어리그 손흥민 카드");
+        requestDto.setPrice(100);
+        requestDto.setRemainedCount(100);
+        requestDto.setExhibition(true);
+        requestDto.setStartDateTime(LocalDateTime.parse("2021-10-10T20:00:00"));
+        return Product.draft(requestDto, teamPlayer);
+    }
+}
@@ -0,0 +1,190 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.common.PagingResponseDto;
+import com.virspit.virspitproduct.domain.product.dto.request.ProductPublishRequestDto;
+import com.virspit.virspitproduct.domain.product.dto.request.ProductStoreRequestDto;
+import com.virspit.virspitproduct.domain.product.dto.response.ProductResponseDto;
+import com.virspit.virspitproduct.domain.product.entity.NftInfo;
+import com.virspit.virspitproduct.domain.product.entity.Product;
+import com.virspit.virspitproduct.domain.product.entity.ProductStatus;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepository;
+import com.virspit.virspitproduct.domain.product.repository.ProductRepositorySupport;
+import com.virspit.virspitproduct.domain.product.repository.ProductSearchCondition;
+import com.virspit.virspitproduct.domain.sports.entity.Sports;
+import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayer;
+import com.virspit.virspitproduct.domain.teamplayer.entity.TeamPlayerType;
+import com.virspit.virspitproduct.error.ErrorCode;
+import com.virspit.virspitproduct.error.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @InjectMocks
+    private ProductService productService;
+
+    @Mock
+    private ProductRepositorySupport productRepositorySupport;
+
+    @Mock
+    private ProductCountCache productCountCache;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private NftContractPool nftContractPool;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ProductSearchCondition condition = new ProductSearchCondition(null, null, null, null);
+
+    @Test
+    @DisplayName("한 건 더 읽어서 다음 페이지 여부를 판단하고, withCount=false 면 개수를 세지 않는다")
+    void getProductsWithoutCount() {
+        // given
+        given(productRepositorySupport.findAll(condition, 0, 3)).willReturn(products(3));
+
+        // when
+        PagingResponseDto<ProductResponseDto> result = productService.getProducts(null, null, null, null, false, PageRequest.of(0, 2));
+
+        // then
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getList()).hasSize(2);
+        assertThat(result.getTotalCount()).isNull();
+        verify(productCountCache, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("다음 페이지가 있으면 캐시된 개수를 쓴다")
+    void getProductsWithCachedCount() {
+        // given
+        given(productRepositorySupport.findAll(condition, 0, 3)).willReturn(products(3));
+        given(productCountCache.count(condition)).willReturn(10L);
+
+        // when
+        PagingResponseDto<ProductResponseDto> result = productService.getProducts(null, null, null, null, true, PageRequest.of(0, 2));
+
+        // then
+        assertThat(result.getTotalCount()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지면 COUNT 없이 개수를 계산한다")
+    void getProductsLastPage() {
+        // given
+        given(productRepositorySupport.findAll(condition, 4, 3)).willReturn(products(1));
+
+        // when
+        PagingResponseDto<ProductResponseDto> result = productService.getProducts(null, null, null, null, true, PageRequest.of(2, 2));
+
+        // then
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getTotalCount()).isEqualTo(5L);
+        verify(productCountCache, never()).count(any());
+        verify(productCountCache).put(condition, 5L);
+    }
+
+    @Test
+    @DisplayName("등록에 실패한 상품은 DRAFT 로 바꾸고 받은 이미지로 등록 작업을 다시 시작한다")
+    void retryPublish() throws Exception {
+        // given
+        Product product = products(1).get(0);
+        product.failPublish("컨트랙트 배포 실패");
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+        given(nftContractPool.claim(any())).willReturn(Optional.of("product-pool-1"));
+
+        // when
+        ProductResponseDto result = productService.retryPublish(1L, publishRequest());
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(ProductStatus.DRAFT);
+        assertThat(product.getFailureReason()).isNull();
+        ArgumentCaptor<ProductDraftedEvent> captor = ArgumentCaptor.forClass(ProductDraftedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getContractAlias()).isEqualTo("product-pool-1");
+        assertThat(captor.getValue().isContractDeployed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("등록에 실패하지 않은 상품은 다시 등록할 수 없다")
+    void retryPublishNotFailed() {
+        // given
+        given(productRepository.findById(1L)).willReturn(Optional.of(products(1).get(0)));
+
+        // when
+        // then
+        assertThatThrownBy(() -> productService.retryPublish(1L, publishRequest()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage(ErrorCode.PRODUCT_NOT_FAILED.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("등록에 실패한 상품은 수정할 수 없다")
+    void updateFailedProduct() {
+        // given
+        Product product = products(1).get(0);
+        product.failPublish("컨트랙트 배포 실패");
+        given(productRepository.findById(1L)).willReturn(Optional.of(product));
+
+        // when
+        // then
+        assertThatThrownBy(() -> productService.updateProduct(1L, new ProductStoreRequestDto()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage(ErrorCode.PRODUCT_PUBLISH_FAILED.getMessage());
+    }
+
+    private ProductPublishRequestDto publishRequest() {
+        ProductPublishRequestDto requestDto = new ProductPublishRequestDto();
+        requestDto.setNftImageFile(new MockMultipartFile("nftImageFile", "nft.png", "image/png", new byte[]{1, 2, 3}));
+        requestDto.setDetailImageFile(new MockMultipartFile("detailImageFile", "detail.png", "image/png", new byte[]{4, 5, 6}));
+        return requestDto;
+    }
+
+    private List<Product> products(int count) {
+        TeamPlayer teamPlayer = TeamPlayer.builder()
+                .name("손흥민")
+                .sports(new Sports("축구", ""))
+                .revenueShareRate(70)
+                .type(TeamPlayerType.PLAYER)
+                .description("축구 선수 손흥민")
+                .build();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .title("손흥민 프리미어리그 2020-2021")
+                    .description("2020-2021 프리미어리그 손흥민 카드")
+                    .teamPlayer(teamPlayer)
+                    .remainedCount(100)
+                    .exhibition(true)
+                    .price(100)
+                    .startDateTime(LocalDateTime.parse("2021-10-10T20:00:00"))
+                    .nftInfo(NftInfo.builder().contractAlias("son-pl-2020-2021").metadataUri("https://meta.data/ntf").build())
+                    .build());
+        }
+        return products;
+    }
+}
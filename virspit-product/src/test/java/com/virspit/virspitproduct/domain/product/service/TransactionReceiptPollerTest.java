@@ -0,0 +1,139 @@
+package com.virspit.virspitproduct.domain.product.service;
+
+import com.virspit.virspitproduct.domain.product.feign.wallet.KasWalletFeignClient;
+import com.virspit.virspitproduct.domain.product.feign.wallet.TransactionReceipt;
+import com.virspit.virspitproduct.domain.product.feign.wallet.TransactionReceipt.TransactionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionReceiptPollerTest {
+
+    @Mock
+    private KasWalletFeignClient kasWalletFeignClient;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Test
+    @DisplayName("Committed 가 되면 true 로 완료된다")
+    void committedTest() {
+        // given
+        TransactionReceiptPoller poller = new TransactionReceiptPoller(kasWalletFeignClient, taskScheduler, new SyncTaskExecutor(), 500, 4000, 60000);
+        given(kasWalletFeignClient.getTransactionReceipt("0x1")).willReturn(receipt(TransactionStatus.Committed));
+
+        // when
+        CompletableFuture<Boolean> future = poller.watch("0x1");
+        poller.poll();
+
+        // then
+        assertThat(future).isCompletedWithValue(true);
+    }
+
+    @Test
+    @DisplayName("CommitError 가 되면 false 로 완료된다")
+    void commitErrorTest() {
+        // given
+        TransactionReceiptPoller poller = new TransactionReceiptPoller(kasWalletFeignClient, taskScheduler, new SyncTaskExecutor(), 500, 4000, 60000);
+        given(kasWalletFeignClient.getTransactionReceipt("0x1")).willReturn(receipt(TransactionStatus.CommitError));
+
+        // when
+        CompletableFuture<Boolean> future = poller.watch("0x1");
+        poller.poll();
+
+        // then
+        assertThat(future).isCompletedWithValue(false);
+    }
+
+    @Test
+    @DisplayName("Pending 이면 다음 조회까지 백오프하고, 같은 해시는 하나의 future 를 공유한다")
+    void pendingBackoffTest() {
+        // given
+        TransactionReceiptPoller poller = new TransactionReceiptPoller(kasWalletFeignClient, taskScheduler, new SyncTaskExecutor(), 60000, 60000, 600000);
+        given(kasWalletFeignClient.getTransactionReceipt("0x1")).willReturn(receipt(TransactionStatus.Pending));
+
+        // when
+        CompletableFuture<Boolean> future = poller.watch("0x1");
+        poller.poll();
+        poller.poll();
+
+        // then
+        assertThat(future).isNotDone();
+        assertThat(poller.watch("0x1")).isSameAs(future);
+        verify(kasWalletFeignClient, times(1)).getTransactionReceipt("0x1");
+    }
+
+    @Test
+    @DisplayName("제한 시간이 지나도 마지막으로 한 번 더 조회해서 확정된 트랜잭션은 true 로 완료된다")
+    void finalLookupBeforeTimeoutTest() {
+        // given
+        TransactionReceiptPoller poller = new TransactionReceiptPoller(kasWalletFeignClient, taskScheduler, new SyncTaskExecutor(), 500, 4000, 0);
+        given(kasWalletFeignClient.getTransactionReceipt("0x1")).willReturn(receipt(TransactionStatus.Committed));
+
+        // when
+        CompletableFuture<Boolean> future = poller.watch("0x1");
+        poller.poll();
+
+        // then
+        assertThat(future).isCompletedWithValue(true);
+    }
+
+    @Test
+    @DisplayName("마지막 조회에서도 확정되지 않으면 TimeoutException 으로 완료된다")
+    void timeoutTest() {
+        // given
+        TransactionReceiptPoller poller = new TransactionReceiptPoller(kasWalletFeignClient, taskScheduler, new SyncTaskExecutor(), 500, 4000, 0);
+        given(kasWalletFeignClient.getTransactionReceipt("0x1")).willReturn(receipt(TransactionStatus.Pending));
+
+        // when
+        CompletableFuture<Boolean> future = poller.watch("0x1");
+        poller.poll();
+
+        // then
+        assertThat(future).isCompletedExceptionally();
+        assertThat(future.handle((committed, e) -> e).join()).isInstanceOf(TimeoutException.class);
+        verify(kasWalletFeignClient, times(1)).getTransactionReceipt("0x1");
+    }
+
+    @Test
+    @DisplayName("조회는 스케줄러 스레드가 아닌 조회 스레드에 나눠 맡기고, 조회 중인 해시는 다시 맡기지 않는다")
+    void dispatchLookupsTest() {
+        // given
+        List<Runnable> lookups = new ArrayList<>();
+        TransactionReceiptPoller poller = new TransactionReceiptPoller(kasWalletFeignClient, taskScheduler, lookups::add, 500, 4000, 60000);
+        poller.watch("0x1");
+        poller.watch("0x2");
+
+        // when
+        poller.poll();
+        poller.poll();
+
+        // then
+        assertThat(lookups).hasSize(2);
+        verify(kasWalletFeignClient, never()).getTransactionReceipt(anyString());
+    }
+
+    private TransactionReceipt receipt(final TransactionStatus status) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        ReflectionTestUtils.setField(receipt, "status", status);
+        return receipt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.virspit.virspitproduct.domain.search.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchGramsTest {
+
+    @Test
+    @DisplayName("색인할 때는 공백을 없애고 2글자씩 자르며 마지막 글자도 넣는다")
+    void ofTextTest() {
+        // given
+        String title = "손흥민 NFT";
+
+        // when
+        // then
+        assertThat(SearchGrams.ofText(title))
+                .containsExactly("손흥", "흥민", "민n", "nf", "ft", "t");
+    }
+
+    @Test
+    @DisplayName("검색어는 2글자씩 자르고 한 글자면 그대로 쓴다")
+    void ofKeywordTest() {
+        // given
+        // when
+        // then
+        assertThat(SearchGrams.ofKeyword("흥민 n")).containsExactly("흥민", "민n");
+        assertThat(SearchGrams.ofKeyword(" 손 ")).containsExactly("손");
+        assertThat(SearchGrams.ofKeyword("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("검색어의 gram 은 그 검색어를 포함한 제목의 gram 에 모두 들어있다")
+    void keywordGramsAreContainedInTextGramsTest() {
+        // given
+        String title = "토트넘 홋스퍼 손흥민 골 장면";
+
+        // when
+        // then
+        assertThat(SearchGrams.ofText(title)).containsAll(SearchGrams.ofKeyword("손흥민 골"));
+        assertThat(SearchGrams.ofText(title)).containsAll(SearchGrams.ofKeyword("면"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.virspit.virspitproduct.domain.teamplayer.service;
 
+import com.virspit.virspitproduct.domain.search.service.SearchIndexService;
 import com.virspit.virspitproduct.domain.sports.entity.Sports;
 import com.virspit.virspitproduct.domain.sports.repository.SportsRepository;
 import com.virspit.virspitproduct.domain.teamplayer.dto.request.TeamPlayerStoreRequestDto;
@@ -36,6 +37,9 @@ class TeamPlayerServiceTest {
     @Mock
     private SportsRepository sportsRepository;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @Test
     @DisplayName("모든 TeamPlayer 조회 테스트")
     void getAllTeamPlayerTest() {
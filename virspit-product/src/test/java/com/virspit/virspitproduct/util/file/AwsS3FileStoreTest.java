@@ -0,0 +1,194 @@
+package com.virspit.virspitproduct.util.file;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.virspit.virspitproduct.domain.file.service.StoredFileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AwsS3FileStoreTest {
+    private static final String BUCKET = "bucket";
+    private static final long MULTIPART_THRESHOLD = 1024;
+    // "abc" 의 SHA-256
+    private static final String FILE_KEY = "images/sha256/ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad.png";
+
+    @Mock
+    private AmazonS3Client amazonS3Client;
+
+    @Mock
+    private StoredFileService storedFileService;
+
+    @Mock
+    private TransferManager transferManager;
+
+    private AwsS3FileStore awsS3FileStore;
+
+    @BeforeEach
+    void setUp() {
+        awsS3FileStore = new AwsS3FileStore(amazonS3Client, storedFileService, BUCKET, MULTIPART_THRESHOLD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        awsS3FileStore.shutdown();
+    }
+
+    @Test
+    @DisplayName("이미 올린 내용이면 참조만 늘리고 S3 로 보내지 않는다")
+    void uploadFileDeduplicateTest() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("nftImageFile", "nft.PNG", "image/png", "abc".getBytes(StandardCharsets.UTF_8));
+        given(amazonS3Client.getUrl(BUCKET, FILE_KEY)).willReturn(new URL("https://bucket.s3.amazonaws.com/" + FILE_KEY));
+        given(storedFileService.acquire(FILE_KEY)).willReturn(true);
+
+        // when
+        String url = awsS3FileStore.uploadFile(file, ContentType.PRODUCT_NFT_IMAGE);
+
+        // then
+        assertThat(url).isEqualTo("https://bucket.s3.amazonaws.com/" + FILE_KEY);
+        verify(amazonS3Client, never()).putObject(any());
+        verify(storedFileService, never()).register(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("마지막 참조를 놓을 때 넘긴 함수로 S3 객체를 지운다")
+    void deleteFileTest() {
+        // given
+        String url = "https://bucket.s3.amazonaws.com/" + FILE_KEY;
+        willAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(1).accept(FILE_KEY);
+            return true;
+        }).given(storedFileService).release(eq(url), any());
+
+        // when
+        boolean deleted = awsS3FileStore.deleteFile(url, ContentType.PRODUCT_NFT_IMAGE);
+
+        // then
+        assertThat(deleted).isTrue();
+        verify(amazonS3Client).deleteObject(BUCKET, FILE_KEY);
+    }
+
+    @Test
+    @DisplayName("multipart-threshold 보다 작은 파일은 한 번의 PUT 으로 올리고 등록한다")
+    void uploadFileSinglePutTest() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("nftImageFile", "nft.png", "image/png", "abc".getBytes(StandardCharsets.UTF_8));
+        given(amazonS3Client.getUrl(BUCKET, FILE_KEY)).willReturn(new URL("https://bucket.s3.amazonaws.com/" + FILE_KEY));
+        given(amazonS3Client.putObject(any(PutObjectRequest.class))).willReturn(new PutObjectResult());
+
+        // when
+        String url = awsS3FileStore.uploadFile(file, ContentType.PRODUCT_NFT_IMAGE);
+
+        // then
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(amazonS3Client).putObject(captor.capture());
+        assertThat(captor.getValue().getBucketName()).isEqualTo(BUCKET);
+        assertThat(captor.getValue().getKey()).isEqualTo(FILE_KEY);
+        assertThat(captor.getValue().getMetadata().getContentLength()).isEqualTo(3);
+        assertThat(captor.getValue().getCannedAcl()).isEqualTo(CannedAccessControlList.PublicRead);
+        verify(amazonS3Client, never()).initiateMultipartUpload(any());
+        verify(storedFileService).register(FILE_KEY, url);
+    }
+
+    @Test
+    @DisplayName("multipart-threshold 를 넘는 파일은 multipart 업로드로 나눠 올린다")
+    void uploadFileMultipartTest() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("detailImageFile", "detail.png", "image/png", new byte[3000]);
+        given(amazonS3Client.getUrl(any(String.class), any(String.class))).willReturn(new URL("https://bucket.s3.amazonaws.com/detail.png"));
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-id");
+        given(amazonS3Client.initiateMultipartUpload(any())).willReturn(initiated);
+        given(amazonS3Client.uploadPart(any())).willAnswer(invocation -> {
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(invocation.<UploadPartRequest>getArgument(0).getPartNumber());
+            result.setETag("etag");
+            return result;
+        });
+        given(amazonS3Client.completeMultipartUpload(any())).willReturn(new CompleteMultipartUploadResult());
+
+        // when
+        awsS3FileStore.uploadFile(file, ContentType.PRODUCT_DETAIL_IMAGE);
+
+        // then
+        verify(amazonS3Client, never()).putObject(any(PutObjectRequest.class));
+        verify(amazonS3Client, times(3)).uploadPart(any());
+        verify(amazonS3Client).completeMultipartUpload(any());
+    }
+
+    @Test
+    @DisplayName("S3 업로드가 실패하면 IOException 으로 바꾸고 등록하지 않는다")
+    void uploadFileClientExceptionTest() throws Exception {
+        // given
+        AwsS3FileStore fileStore = new AwsS3FileStore(amazonS3Client, storedFileService, BUCKET, transferManager);
+        MockMultipartFile file = new MockMultipartFile("nftImageFile", "nft.png", "image/png", "abc".getBytes(StandardCharsets.UTF_8));
+        given(amazonS3Client.getUrl(BUCKET, FILE_KEY)).willReturn(new URL("https://bucket.s3.amazonaws.com/" + FILE_KEY));
+        Upload upload = mock(Upload.class);
+        given(transferManager.upload(any(PutObjectRequest.class))).willReturn(upload);
+        given(upload.waitForUploadResult()).willThrow(new AmazonClientException("connection reset"));
+
+        // when
+        // then
+        assertThatThrownBy(() -> fileStore.uploadFile(file, ContentType.PRODUCT_NFT_IMAGE))
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(AmazonClientException.class);
+        verify(storedFileService, never()).register(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("업로드를 기다리다 중단되면 IOException 으로 바꾸고 인터럽트 상태를 남긴다")
+    void uploadFileInterruptedTest() throws Exception {
+        // given
+        AwsS3FileStore fileStore = new AwsS3FileStore(amazonS3Client, storedFileService, BUCKET, transferManager);
+        MockMultipartFile file = new MockMultipartFile("nftImageFile", "nft.png", "image/png", "abc".getBytes(StandardCharsets.UTF_8));
+        given(amazonS3Client.getUrl(BUCKET, FILE_KEY)).willReturn(new URL("https://bucket.s3.amazonaws.com/" + FILE_KEY));
+        Upload upload = mock(Upload.class);
+        given(transferManager.upload(any(PutObjectRequest.class))).willReturn(upload);
+        given(upload.waitForUploadResult()).willThrow(new InterruptedException());
+
+        // when
+        // then
+        try {
+            assertThatThrownBy(() -> fileStore.uploadFile(file, ContentType.PRODUCT_NFT_IMAGE))
+                    .isInstanceOf(IOException.class)
+                    .hasCauseInstanceOf(InterruptedException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
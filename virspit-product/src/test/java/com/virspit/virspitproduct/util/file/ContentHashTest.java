@@ -0,0 +1,41 @@
+package com.virspit.virspitproduct.util.file;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentHashTest {
+
+    @Test
+    @DisplayName("파일 내용의 SHA-256 을 16진수 문자열로 돌려준다")
+    void sha256Test() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", "abc".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        String hash = ContentHash.sha256(file);
+
+        // then
+        assertThat(hash).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    @DisplayName("파일 이름이 달라도 내용이 같으면 같은 해시가 나온다")
+    void sameContentTest() throws Exception {
+        // given
+        byte[] content = new byte[20000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        MockMultipartFile nftImage = new MockMultipartFile("nftImageFile", "nft.png", "image/png", content);
+        MockMultipartFile detailImage = new MockMultipartFile("detailImageFile", "detail.png", "image/png", content);
+
+        // when
+        // then
+        assertThat(ContentHash.sha256(nftImage)).isEqualTo(ContentHash.sha256(detailImage));
+    }
+}
@@ -0,0 +1,82 @@
+package com.virspit.virspitproduct.util.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResizerTest {
+
+    @Test
+    @DisplayName("긴 변을 maxSize 에 맞추고 비율을 유지한다")
+    void toJpegTest() throws Exception {
+        // given
+        BufferedImage source = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        byte[] jpeg = ImageResizer.toJpeg(source, 480, 0.8f);
+
+        // then
+        BufferedImage resized = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(resized.getWidth()).isEqualTo(480);
+        assertThat(resized.getHeight()).isEqualTo(240);
+    }
+
+    @Test
+    @DisplayName("원본이 maxSize 보다 작으면 늘리지 않는다")
+    void toJpegSmallImageTest() throws Exception {
+        // given
+        BufferedImage source = new BufferedImage(100, 150, BufferedImage.TYPE_INT_RGB);
+
+        // when
+        byte[] jpeg = ImageResizer.toJpeg(source, 480, 0.8f);
+
+        // then
+        BufferedImage resized = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(resized.getWidth()).isEqualTo(100);
+        assertThat(resized.getHeight()).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("이미지가 아니면 null 을 돌려준다")
+    void readUnsupportedTest() throws Exception {
+        // given
+        // when
+        // then
+        assertThat(ImageResizer.read(new ByteArrayInputStream("not an image".getBytes()), 1000)).isNull();
+    }
+
+    @Test
+    @DisplayName("픽셀 수가 maxPixels 를 넘으면 픽셀을 건너뛰며 읽는다")
+    void readSubsamplingTest() throws Exception {
+        // given
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        // when
+        BufferedImage image = ImageResizer.read(new ByteArrayInputStream(png.toByteArray()), 20000);
+
+        // then
+        assertThat(image.getWidth()).isEqualTo(200);
+        assertThat(image.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("투명한 원본을 줄이면 흰 배경 위에 그린다")
+    void toJpegTransparentTest() throws Exception {
+        // given
+        BufferedImage source = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_ARGB);
+
+        // when
+        byte[] jpeg = ImageResizer.toJpeg(source, 200, 1.0f);
+
+        // then
+        BufferedImage resized = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(resized.getRGB(100, 100) & 0xFFFFFF).isGreaterThan(0xF0F0F0);
+    }
+}
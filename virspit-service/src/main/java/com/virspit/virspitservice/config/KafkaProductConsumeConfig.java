@@ -24,6 +24,9 @@ public class KafkaProductConsumeConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${spring.kafka.listener.concurrency}")
+    private int concurrency;
+
     @Bean
     public ConsumerFactory<String, ProductKafkaDto> productConsumerFactory() {
 
@@ -43,6 +46,7 @@ public class KafkaProductConsumeConfig {
     public ConcurrentKafkaListenerContainerFactory<String, ProductKafkaDto> productContainer() {
         ConcurrentKafkaListenerContainerFactory<String, ProductKafkaDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(productConsumerFactory());
+        factory.setConcurrency(concurrency);
         return factory;
     }
 
@@ -0,0 +1,20 @@
+package com.virspit.virspitservice.domain.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 서비스가 원본 이미지를 줄여 만든 이미지 주소. 만들어지기 전에는 null 이다.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class ImageVariants {
+
+    private String thumbnailUrl;
+
+    private String cardUrl;
+
+    private String detailUrl;
+}
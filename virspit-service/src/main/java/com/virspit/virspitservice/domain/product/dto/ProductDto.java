@@ -48,6 +48,12 @@ public class ProductDto {
     @ApiModelProperty("상품 상세 이미지 주소")
     private String detailImageUrl;
 
+    @ApiModelProperty("NFT 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private ImageVariants nftImageVariants;
+
+    @ApiModelProperty("상품 상세 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private ImageVariants detailImageVariants;
+
     @ApiModelProperty("상품 NFT 정보")
     private NftInfo nftInfo;
 
@@ -70,6 +76,8 @@ public class ProductDto {
                 .exhibition(productDoc.getExhibition())
                 .nftImageUrl(productDoc.getNftImageUrl())
                 .detailImageUrl(productDoc.getDetailImageUrl())
+                .nftImageVariants(productDoc.getNftImageVariants())
+                .detailImageVariants(productDoc.getDetailImageVariants())
                 .nftInfo(new NftInfo(productDoc.getContractAlias(),
                         productDoc.getMetadataUri()))
                 .sportsInfo(new SportsInfo(productDoc.getSportsId(), productDoc.getSportsName()))
@@ -48,6 +48,12 @@ public class ProductKafkaDto {
     @ApiModelProperty("상품 상세 이미지 주소")
     private String detailImageUrl;
 
+    @ApiModelProperty("NFT 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private ImageVariants nftImageVariants;
+
+    @ApiModelProperty("상품 상세 이미지를 줄인 이미지 주소(thumbnail, card, detail). 만들어지기 전에는 null")
+    private ImageVariants detailImageVariants;
+
     @ApiModelProperty("상품 NFT 정보")
     private NftInfo nftInfo;
 
@@ -62,4 +68,7 @@ public class ProductKafkaDto {
     @ApiModelProperty(value = "product 이벤트", example = "DELETE or UPDATE")
     private Event event;
 
+    @ApiModelProperty(value = "상품 등록 상태. 이전 이벤트에는 없다.", example = "PUBLISHED")
+    private String status;
+
 }
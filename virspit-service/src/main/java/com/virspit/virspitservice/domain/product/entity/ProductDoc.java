@@ -46,6 +46,10 @@ public class ProductDoc {
 
     private String detailImageUrl;
 
+    private ImageVariants nftImageVariants;
+
+    private ImageVariants detailImageVariants;
+
     private String contractAlias;
 
     private String metadataUri;
@@ -65,6 +69,8 @@ public class ProductDoc {
                 .exhibition(productDto.getExhibition())
                 .nftImageUrl(productDto.getNftImageUrl())
                 .detailImageUrl(productDto.getDetailImageUrl())
+                .nftImageVariants(productDto.getNftImageVariants())
+                .detailImageVariants(productDto.getDetailImageVariants())
                 .metadataUri(Optional.ofNullable(productDto.getNftInfo())
                         .map(NftInfo::getMetadataUri).orElse(null))
                 .contractAlias(Optional.ofNullable(productDto.getNftInfo())
@@ -16,6 +16,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class KafkaConsumerService {
 
+    private static final String PUBLISHED = "PUBLISHED";
+
     private final ProductService productService;
 
     @KafkaListener(topics = "${kafka-topic}", groupId = "${spring.kafka.consumer.group-id}",
@@ -26,6 +28,11 @@ public class KafkaConsumerService {
             productService.deleteProduct(productKafkaDto.getId());
             return;
         }
+        // 등록 중이거나 등록에 실패한 상품은 NFT 정보가 없으므로 노출하지 않는다. 상태가 없는 이전 이벤트는 등록된 상품으로 본다.
+        if (productKafkaDto.getStatus() != null && !PUBLISHED.equals(productKafkaDto.getStatus())) {
+            log.warn("skip unpublished product. id={}, status={}", productKafkaDto.getId(), productKafkaDto.getStatus());
+            return;
+        }
         productService.insert(productKafkaDto);
     }
 
@@ -20,6 +20,8 @@ import reactor.test.StepVerifier;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @DisplayName("서비스 유닛 테스트 (mock)")
 @ExtendWith(SpringExtension.class)
 class ProductServiceTest {
@@ -39,6 +41,8 @@ class ProductServiceTest {
             .event(Event.UPDATE)
             .nftImageUrl("")
             .nftInfo(new NftInfo("", ""))
+            .nftImageVariants(new ImageVariants("nft-thumbnail.jpg", "nft-card.jpg", "nft-detail.jpg"))
+            .detailImageVariants(new ImageVariants("detail-thumbnail.jpg", "detail-card.jpg", "detail-detail.jpg"))
             .price(1)
             .sportsInfo(new SportsInfo(1l, "name"))
             .teamPlayerInfo(new TeamPlayerInfo(1l, "name","TEAM"))
@@ -85,6 +89,18 @@ class ProductServiceTest {
                 .verifyComplete();
     }
 
+    @DisplayName("카프카에서 받은 줄인 이미지 주소를 상품 응답까지 전달한다.")
+    @Test
+    void insertWithImageVariants() {
+        StepVerifier.create(productService.insert(kafkaDto))
+                .expectSubscription()
+                .assertNext(saved -> {
+                    assertThat(saved.getNftImageVariants().getCardUrl()).isEqualTo("nft-card.jpg");
+                    assertThat(saved.getDetailImageVariants().getDetailUrl()).isEqualTo("detail-detail.jpg");
+                })
+                .verifyComplete();
+    }
+
     @DisplayName("전체 상품 목록을 가져온다.")
     @Test
     void getAllProducts() {
@@ -11,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/member")
@@ -25,6 +27,11 @@ public class MemberFeignController {
         return memberService.MemberInfoFindById(id);
     }
 
+    @ApiOperation("feign - MemberId 목록으로 사용자 정보 일괄 조회")
+    @GetMapping(params = "ids")
+    public List<MemberInfoResponseDto> findAllById(@RequestParam List<Long> ids) {
+        return memberService.MemberInfoFindAllById(ids);
+    }
 
     @ApiOperation("feign - 회원가입 요청한 Member를 db에 저장")
     @PostMapping("/save")
@@ -14,6 +14,7 @@ import java.time.LocalDate;
 @Setter
 @RequiredArgsConstructor
 public class MemberInfoResponseDto {
+    private Long id;
     private String memberName;
     private String email;
     private String phoneNumber;
@@ -23,6 +24,7 @@ public class MemberInfoResponseDto {
 
 
     MemberInfoResponseDto(Member member) {
+        id = member.getId();
         memberName = member.getMemberName();
         email = member.getEmail();
         gender = member.getGender();
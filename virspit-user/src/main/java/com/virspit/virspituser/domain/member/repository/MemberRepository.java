@@ -1,13 +1,19 @@
 package com.virspit.virspituser.domain.member.repository;
 
 import com.virspit.virspituser.domain.member.entity.Member;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
     boolean existsByEmail(String email);
     Optional<Member> findByEmail(String email);
+
+    @EntityGraph(attributePaths = "wallet")
+    List<Member> findAllByIdIn(Collection<Long> ids);
 }
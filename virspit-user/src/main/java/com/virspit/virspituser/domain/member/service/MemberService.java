@@ -18,6 +18,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import xyz.groundx.caver_ext_kas.rest_client.io.swagger.client.ApiException;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -91,6 +95,13 @@ public class MemberService {
         return MemberInfoResponseDto.of(member);
     }
 
+    public List<MemberInfoResponseDto> MemberInfoFindAllById(List<Long> ids) {
+        return memberRepository.findAllByIdIn(new HashSet<>(ids))
+                .stream()
+                .map(MemberInfoResponseDto::of)
+                .collect(Collectors.toList());
+    }
+
     public boolean checkByEmail(String memberEmail) {
         log.info("이메일 중복 체크 : " + memberEmail);
 